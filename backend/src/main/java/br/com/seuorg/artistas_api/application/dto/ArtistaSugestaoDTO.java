@@ -0,0 +1,25 @@
+package br.com.seuorg.artistas_api.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO responsável por representar uma sugestão de artista
+ * retornada pelo autocomplete de nomes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArtistaSugestaoDTO {
+
+    /**
+     * Identificador único do artista.
+     */
+    private Long id;
+
+    /**
+     * Nome do artista.
+     */
+    private String nome;
+}
@@ -35,6 +35,9 @@ public class CapaAlbumResponseDTO {
     /** Tamanho do arquivo em bytes */
     private Long tamanho;
 
+    /** Largura da variante redimensionada, ou null quando for o arquivo original */
+    private Integer largura;
+
     /** Data e hora em que a capa foi criada */
     private LocalDateTime createdAt;
 }
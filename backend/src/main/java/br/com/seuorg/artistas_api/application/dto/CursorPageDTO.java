@@ -0,0 +1,36 @@
+package br.com.seuorg.artistas_api.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de resposta para listagens paginadas por cursor (keyset).
+ *
+ * Diferente de Page, não informa o total de registros: cada página
+ * traz apenas o conteúdo e um token opaco para buscar a próxima.
+ *
+ * @param <T> tipo dos itens da página
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    /**
+     * Itens da página atual.
+     */
+    private List<T> content;
+
+    /**
+     * Token opaco para buscar a próxima página (null quando não há próxima).
+     */
+    private String nextCursor;
+
+    /**
+     * Indica se existe uma próxima página.
+     */
+    private boolean hasNext;
+}
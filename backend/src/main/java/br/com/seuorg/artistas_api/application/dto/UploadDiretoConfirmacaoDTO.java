@@ -0,0 +1,45 @@
+package br.com.seuorg.artistas_api.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO utilizado para confirmar o envio direto de capas ao armazenamento.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadDiretoConfirmacaoDTO {
+
+    /** Identificador do álbum que receberá as capas */
+    @NotNull(message = "Album ID é obrigatório")
+    private Long albumId;
+
+    /** Arquivos enviados */
+    @NotEmpty(message = "Informe ao menos um arquivo")
+    @Valid
+    private List<Arquivo> arquivos;
+
+    /**
+     * Dados de um arquivo enviado.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Arquivo {
+
+        /** Chave reservada recebida na solicitação de envio */
+        @NotBlank(message = "Chave é obrigatória")
+        private String chave;
+
+        /** Nome original do arquivo */
+        private String nomeArquivo;
+    }
+}
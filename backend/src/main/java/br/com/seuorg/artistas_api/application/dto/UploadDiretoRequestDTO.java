@@ -0,0 +1,55 @@
+package br.com.seuorg.artistas_api.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO utilizado para solicitar URLs de envio direto de capas ao armazenamento.
+ *
+ * Cada arquivo informado recebe uma chave reservada e uma URL pré-assinada
+ * para envio via PUT, sem que o conteúdo passe pela aplicação.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadDiretoRequestDTO {
+
+    /** Identificador do álbum que receberá as capas */
+    @NotNull(message = "Album ID é obrigatório")
+    private Long albumId;
+
+    /** Arquivos que serão enviados */
+    @NotEmpty(message = "Informe ao menos um arquivo")
+    @Valid
+    private List<Arquivo> arquivos;
+
+    /**
+     * Dados de um arquivo a ser enviado.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Arquivo {
+
+        /** Nome original do arquivo */
+        @NotBlank(message = "Nome do arquivo é obrigatório")
+        private String nomeArquivo;
+
+        /** Tipo de conteúdo do arquivo (MIME type), ex: image/png */
+        @NotBlank(message = "Tipo de conteúdo é obrigatório")
+        private String contentType;
+
+        /** Tamanho do arquivo em bytes */
+        @NotNull(message = "Tamanho é obrigatório")
+        @Positive(message = "Tamanho deve ser positivo")
+        private Long tamanho;
+    }
+}
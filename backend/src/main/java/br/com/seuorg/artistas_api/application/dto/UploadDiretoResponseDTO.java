@@ -0,0 +1,31 @@
+package br.com.seuorg.artistas_api.application.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de resposta com a URL de envio direto de uma capa.
+ *
+ * O cliente deve enviar o arquivo com PUT para a URL informada, usando
+ * exatamente o Content-Type e o tamanho declarados, e depois confirmar
+ * o envio informando a chave.
+ */
+@Data
+public class UploadDiretoResponseDTO {
+
+    /** Chave reservada para o arquivo no armazenamento */
+    private String chave;
+
+    /** URL pré-assinada para envio do arquivo via PUT */
+    private String url;
+
+    /** Nome original do arquivo */
+    private String nomeArquivo;
+
+    /** Tipo de conteúdo que deve ser enviado no cabeçalho Content-Type */
+    private String contentType;
+
+    /** Data e hora de expiração da URL */
+    private LocalDateTime expiraEm;
+}
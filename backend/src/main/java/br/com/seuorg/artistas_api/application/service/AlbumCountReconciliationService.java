@@ -0,0 +1,92 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import br.com.seuorg.artistas_api.domain.repository.ArtistaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Serviço responsável por reconciliar o contador desnormalizado
+ * de álbuns (artistas.album_count) com a contagem real da tabela de álbuns.
+ *
+ * A tabela de artistas é percorrida em lotes ordenados por ID, e cada lote
+ * é corrigido em uma transação curta, atualizando apenas os artistas
+ * cujo contador divergiu.
+ */
+@Slf4j
+@Service
+public class AlbumCountReconciliationService {
+
+    /** Repositório de persistência de artistas */
+    private final ArtistaRepository artistaRepository;
+
+    /** Indica se a reconciliação agendada está habilitada */
+    private final boolean enabled;
+
+    /** Quantidade de artistas processados por lote */
+    private final int tamanhoLote;
+
+    /**
+     * Construtor com injeção de dependências.
+     *
+     * @param artistaRepository repositório de artistas
+     * @param enabled habilita a execução agendada
+     * @param tamanhoLote quantidade de artistas por lote
+     */
+    public AlbumCountReconciliationService(
+            ArtistaRepository artistaRepository,
+            @Value("${album-count.reconciliacao.enabled:true}") boolean enabled,
+            @Value("${album-count.reconciliacao.tamanho-lote:500}") int tamanhoLote
+    ) {
+        this.artistaRepository = artistaRepository;
+        this.enabled = enabled;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Execução agendada da reconciliação.
+     */
+    @Scheduled(
+            initialDelayString = "${album-count.reconciliacao.atraso-inicial-ms:60000}",
+            fixedDelayString = "${album-count.reconciliacao.intervalo-ms:3600000}"
+    )
+    public void reconciliarAgendado() {
+        if (!enabled) return;
+
+        try {
+            reconciliar();
+        } catch (Exception e) {
+            log.error("Falha na reconciliação do contador de álbuns: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recalcula o contador de álbuns de todos os artistas, em lotes.
+     *
+     * @return quantidade de artistas cujo contador foi corrigido
+     */
+    public int reconciliar() {
+        int corrigidos = 0;
+        long lastId = 0L;
+
+        while (true) {
+            // Busca o próximo lote de IDs (keyset, sem OFFSET)
+            List<Long> ids = artistaRepository.findIdsAfter(lastId, PageRequest.of(0, tamanhoLote));
+            if (ids.isEmpty()) break;
+
+            corrigidos += artistaRepository.reconcileAlbumCount(ids);
+            lastId = ids.get(ids.size() - 1);
+        }
+
+        if (corrigidos > 0) {
+            log.warn("Reconciliação do contador de álbuns corrigiu {} artista(s)", corrigidos);
+        } else {
+            log.info("Reconciliação do contador de álbuns concluída sem divergências");
+        }
+        return corrigidos;
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.seuorg.artistas_api.application.service;
 
 import br.com.seuorg.artistas_api.application.dto.AlbumCreateDTO;
+import br.com.seuorg.artistas_api.application.dto.CursorPageDTO;
 import br.com.seuorg.artistas_api.application.dto.AlbumResponseDTO;
 import br.com.seuorg.artistas_api.domain.entity.Album;
 import br.com.seuorg.artistas_api.domain.entity.Artista;
@@ -8,10 +9,13 @@ import br.com.seuorg.artistas_api.domain.repository.AlbumRepository;
 import br.com.seuorg.artistas_api.domain.repository.ArtistaRepository;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Serviço responsável pelas regras de negócio relacionadas à entidade Álbum.
@@ -54,6 +58,7 @@ public class AlbumService {
      * @param dto dados necessários para criação do álbum
      * @return álbum criado
      */
+    @Transactional
     public AlbumResponseDTO criar(AlbumCreateDTO dto) {
         // Busca o artista pelo ID informado
         Artista artista = artistaRepository.findById(dto.getArtistaId())
@@ -68,6 +73,9 @@ public class AlbumService {
         // Salva o álbum no banco de dados
         Album saved = repository.save(album);
 
+        // Atualiza o contador de álbuns do artista
+        artistaRepository.incrementAlbumCount(artista.getId(), 1);
+
         // Notifica clientes conectados via WebSocket sobre novo álbum
         try {
             // Identifica usuário autenticado, se houver
@@ -106,7 +114,7 @@ public class AlbumService {
      * @return álbum encontrado
      */
     public AlbumResponseDTO obterPorId(Long id) {
-        Album album = repository.findById(id)
+        Album album = repository.findByIdWithArtista(id)
                 .orElseThrow(() -> new RuntimeException("Album não encontrado"));
 
         return convertToResponseDTO(album);
@@ -115,12 +123,36 @@ public class AlbumService {
     /**
      * Lista todos os álbuns de forma paginada.
      *
+     * Os dados do artista vêm da própria consulta (JOIN com projeção em DTO),
+     * sem consultas adicionais por álbum.
+     *
      * @param pageable dados de paginação
      * @return página de álbuns
      */
     public Page<AlbumResponseDTO> listarTodos(Pageable pageable) {
-        return repository.findAll(pageable)
-                .map(this::convertToResponseDTO);
+        return repository.findAllWithArtista(pageable);
+    }
+
+    /**
+     * Lista álbuns por cursor (keyset), em ordem de (nome, id).
+     *
+     * Não executa consulta de contagem e o custo não cresce com a profundidade,
+     * o que permite percorrer o catálogo inteiro.
+     *
+     * @param cursor token da página anterior (vazio para a primeira página)
+     * @param size quantidade de registros por página
+     * @return página com o token da próxima página
+     */
+    public CursorPageDTO<AlbumResponseDTO> listarPorCursor(String cursor, int size) {
+        int tamanho = KeysetCursor.tamanho(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable limite = PageRequest.of(0, tamanho + 1);
+
+        List<AlbumResponseDTO> linhas = after == null
+                ? repository.findFirstKeysetPage(limite)
+                : repository.findKeysetPageAfter(after.nome(), after.id(), limite);
+
+        return KeysetCursor.pagina(linhas, tamanho, d -> new KeysetCursor(d.getNome(), d.getId()));
     }
 
     /**
@@ -136,8 +168,7 @@ public class AlbumService {
             throw new RuntimeException("Artista não encontrado");
         }
 
-        return repository.findByArtistaId(artistaId, pageable)
-                .map(this::convertToResponseDTO);
+        return repository.findByArtistaIdWithArtista(artistaId, pageable);
     }
 
     /**
@@ -148,8 +179,7 @@ public class AlbumService {
      * @return página de álbuns encontrados
      */
     public Page<AlbumResponseDTO> buscarPorNome(String nome, Pageable pageable) {
-        return repository.findByNomeContainingIgnoreCase(nome, pageable)
-                .map(this::convertToResponseDTO);
+        return repository.findByNomeWithArtista(nome, pageable);
     }
 
     /**
@@ -159,6 +189,7 @@ public class AlbumService {
      * @param dto novos dados do álbum
      * @return álbum atualizado
      */
+    @Transactional
     public AlbumResponseDTO atualizar(Long id, AlbumCreateDTO dto) {
         // Busca o álbum pelo ID
         Album album = repository.findById(id)
@@ -168,6 +199,13 @@ public class AlbumService {
         Artista artista = artistaRepository.findById(dto.getArtistaId())
                 .orElseThrow(() -> new RuntimeException("Artista não encontrado"));
 
+        // Se o álbum mudou de artista, transfere a contagem entre os artistas
+        Long artistaAnteriorId = album.getArtista().getId();
+        if (!artistaAnteriorId.equals(artista.getId())) {
+            artistaRepository.incrementAlbumCount(artistaAnteriorId, -1);
+            artistaRepository.incrementAlbumCount(artista.getId(), 1);
+        }
+
         // Atualiza os dados do álbum
         album.setNome(dto.getNome());
         album.setArtista(artista);
@@ -184,13 +222,16 @@ public class AlbumService {
      *
      * @param id identificador do álbum
      */
+    @Transactional
     public void deletar(Long id) {
         // Verifica se o álbum existe antes de remover
-        if (!repository.existsById(id)) {
-            throw new RuntimeException("Album não encontrado");
-        }
+        Album album = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Album não encontrado"));
+
+        repository.delete(album);
 
-        repository.deleteById(id);
+        // Atualiza o contador de álbuns do artista
+        artistaRepository.incrementAlbumCount(album.getArtista().getId(), -1);
     }
 
     /**
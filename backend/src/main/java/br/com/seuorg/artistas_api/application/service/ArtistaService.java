@@ -1,16 +1,21 @@
 package br.com.seuorg.artistas_api.application.service;
 
 import br.com.seuorg.artistas_api.application.dto.ArtistaCreateDTO;
+import br.com.seuorg.artistas_api.application.dto.CursorPageDTO;
 import br.com.seuorg.artistas_api.application.dto.ArtistaResponseDTO;
+import br.com.seuorg.artistas_api.application.dto.ArtistaSugestaoDTO;
 import br.com.seuorg.artistas_api.domain.entity.Artista;
-import br.com.seuorg.artistas_api.domain.entity.Album;
 import br.com.seuorg.artistas_api.domain.repository.AlbumRepository;
 import br.com.seuorg.artistas_api.domain.repository.ArtistaRepository;
 import br.com.seuorg.artistas_api.domain.repository.CapaAlbumRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -19,8 +24,8 @@ import java.util.List;
  * Serviço responsável pelas regras de negócio relacionadas à entidade Artista.
  *
  * Esta classe gerencia a criação, consulta, listagem, busca,
- * atualização e exclusão de artistas, além de calcular a
- * quantidade de álbuns associados a cada artista.
+ * atualização e exclusão de artistas. A quantidade de álbuns de cada
+ * artista vem do contador desnormalizado mantido pelo AlbumService.
  */
 @Slf4j
 @Service
@@ -29,7 +34,7 @@ public class ArtistaService {
     /** Repositório de persistência de artistas */
     private final ArtistaRepository repository;
 
-    /** Repositório de álbuns, utilizado para contagem de álbuns por artista */
+    /** Repositório de álbuns, utilizado na exclusão em cascata */
     private final AlbumRepository albumRepository;
 
     /** Repositório de capas de álbuns para exclusão em cascata */
@@ -38,6 +43,9 @@ public class ArtistaService {
     /** Serviço de capas para deletar arquivos do S3 */
     private final CapaAlbumService capaAlbumService;
 
+    /** Índice em memória de sugestões de nomes de artistas */
+    private final ArtistaSugestaoService sugestaoService;
+
     /**
      * Construtor com injeção de dependências.
      *
@@ -45,17 +53,20 @@ public class ArtistaService {
      * @param albumRepository repositório de álbuns
      * @param capaAlbumRepository repositório de capas de álbuns
      * @param capaAlbumService serviço de capas de álbuns
+     * @param sugestaoService índice de sugestões de nomes de artistas
      */
     public ArtistaService(
             ArtistaRepository repository,
             AlbumRepository albumRepository,
             CapaAlbumRepository capaAlbumRepository,
-            CapaAlbumService capaAlbumService
+            CapaAlbumService capaAlbumService,
+            ArtistaSugestaoService sugestaoService
     ) {
         this.repository = repository;
         this.albumRepository = albumRepository;
         this.capaAlbumRepository = capaAlbumRepository;
         this.capaAlbumService = capaAlbumService;
+        this.sugestaoService = sugestaoService;
     }
 
     /**
@@ -73,6 +84,9 @@ public class ArtistaService {
         // Salva o artista no banco de dados
         Artista saved = repository.save(artista);
 
+        // Inclui o artista no índice de sugestões
+        aposCommit(() -> sugestaoService.adicionar(saved.getId(), saved.getNome()));
+
         // Converte a entidade para DTO de resposta
         return convertToResponseDTO(saved);
     }
@@ -93,12 +107,36 @@ public class ArtistaService {
     /**
      * Lista todos os artistas de forma paginada.
      *
+     * A contagem de álbuns vem do contador desnormalizado do artista
+     * (artistas.album_count), sem consultas adicionais por artista.
+     *
      * @param pageable dados de paginação
      * @return página de artistas
      */
     public Page<ArtistaResponseDTO> listarTodos(Pageable pageable) {
-        return repository.findAll(pageable)
-                .map(this::convertToResponseDTO);
+        return repository.findAllWithAlbumCount(pageable);
+    }
+
+    /**
+     * Lista artistas por cursor (keyset), em ordem de (nome, id).
+     *
+     * Não executa consulta de contagem e o custo não cresce com a profundidade,
+     * o que permite percorrer o catálogo inteiro.
+     *
+     * @param cursor token da página anterior (vazio para a primeira página)
+     * @param size quantidade de registros por página
+     * @return página com o token da próxima página
+     */
+    public CursorPageDTO<ArtistaResponseDTO> listarPorCursor(String cursor, int size) {
+        int tamanho = KeysetCursor.tamanho(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable limite = PageRequest.of(0, tamanho + 1);
+
+        List<ArtistaResponseDTO> linhas = after == null
+                ? repository.findFirstKeysetPage(limite)
+                : repository.findKeysetPageAfter(after.nome(), after.id(), limite);
+
+        return KeysetCursor.pagina(linhas, tamanho, d -> new KeysetCursor(d.getNome(), d.getId()));
     }
 
     /**
@@ -109,8 +147,7 @@ public class ArtistaService {
      * @return página de artistas encontrados
      */
     public Page<ArtistaResponseDTO> buscarPorNomeAscendente(String nome, Pageable pageable) {
-        return repository.findByNomeContainingIgnoreCaseAsc(nome, pageable)
-                .map(this::convertToResponseDTO);
+        return repository.findByNomeWithAlbumCountAsc(nome, pageable);
     }
 
     /**
@@ -121,8 +158,7 @@ public class ArtistaService {
      * @return página de artistas encontrados
      */
     public Page<ArtistaResponseDTO> buscarPorNomeDescendente(String nome, Pageable pageable) {
-        return repository.findByNomeContainingIgnoreCaseDesc(nome, pageable)
-                .map(this::convertToResponseDTO);
+        return repository.findByNomeWithAlbumCountDesc(nome, pageable);
     }
 
     /**
@@ -132,10 +168,7 @@ public class ArtistaService {
      * @return lista de artistas encontrados
      */
     public List<ArtistaResponseDTO> buscarPorNomeAscendente(String nome) {
-        return repository.findByNomeContainingIgnoreCaseOrderByNomeAsc(nome)
-                .stream()
-                .map(this::convertToResponseDTO)
-                .toList();
+        return repository.findByNomeWithAlbumCountOrderByNomeAsc(nome);
     }
 
     /**
@@ -145,10 +178,19 @@ public class ArtistaService {
      * @return lista de artistas encontrados
      */
     public List<ArtistaResponseDTO> buscarPorNomeDescendente(String nome) {
-        return repository.findByNomeContainingIgnoreCaseOrderByNomeDesc(nome)
-                .stream()
-                .map(this::convertToResponseDTO)
-                .toList();
+        return repository.findByNomeWithAlbumCountOrderByNomeDesc(nome);
+    }
+
+    /**
+     * Sugere artistas cujo nome começa com o prefixo informado.
+     * A consulta é respondida pelo índice em memória, sem acesso ao banco.
+     *
+     * @param prefixo prefixo do nome do artista
+     * @param limite quantidade máxima de sugestões
+     * @return lista de sugestões
+     */
+    public List<ArtistaSugestaoDTO> sugerir(String prefixo, int limite) {
+        return sugestaoService.sugerir(prefixo, limite);
     }
 
     /**
@@ -170,66 +212,76 @@ public class ArtistaService {
         // Salva as alterações
         Artista updated = repository.save(artista);
 
+        // Atualiza o nome no índice de sugestões
+        aposCommit(() -> sugestaoService.atualizar(updated.getId(), updated.getNome()));
+
         return convertToResponseDTO(updated);
     }
 
     /**
      * Remove um artista pelo seu ID.
      *
-     * Realiza exclusão em cascata:
-     * 1. Exclui todas as capas de álbuns (deletando arquivos do S3)
-     * 2. Exclui todos os álbuns
-     * 3. Exclui o artista
+     * Realiza exclusão em cascata com um número fixo de instruções,
+     * independentemente da quantidade de álbuns e capas:
+     * 1. Coleta as chaves de todas as capas em uma consulta
+     * 2. Exclui capas, álbuns e o artista com DELETEs em lote, na mesma transação
+     * 3. Agenda a remoção dos arquivos do S3 na fila de remoções, na mesma transação
      *
      * @param id identificador do artista
      */
+    @Transactional
     public void deletar(Long id) {
         // Verifica se o artista existe antes de remover
         if (!repository.existsById(id)) {
             throw new RuntimeException("Artista não encontrado");
         }
 
-        // Busca todos os álbuns do artista
-        List<Album> albuns = albumRepository.findByArtistaId(id);
+        // Chaves de todas as capas do artista, em uma única consulta
+        List<String> chaves = capaAlbumRepository.findChavesByArtistaId(id);
 
-        log.info("Deletando artista ID={} com {} álbums", id, albuns.size());
+        int capas = capaAlbumRepository.deleteByArtistaId(id);
+        int albuns = albumRepository.deleteByArtistaId(id);
+        repository.bulkDeleteById(id);
 
-        // Para cada álbum, delete as capas (inclusive dos arquivos do S3)
-        for (Album album : albuns) {
-            // Busca todas as capas do álbum
-            capaAlbumRepository.findByAlbumId(album.getId()).forEach(capa -> {
-                log.info("Deletando capa de álbum: id={}, chave={}", capa.getId(), capa.getChave());
-                // Usa o serviço para deletar (remove do S3 e do banco)
-                capaAlbumService.excluir(capa.getId());
-            });
+        log.info("Artista ID={} deletado com {} álbuns e {} capas", id, albuns, capas);
 
-            // Delete o álbum (cascade já foi tratado acima)
-            log.info("Deletando álbum: id={}, nome={}", album.getId(), album.getNome());
-            albumRepository.deleteById(album.getId());
-        }
+        // Agenda a remoção dos arquivos do S3 (processada em segundo plano)
+        capaAlbumService.excluirArquivos(chaves);
 
-        // Delete o artista
-        log.info("Deletando artista: id={}", id);
-        repository.deleteById(id);
+        // Remove o artista do índice de sugestões somente após o commit,
+        // para que uma falha na transação não deixe o índice divergente do banco
+        aposCommit(() -> sugestaoService.remover(id));
+    }
 
-        log.info("Artista ID={} deletado com sucesso", id);
+    /**
+     * Executa a ação após o commit da transação corrente, ou imediatamente
+     * se não houver transação ativa.
+     */
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
     }
 
     /**
      * Converte a entidade Artista para o DTO de resposta.
-     * Também calcula a quantidade de álbuns associados ao artista.
+     * A quantidade de álbuns é lida do contador do próprio artista, sem consultas extras.
      *
      * @param artista entidade artista
      * @return DTO de resposta
      */
     private ArtistaResponseDTO convertToResponseDTO(Artista artista) {
-        // Conta quantos álbuns o artista possui
-        Long albumCount = albumRepository.countByArtistaId(artista.getId());
-
         return new ArtistaResponseDTO(
                 artista.getId(),
                 artista.getNome(),
-                albumCount,
+                artista.getAlbumCount(),
                 artista.getCreatedAt(),
                 artista.getUpdatedAt()
         );
@@ -0,0 +1,266 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import br.com.seuorg.artistas_api.application.dto.ArtistaSugestaoDTO;
+import br.com.seuorg.artistas_api.domain.repository.ArtistaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Serviço de autocomplete de nomes de artistas mantido em memória.
+ *
+ * Os nomes são normalizados (sem acentos, minúsculos) e guardados em um
+ * array ordenado, com uma entrada para o nome completo e uma para cada
+ * palavra seguinte (ex: "Serj Tankian" responde a "ser" e a "tan").
+ * A busca por prefixo é uma pesquisa binária seguida de uma varredura curta,
+ * sem acesso ao banco de dados.
+ *
+ * Leituras usam um snapshot imutável sem bloqueio; escritas (criação,
+ * atualização e exclusão de artistas) geram um novo array sob um lock.
+ * Escritas feitas durante uma reconstrução também são registradas e
+ * reaplicadas sobre a carga do banco antes da troca, já que a consulta
+ * pode não enxergá-las.
+ */
+@Slf4j
+@Service
+public class ArtistaSugestaoService {
+
+    /** Quantidade máxima de sugestões retornadas por consulta */
+    private static final int LIMITE_MAXIMO = 50;
+
+    /** Marcas diacríticas removidas na normalização */
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+    /** Sequências de espaços colapsadas na normalização */
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    /**
+     * Entrada do índice: chave normalizada, ID e nome original do artista.
+     */
+    private record Entrada(String chave, long id, String nome) {
+    }
+
+    /** Ordem do índice: chave e, em caso de empate, ID */
+    private static final Comparator<Entrada> ORDEM =
+            Comparator.comparing(Entrada::chave).thenComparingLong(Entrada::id);
+
+    /** Repositório de persistência de artistas (usado apenas na carga completa) */
+    private final ArtistaRepository repository;
+
+    /** Lock que serializa as escritas no índice */
+    private final Object lock = new Object();
+
+    /** Lock que serializa as reconstruções */
+    private final Object lockReconstrucao = new Object();
+
+    /**
+     * Escritas feitas durante a reconstrução em andamento (nome atual por ID,
+     * null para removido), ou null fora de uma reconstrução. Protegido por lock.
+     */
+    private Map<Long, String> alteracoesDuranteReconstrucao;
+
+    /** Snapshot atual do índice, ordenado por {@link #ORDEM} */
+    private volatile Entrada[] entradas = new Entrada[0];
+
+    /**
+     * Construtor com injeção de dependências.
+     *
+     * @param repository repositório de artistas
+     */
+    public ArtistaSugestaoService(ArtistaRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Reconstrói o índice completo a partir do banco de dados.
+     * Executado automaticamente quando a aplicação termina de iniciar
+     * (quando as requisições já podem estar alterando artistas).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        synchronized (lockReconstrucao) {
+            synchronized (lock) {
+                alteracoesDuranteReconstrucao = new LinkedHashMap<>();
+            }
+
+            Entrada[] carregadas;
+            try {
+                List<Entrada> novas = new ArrayList<>();
+                for (ArtistaSugestaoDTO a : repository.findAllSugestoes()) {
+                    novas.addAll(entradasDe(a.getId(), a.getNome()));
+                }
+                novas.sort(ORDEM);
+                carregadas = novas.toArray(new Entrada[0]);
+            } catch (RuntimeException e) {
+                synchronized (lock) {
+                    alteracoesDuranteReconstrucao = null;
+                }
+                throw e;
+            }
+
+            synchronized (lock) {
+                // Reaplica as escritas concorrentes, que a consulta pode não ter visto
+                for (Map.Entry<Long, String> alteracao : alteracoesDuranteReconstrucao.entrySet()) {
+                    carregadas = semArtista(carregadas, alteracao.getKey());
+                    if (alteracao.getValue() != null) {
+                        carregadas = mesclar(carregadas, entradasDe(alteracao.getKey(), alteracao.getValue()));
+                    }
+                }
+                alteracoesDuranteReconstrucao = null;
+                entradas = carregadas;
+            }
+            log.info("Índice de sugestões de artistas carregado com {} entradas", carregadas.length);
+        }
+    }
+
+    /**
+     * Retorna os artistas cujo nome (ou alguma palavra do nome) começa com o prefixo.
+     *
+     * @param prefixo prefixo digitado pelo usuário
+     * @param limite quantidade máxima de sugestões
+     * @return lista de sugestões, em ordem alfabética da chave encontrada
+     */
+    public List<ArtistaSugestaoDTO> sugerir(String prefixo, int limite) {
+        String chave = normalizar(prefixo);
+        if (chave.isEmpty() || limite <= 0) return List.of();
+
+        int max = Math.min(limite, LIMITE_MAXIMO);
+        Entrada[] snapshot = entradas;
+
+        // Um mesmo artista pode ter várias entradas; mantém apenas a primeira
+        Map<Long, ArtistaSugestaoDTO> resultado = new LinkedHashMap<>();
+        for (int i = primeiraPosicao(snapshot, chave); i < snapshot.length && resultado.size() < max; i++) {
+            Entrada e = snapshot[i];
+            if (!e.chave().startsWith(chave)) break;
+            resultado.putIfAbsent(e.id(), new ArtistaSugestaoDTO(e.id(), e.nome()));
+        }
+        return new ArrayList<>(resultado.values());
+    }
+
+    /**
+     * Adiciona um artista ao índice.
+     *
+     * @param id identificador do artista
+     * @param nome nome do artista
+     */
+    public void adicionar(Long id, String nome) {
+        synchronized (lock) {
+            entradas = mesclar(entradas, entradasDe(id, nome));
+            registrarDuranteReconstrucao(id, nome);
+        }
+    }
+
+    /**
+     * Atualiza o nome de um artista no índice.
+     *
+     * @param id identificador do artista
+     * @param nome novo nome do artista
+     */
+    public void atualizar(Long id, String nome) {
+        synchronized (lock) {
+            entradas = mesclar(semArtista(entradas, id), entradasDe(id, nome));
+            registrarDuranteReconstrucao(id, nome);
+        }
+    }
+
+    /**
+     * Remove um artista do índice.
+     *
+     * @param id identificador do artista
+     */
+    public void remover(Long id) {
+        synchronized (lock) {
+            entradas = semArtista(entradas, id);
+            registrarDuranteReconstrucao(id, null);
+        }
+    }
+
+    /**
+     * Registra uma escrita para reaplicá-la ao fim da reconstrução em
+     * andamento, se houver (chamado com o lock).
+     */
+    private void registrarDuranteReconstrucao(Long id, String nome) {
+        if (alteracoesDuranteReconstrucao != null && id != null) {
+            alteracoesDuranteReconstrucao.put(id, nome);
+        }
+    }
+
+    /**
+     * Gera as entradas de um artista: o nome completo e o sufixo a partir de cada palavra.
+     */
+    private static List<Entrada> entradasDe(Long id, String nome) {
+        List<Entrada> lista = new ArrayList<>();
+        if (id == null) return lista;
+
+        String chave = normalizar(nome);
+        if (chave.isEmpty()) return lista;
+
+        lista.add(new Entrada(chave, id, nome));
+        for (int i = chave.indexOf(' '); i >= 0; i = chave.indexOf(' ', i + 1)) {
+            lista.add(new Entrada(chave.substring(i + 1), id, nome));
+        }
+        lista.sort(ORDEM);
+        return lista;
+    }
+
+    /**
+     * Intercala um array ordenado com uma lista ordenada, gerando um novo array.
+     */
+    private static Entrada[] mesclar(Entrada[] atual, List<Entrada> novas) {
+        Entrada[] destino = new Entrada[atual.length + novas.size()];
+        int i = 0, j = 0, k = 0;
+        while (i < atual.length && j < novas.size()) {
+            destino[k++] = ORDEM.compare(atual[i], novas.get(j)) <= 0 ? atual[i++] : novas.get(j++);
+        }
+        while (i < atual.length) destino[k++] = atual[i++];
+        while (j < novas.size()) destino[k++] = novas.get(j++);
+        return destino;
+    }
+
+    /**
+     * Retorna uma cópia do array sem as entradas do artista informado.
+     */
+    private static Entrada[] semArtista(Entrada[] atual, Long id) {
+        return Arrays.stream(atual)
+                .filter(e -> e.id() != id)
+                .toArray(Entrada[]::new);
+    }
+
+    /**
+     * Pesquisa binária pela primeira entrada cuja chave é maior ou igual ao prefixo.
+     */
+    private static int primeiraPosicao(Entrada[] snapshot, String prefixo) {
+        int lo = 0, hi = snapshot.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (snapshot[mid].chave().compareTo(prefixo) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Normaliza um texto para comparação: remove acentos, converte para minúsculas
+     * e colapsa espaços.
+     */
+    static String normalizar(String texto) {
+        if (texto == null) return "";
+        String s = Normalizer.normalize(texto, Normalizer.Form.NFKD);
+        s = MARCAS.matcher(s).replaceAll("").toLowerCase(Locale.ROOT);
+        return ESPACOS.matcher(s).replaceAll(" ").trim();
+    }
+}
@@ -1,22 +1,62 @@
 package br.com.seuorg.artistas_api.application.service;
 
 import br.com.seuorg.artistas_api.application.dto.CapaAlbumResponseDTO;
+import br.com.seuorg.artistas_api.application.dto.UploadDiretoConfirmacaoDTO;
+import br.com.seuorg.artistas_api.application.dto.UploadDiretoRequestDTO;
+import br.com.seuorg.artistas_api.application.dto.UploadDiretoResponseDTO;
 import br.com.seuorg.artistas_api.domain.entity.Album;
 import br.com.seuorg.artistas_api.domain.entity.CapaAlbum;
+import br.com.seuorg.artistas_api.domain.entity.CapaAlbumVariante;
+import br.com.seuorg.artistas_api.domain.entity.ExclusaoArquivoPendente;
 import br.com.seuorg.artistas_api.domain.repository.AlbumRepository;
 import br.com.seuorg.artistas_api.domain.repository.CapaAlbumRepository;
+import br.com.seuorg.artistas_api.domain.repository.ExclusaoArquivoPendenteRepository;
+import br.com.seuorg.artistas_api.exception.FuncionalidadeIndisponivelException;
 import br.com.seuorg.artistas_api.storage.S3StorageService;
+import br.com.seuorg.artistas_api.storage.StorageContentCache;
+import br.com.seuorg.artistas_api.storage.StorageMetadata;
+import br.com.seuorg.artistas_api.storage.StorageObject;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -41,6 +81,18 @@ public class CapaAlbumService {
     /** Serviço responsável pela comunicação com o armazenamento S3 */
     private final S3StorageService s3;
 
+    /** Fila de arquivos pendentes de remoção no armazenamento */
+    private final ExclusaoArquivoPendenteRepository exclusaoRepo;
+
+    /** Cache local do conteúdo das capas */
+    private final StorageContentCache conteudoCache;
+
+    /** Serviço das variantes redimensionadas das capas */
+    private final CapaVarianteService varianteService;
+
+    /** Transação independente, para agendar remoções após um rollback */
+    private final TransactionTemplate novaTransacao;
+
     /** Nome do bucket onde as capas de álbuns são armazenadas */
     @Value("${s3.bucket}")
     private String bucket;
@@ -56,99 +108,540 @@ public class CapaAlbumService {
     @Value("${s3.max-files-per-upload:10}")
     private int maxFilesPerUpload;
 
+    /** Quantidade máxima de uploads simultâneos por requisição */
+    @Value("${s3.upload.concorrencia:4}")
+    private int uploadConcorrencia = 4;
+
+    /** Validade das URLs pré-assinadas */
+    @Value("${s3.presigned-url.validade:30m}")
+    private Duration validadeUrl = Duration.ofMinutes(30);
+
+    /** Antecedência, em relação à expiração, com que uma URL em cache é renovada */
+    @Value("${s3.presigned-url.margem-renovacao:5m}")
+    private Duration margemRenovacaoUrl = Duration.ofMinutes(5);
+
+    /**
+     * Tipo de armazenamento (s3 ou local). O armazenamento local não
+     * gera URLs pré-assinadas, portanto não oferece envio direto.
+     */
+    @Value("${armazenamento.tipo:s3}")
+    private String tipoArmazenamento = "s3";
+
+    /** Validade das URLs de envio direto ao armazenamento */
+    @Value("${s3.upload-direto.validade:15m}")
+    private Duration validadeUploadDireto = Duration.ofMinutes(15);
+
+    /**
+     * Prazo, a partir da reserva, para confirmar um envio direto.
+     * Após o prazo, o arquivo reservado é removido pela fila de remoções.
+     */
+    @Value("${s3.upload-direto.prazo-confirmacao:1h}")
+    private Duration prazoConfirmacaoUploadDireto = Duration.ofHours(1);
+
+    /** Tamanho máximo, em bytes, de um arquivo enviado diretamente */
+    @Value("${s3.upload-direto.tamanho-maximo:20971520}")
+    private long tamanhoMaximoUploadDireto = 20 * 1024 * 1024;
+
+    /** Espera entre o agendamento da remoção de um arquivo e a remoção em si */
+    @Value("${armazenamento.limpeza.carencia:5m}")
+    private Duration carenciaRemocao = Duration.ofMinutes(5);
+
+    /** Quantidade máxima de URLs mantidas em cache */
+    @Value("${s3.presigned-url.max-entradas:10000}")
+    private int maxUrlsEmCache = 10_000;
+
+    /** Barras no final da URL base pública */
+    private static final Pattern BARRAS_FINAIS = Pattern.compile("/+$");
+
+    /** URL pública já assinada e reescrita, com o instante a partir do qual deve ser renovada */
+    private record UrlAssinada(String url, Instant renovarEm) {}
+
+    /** Cache de URLs pré-assinadas, por bucket/chave */
+    private final Map<String, UrlAssinada> urlsAssinadas = new ConcurrentHashMap<>();
+
+    /** URL base pública sem barras finais (calculada no primeiro uso) */
+    private volatile String baseUrlNormalizada;
+
+    /** Relógio usado na validade das URLs em cache */
+    private Clock clock = Clock.systemUTC();
+
     /**
      * Construtor com injeção de dependências.
      *
      * @param capaRepo repositório de capas de álbum
      * @param albumRepo repositório de álbuns
      * @param s3 serviço de armazenamento S3
+     * @param exclusaoRepo fila de arquivos pendentes de remoção
+     * @param conteudoCache cache local do conteúdo das capas
+     * @param varianteService serviço das variantes redimensionadas
+     * @param transactionManager gerenciador de transações, para desfazer
+     *                           uploads após o rollback
      */
     public CapaAlbumService(
             CapaAlbumRepository capaRepo,
             AlbumRepository albumRepo,
-            S3StorageService s3
+            S3StorageService s3,
+            ExclusaoArquivoPendenteRepository exclusaoRepo,
+            StorageContentCache conteudoCache,
+            CapaVarianteService varianteService,
+            PlatformTransactionManager transactionManager
     ) {
         this.capaRepo = capaRepo;
         this.albumRepo = albumRepo;
         this.s3 = s3;
+        this.exclusaoRepo = exclusaoRepo;
+        this.conteudoCache = conteudoCache;
+        this.varianteService = varianteService;
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     /**
      * Cria e associa capas a um álbum existente.
      *
-     * Realiza o upload dos arquivos para o S3 e persiste
-     * as informações da capa no banco de dados.
+     * O conteúdo de cada arquivo é identificado pelo hash SHA-256 e armazenado
+     * sob uma chave derivada dele (ver chaveConteudo): arquivos já presentes
+     * no armazenamento não são enviados novamente, e arquivos repetidos na
+     * mesma requisição são enviados uma única vez.
+     *
+     * Os uploads para o S3 são feitos em paralelo (threads virtuais, limitados
+     * por s3.upload.concorrencia) e as capas são persistidas em um único lote.
+     * Se algum upload ou a persistência falhar, os arquivos enviados e não
+     * referenciados são removidos do S3. As variantes redimensionadas são
+     * geradas em segundo plano após o commit.
+     *
+     * As remoções pendentes dos mesmos arquivos são canceladas na transação
+     * que grava as capas, antes da verificação de quais já existem, de modo
+     * que a limpeza (ver LimpezaArmazenamentoService) nunca remove um
+     * arquivo entre essa verificação e o commit das novas referências.
      *
      * @param albumId  identificador do álbum
      * @param arquivos lista de arquivos enviados
      * @return lista de capas criadas
      * @throws IOException em caso de erro no upload dos arquivos
      */
+    @Transactional(rollbackFor = IOException.class)
     public List<CapaAlbumResponseDTO> criar(Long albumId, List<MultipartFile> arquivos) throws IOException {
         // Busca o álbum pelo ID
         Album album = albumRepo.findById(albumId)
                 .orElseThrow(() -> new IllegalArgumentException("Album não encontrado"));
 
         // Valida quantidade máxima de arquivos
-        if (arquivos.size() > maxFilesPerUpload) {
-            throw new IllegalArgumentException(
-                    "Limite de arquivos por upload excedido: máximo " + maxFilesPerUpload
-            );
-        }
-
-        List<CapaAlbum> saved = new ArrayList<>();
+        validarQuantidade(arquivos.size());
 
+        List<CapaAlbum> capas = new ArrayList<>();
+        Map<String, MultipartFile> porChave = new LinkedHashMap<>();
         for (MultipartFile f : arquivos) {
 
             // Obtém o nome original do arquivo
             String original = f.getOriginalFilename() == null ? "file" : f.getOriginalFilename();
 
-            // Separa nome base e extensão
-            String baseName = original;
-            String ext = "";
-            int dot = original.lastIndexOf('.');
-            if (dot > 0) {
-                baseName = original.substring(0, dot);
-                ext = original.substring(dot + 1);
-            }
-
-            // Gera um slug amigável a partir do nome do arquivo
-            String slug = slugify(baseName);
-
-            // Gera a chave única do arquivo no S3
-            String key = String.format(
-                    "capas-album/albums/%d/%s-%s%s",
-                    albumId,
-                    slug,
-                    UUID.randomUUID(),
-                    ext.isEmpty() ? "" : ("." + ext)
-            );
-
-            // Realiza o upload do arquivo para o S3
-            log.info(
-                    "Upload de capa - albumId={}, arquivo={}, tamanho={}, contentType={}, key={}",
-                    albumId, original, f.getSize(), f.getContentType(), key
-            );
-            s3.upload(bucket, key, f.getInputStream(), f.getSize(), f.getContentType());
+            // Identifica o conteúdo pelo hash
+            String hash = sha256(f);
+            String chave = chaveConteudo(hash);
+            porChave.putIfAbsent(chave, f);
 
             // Cria a entidade de capa do álbum
             CapaAlbum capa = new CapaAlbum();
             capa.setAlbum(album);
-            capa.setChave(key);
+            capa.setChave(chave);
+            capa.setHashSha256(hash);
             capa.setNomeArquivo(original);
             capa.setContentType(f.getContentType());
             capa.setTamanho(f.getSize());
+            capas.add(capa);
+        }
 
-            // Persiste a capa no banco de dados
-            saved.add(capaRepo.save(capa));
+        // Cancela as remoções pendentes do mesmo conteúdo. O cancelamento
+        // espera o lote que a limpeza estiver processando (registros
+        // bloqueados) e bloqueia os demais até o fim desta transação: a
+        // decisão abaixo já enxerga uma remoção concluída, e nenhuma nova
+        // remoção desses arquivos começa antes de as capas serem gravadas
+        if (!porChave.isEmpty()) {
+            exclusaoRepo.cancelarExclusoes(bucket, porChave.keySet());
         }
 
+        // Conteúdo já referenciado por outra capa não precisa ser enviado
+        capaRepo.findChavesEmUso(porChave.keySet()).forEach(porChave::remove);
+
+        // Realiza os uploads para o S3 em paralelo e persiste todas as
+        // capas em um único lote
+        List<String> enviados = Collections.synchronizedList(new ArrayList<>());
+        List<CapaAlbum> saved;
+        try {
+            enviarEmParalelo(albumId, porChave, enviados);
+            saved = capaRepo.saveAll(capas);
+            capaRepo.flush();
+        } catch (IOException | RuntimeException e) {
+            desfazerAposRollback(enviados);
+            throw e;
+        }
+
+        // Agenda a geração das variantes redimensionadas
+        aposCommit(() -> varianteService.gerarEmSegundoPlano(saved));
+
         // Converte as entidades salvas para DTO de resposta
         return saved.stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Calcula o hash SHA-256 do conteúdo de um arquivo enviado.
+     *
+     * O arquivo já foi recebido pela aplicação (em memória ou em disco),
+     * então a leitura é local e em blocos, sem carregar o conteúdo inteiro.
+     *
+     * @param f arquivo enviado
+     * @return hash em hexadecimal
+     * @throws IOException em caso de falha na leitura
+     */
+    static String sha256(MultipartFile f) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(f.getInputStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Gera a chave endereçada por conteúdo de um arquivo.
+     * Ex: capas-album/conteudo/9f/9f86d081884c7d65...
+     *
+     * @param hash hash SHA-256 do conteúdo, em hexadecimal
+     * @return chave do arquivo
+     */
+    static String chaveConteudo(String hash) {
+        return "capas-album/conteudo/" + hash.substring(0, 2) + "/" + hash;
+    }
+
+    /**
+     * Gera a chave única de um arquivo no S3, a partir do nome original.
+     * Ex: capas-album/albums/1/minha-capa-uuid.png
+     *
+     * @param albumId  identificador do álbum
+     * @param original nome original do arquivo
+     * @return chave do arquivo
+     */
+    private static String gerarChave(Long albumId, String original) {
+        // Separa nome base e extensão
+        String baseName = original;
+        String ext = "";
+        int dot = original.lastIndexOf('.');
+        if (dot > 0) {
+            baseName = original.substring(0, dot);
+            ext = original.substring(dot + 1);
+        }
+
+        // Gera um slug amigável a partir do nome do arquivo
+        String slug = slugify(baseName);
+
+        return String.format(
+                "%s%s-%s%s",
+                prefixoChave(albumId),
+                slug,
+                UUID.randomUUID(),
+                ext.isEmpty() ? "" : ("." + ext)
+        );
+    }
+
+    /**
+     * Retorna o prefixo das chaves das capas de um álbum.
+     */
+    private static String prefixoChave(Long albumId) {
+        return "capas-album/albums/" + albumId + "/";
+    }
+
+    /**
+     * Reserva chaves e gera URLs pré-assinadas para que o cliente envie
+     * as capas diretamente ao armazenamento, sem passar pela aplicação.
+     *
+     * Cada chave reservada é registrada na fila de remoções com vencimento
+     * no fim do prazo de confirmação: se o envio não for confirmado a tempo,
+     * o arquivo é removido pelo processamento da fila
+     * (ver LimpezaArmazenamentoService).
+     *
+     * @param albumId  identificador do álbum
+     * @param arquivos arquivos que serão enviados
+     * @return chaves reservadas e URLs de envio
+     */
+    public List<UploadDiretoResponseDTO> reservarUploads(Long albumId, List<UploadDiretoRequestDTO.Arquivo> arquivos) {
+        exigirUploadDireto();
+        if (!albumRepo.existsById(albumId)) {
+            throw new IllegalArgumentException("Album não encontrado");
+        }
+        validarQuantidade(arquivos.size());
+        for (UploadDiretoRequestDTO.Arquivo a : arquivos) {
+            validarArquivo(a.getContentType(), a.getTamanho());
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime expiraEm = agora.plus(validadeUploadDireto);
+        LocalDateTime prazo = agora.plus(
+                prazoConfirmacaoUploadDireto.compareTo(validadeUploadDireto) > 0
+                        ? prazoConfirmacaoUploadDireto : validadeUploadDireto);
+        String base = baseUrlPublica();
+
+        List<UploadDiretoResponseDTO> respostas = new ArrayList<>();
+        List<ExclusaoArquivoPendente> reservas = new ArrayList<>();
+        for (UploadDiretoRequestDTO.Arquivo a : arquivos) {
+            String chave = gerarChave(albumId, a.getNomeArquivo());
+            String url = s3.generatePresignedUploadUrl(bucket, chave, a.getContentType(), a.getTamanho(), validadeUploadDireto);
+
+            UploadDiretoResponseDTO dto = new UploadDiretoResponseDTO();
+            dto.setChave(chave);
+            dto.setUrl(base == null ? url : reescreverBase(url, base));
+            dto.setNomeArquivo(a.getNomeArquivo());
+            dto.setContentType(a.getContentType());
+            dto.setExpiraEm(expiraEm);
+            respostas.add(dto);
+
+            ExclusaoArquivoPendente reserva = new ExclusaoArquivoPendente(bucket, chave);
+            reserva.setProximaTentativa(prazo);
+            reserva.setReserva(true);
+            reservas.add(reserva);
+        }
+
+        exclusaoRepo.saveAll(reservas);
+        log.info("Upload direto - albumId={}, {} chaves reservadas até {}", albumId, reservas.size(), prazo);
+        return respostas;
+    }
+
+    /**
+     * Confirma o envio direto de capas e as associa ao álbum.
+     *
+     * A reserva de cada chave é consumida na mesma transação que cria as
+     * capas, de modo que uma chave só pode ser confirmada uma vez e apenas
+     * dentro do prazo. Como a URL de envio continua válida após a
+     * confirmação, a capa não usa a chave reservada: cada arquivo é copiado
+     * no próprio armazenamento para uma chave nova, que o cliente nunca
+     * recebeu, e a cópia é verificada (HeadObject): deve ser uma imagem e
+     * respeitar o tamanho máximo. A chave reservada é removida após o
+     * commit e, de novo, no fim do prazo da reserva (caso o cliente volte
+     * a enviar o arquivo).
+     *
+     * @param albumId  identificador do álbum
+     * @param arquivos arquivos enviados
+     * @return lista de capas criadas
+     * @throws IOException em caso de falha na cópia ou na consulta ao armazenamento
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public List<CapaAlbumResponseDTO> confirmarUploads(Long albumId, List<UploadDiretoConfirmacaoDTO.Arquivo> arquivos)
+            throws IOException {
+        exigirUploadDireto();
+        Album album = albumRepo.findById(albumId)
+                .orElseThrow(() -> new IllegalArgumentException("Album não encontrado"));
+        validarQuantidade(arquivos.size());
+
+        String prefixo = prefixoChave(albumId);
+        Set<String> chaves = new HashSet<>();
+        for (UploadDiretoConfirmacaoDTO.Arquivo a : arquivos) {
+            if (!a.getChave().startsWith(prefixo) || !chaves.add(a.getChave())) {
+                throw new IllegalArgumentException("Chave inválida para o álbum: " + a.getChave());
+            }
+        }
+
+        // Consome as reservas; falha se alguma chave não foi reservada,
+        // expirou ou já foi confirmada
+        int consumidas = exclusaoRepo.consumirReservas(bucket, chaves, LocalDateTime.now());
+        if (consumidas != chaves.size()) {
+            throw new IllegalArgumentException("Envio não reservado, expirado ou já confirmado");
+        }
+
+        List<String> copias = new ArrayList<>();
+        List<CapaAlbum> capas = new ArrayList<>();
+        try {
+            for (UploadDiretoConfirmacaoDTO.Arquivo a : arquivos) {
+                String reservada = a.getChave();
+                String nome = a.getNomeArquivo() != null ? a.getNomeArquivo()
+                        : reservada.substring(reservada.lastIndexOf('/') + 1);
+                if (s3.head(bucket, reservada).isEmpty()) {
+                    throw new IllegalArgumentException("Arquivo não enviado: " + reservada);
+                }
+
+                String chave = gerarChave(albumId, nome);
+                s3.copy(bucket, reservada, chave);
+                copias.add(chave);
+                StorageMetadata meta = s3.head(bucket, chave)
+                        .orElseThrow(() -> new IllegalArgumentException("Arquivo não enviado: " + reservada));
+                validarArquivo(meta.contentType(), meta.contentLength());
+
+                CapaAlbum capa = new CapaAlbum();
+                capa.setAlbum(album);
+                capa.setChave(chave);
+                capa.setNomeArquivo(nome);
+                capa.setContentType(meta.contentType());
+                capa.setTamanho(meta.contentLength());
+                capas.add(capa);
+            }
+        } catch (IOException | RuntimeException e) {
+            desfazerAposRollback(copias);
+            throw e;
+        }
+
+        List<CapaAlbum> saved = capaRepo.saveAll(capas);
+        aposCommit(() -> varianteService.gerarEmSegundoPlano(saved));
+        aposCommit(() -> removerReservadas(List.copyOf(chaves)));
+
+        return saved.stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Remove as chaves reservadas de envios já confirmados. Uma falha
+     * não é propagada: a remoção agendada no fim do prazo da reserva
+     * continua pendente.
+     */
+    private void removerReservadas(List<String> chaves) {
+        try {
+            s3.deleteAll(bucket, chaves);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao remover {} chave(s) reservada(s); remoção mantida na fila: {}", chaves.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Rejeita o envio direto quando o armazenamento não o suporta.
+     */
+    private void exigirUploadDireto() {
+        if ("local".equals(tipoArmazenamento)) {
+            throw new FuncionalidadeIndisponivelException(
+                    "Envio direto indisponível com armazenamento local; use POST /api/capas"
+            );
+        }
+    }
+
+    /**
+     * Valida a quantidade de arquivos de um envio.
+     */
+    private void validarQuantidade(int quantidade) {
+        if (quantidade > maxFilesPerUpload) {
+            throw new IllegalArgumentException(
+                    "Limite de arquivos por upload excedido: máximo " + maxFilesPerUpload
+            );
+        }
+    }
+
+    /**
+     * Valida o tipo e o tamanho de um arquivo enviado diretamente.
+     */
+    private void validarArquivo(String contentType, Long tamanho) {
+        if (contentType == null || !contentType.startsWith("image/")) {
+            throw new IllegalArgumentException("Tipo de arquivo não suportado: " + contentType);
+        }
+        if (tamanho == null || tamanho <= 0 || tamanho > tamanhoMaximoUploadDireto) {
+            throw new IllegalArgumentException(
+                    "Tamanho de arquivo inválido: máximo " + tamanhoMaximoUploadDireto + " bytes"
+            );
+        }
+    }
+
+    /**
+     * Executa a ação após o commit da transação corrente
+     * (ou imediatamente, se não houver transação).
+     */
+    private static void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+
+    /**
+     * Envia os arquivos ao S3 concorrentemente, com no máximo
+     * s3.upload.concorrencia uploads simultâneos.
+     *
+     * @param albumId  identificador do álbum (para log)
+     * @param porChave arquivos a enviar, por chave de destino
+     * @param enviados recebe as chaves dos arquivos enviados, inclusive
+     *                 em caso de falha (para que o chamador os desfaça)
+     * @throws IOException se algum upload falhar
+     */
+    private void enviarEmParalelo(Long albumId, Map<String, MultipartFile> porChave, List<String> enviados)
+            throws IOException {
+        Semaphore limite = new Semaphore(Math.max(1, uploadConcorrencia));
+        Throwable falha = null;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> uploads = new ArrayList<>();
+            for (Map.Entry<String, MultipartFile> entry : porChave.entrySet()) {
+                MultipartFile f = entry.getValue();
+                String key = entry.getKey();
+                uploads.add(executor.submit(() -> {
+                    limite.acquire();
+                    try {
+                        log.info(
+                                "Upload de capa - albumId={}, arquivo={}, tamanho={}, contentType={}, key={}",
+                                albumId, f.getOriginalFilename(), f.getSize(), f.getContentType(), key
+                        );
+                        s3.upload(bucket, key, f.getInputStream(), f.getSize(), f.getContentType());
+                        enviados.add(key);
+                    } finally {
+                        limite.release();
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> upload : uploads) {
+                try {
+                    upload.get();
+                } catch (ExecutionException e) {
+                    if (falha == null) falha = e.getCause();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    if (falha == null) falha = e;
+                }
+            }
+        }
+
+        if (falha != null) {
+            if (falha instanceof IOException io) throw io;
+            if (falha instanceof RuntimeException re) throw re;
+            throw new IOException("Falha no upload das capas", falha);
+        }
+    }
+
+    /**
+     * Agenda a remoção dos arquivos enviados por um upload que falhou,
+     * depois do rollback da transação corrente (em uma nova transação, já
+     * que os registros gravados na transação desfeita seriam perdidos).
+     */
+    private void desfazerAposRollback(List<String> enviados) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            desfazerUploads(enviados);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                novaTransacao.executeWithoutResult(t -> desfazerUploads(enviados));
+            }
+        });
+    }
+
+    /**
+     * Agenda a remoção dos arquivos de um upload que não foi concluído.
+     * Arquivos de mesmo conteúdo enviados em paralelo por outra requisição
+     * e já referenciados são preservados (ver excluirArquivos).
+     */
+    private void desfazerUploads(List<String> chaves) {
+        if (chaves.isEmpty()) return;
+        excluirArquivos(chaves);
+    }
+
     /**
      * Lista todas as capas associadas a um álbum.
      *
@@ -156,37 +649,97 @@ public class CapaAlbumService {
      * @return lista de capas do álbum
      */
     public List<CapaAlbumResponseDTO> listarPorAlbum(Long albumId) {
-        return capaRepo.findByAlbumId(albumId)
-                .stream()
-                .map(this::toDto)
+        return listarPorAlbum(albumId, null);
+    }
+
+    /**
+     * Lista as capas de um álbum, usando para cada uma a menor variante
+     * com largura maior ou igual à solicitada. Capas sem variante adequada
+     * (ainda não geradas ou com original menor) são retornadas no original.
+     *
+     * @param albumId identificador do álbum
+     * @param tamanho largura desejada em pixels, ou null para o original
+     * @return lista de capas do álbum
+     */
+    public List<CapaAlbumResponseDTO> listarPorAlbum(Long albumId, Integer tamanho) {
+        List<CapaAlbum> capas = capaRepo.findByAlbumId(albumId);
+        Map<Long, CapaAlbumVariante> variantes = varianteService.escolher(
+                capas.stream().map(CapaAlbum::getId).toList(), tamanho);
+
+        return capas.stream()
+                .map(c -> toDto(c, variantes.get(c.getId())))
                 .collect(Collectors.toList());
     }
 
     /**
      * Exclui uma capa de álbum.
      *
-     * Remove o arquivo do S3 e exclui o registro do banco de dados.
+     * Exclui o registro do banco de dados e, na mesma transação,
+     * agenda a remoção do arquivo no S3 (ver LimpezaArmazenamentoService).
      *
      * @param id identificador da capa do álbum
      */
+    @Transactional
     public void excluir(Long id) {
         Optional<CapaAlbum> oc = capaRepo.findById(id);
         if (oc.isEmpty()) return;
 
         CapaAlbum capa = oc.get();
 
-        // Remove o arquivo do S3
-        s3.delete(bucket, capa.getChave());
-
         // Remove o registro do banco de dados
         capaRepo.delete(capa);
+
+        // Agenda a remoção do arquivo no S3
+        excluirArquivos(List.of(capa.getChave()));
+    }
+
+    /**
+     * Agenda a remoção dos arquivos das chaves informadas.
+     *
+     * Como capas de mesmo conteúdo compartilham a chave, apenas as chaves
+     * que não são mais referenciadas por nenhuma capa são agendadas; a
+     * consulta enxerga as exclusões da transação corrente. Os registros
+     * são gravados na fila de remoções dentro da transação, de modo que só
+     * passam a valer se a exclusão das capas for confirmada, e vencem após
+     * armazenamento.limpeza.carencia, prazo em que um upload concorrente do
+     * mesmo conteúdo já terá gravado sua referência (ver
+     * LimpezaArmazenamentoService). O cache local é invalidado
+     * imediatamente. As chaves das variantes redimensionadas de cada
+     * arquivo também são agendadas.
+     *
+     * @param chaves chaves dos arquivos no armazenamento
+     */
+    public void excluirArquivos(List<String> chaves) {
+        if (chaves.isEmpty()) return;
+
+        Set<String> semReferencia = new LinkedHashSet<>(chaves);
+        capaRepo.findChavesEmUso(semReferencia).forEach(semReferencia::remove);
+        if (semReferencia.isEmpty()) return;
+
+        List<String> todas = new ArrayList<>(semReferencia);
+        semReferencia.forEach(chave -> todas.addAll(varianteService.chavesDerivadas(chave)));
+
+        conteudoCache.invalidar(bucket, todas);
+        todas.forEach(chave -> urlsAssinadas.remove(bucket + "/" + chave));
+
+        LocalDateTime vencimento = LocalDateTime.now().plus(carenciaRemocao);
+        exclusaoRepo.saveAll(todas.stream()
+                .map(chave -> {
+                    ExclusaoArquivoPendente e = new ExclusaoArquivoPendente(bucket, chave);
+                    e.setProximaTentativa(vencimento);
+                    return e;
+                })
+                .toList());
     }
 
     /**
      * Atualiza as capas de um álbum.
      *
      * Permite remover capas existentes e adicionar novas capas
-     * em uma única operação.
+     * em uma única operação. Tudo ocorre em uma única transação: as
+     * exclusões, as remoções agendadas dos seus arquivos e as novas capas
+     * são confirmadas juntas ou desfeitas juntas (inclusive se um upload
+     * falhar).
      *
      * @param albumId identificador do álbum
      * @param arquivosParaAdicionar arquivos que serão adicionados
@@ -194,6 +747,7 @@ public class CapaAlbumService {
      * @return lista de capas adicionadas
      * @throws IOException em caso de erro no upload
      */
+    @Transactional(rollbackFor = IOException.class)
     public List<CapaAlbumResponseDTO> atualizar(
             Long albumId,
             List<MultipartFile> arquivosParaAdicionar,
@@ -243,54 +797,125 @@ public class CapaAlbumService {
      * @return DTO preenchido
      */
     private CapaAlbumResponseDTO toDto(CapaAlbum c) {
+        return toDto(c, null);
+    }
+
+    /**
+     * Converte a entidade CapaAlbum para o DTO de resposta, apontando
+     * para a variante informada quando houver.
+     *
+     * @param c entidade de capa do álbum
+     * @param v variante escolhida, ou null para o original
+     * @return DTO preenchido
+     */
+    private CapaAlbumResponseDTO toDto(CapaAlbum c, CapaAlbumVariante v) {
         CapaAlbumResponseDTO dto = new CapaAlbumResponseDTO();
         dto.setId(c.getId());
         dto.setAlbumId(c.getAlbum().getId());
-        dto.setChave(c.getChave());
         dto.setNomeArquivo(c.getNomeArquivo());
-        dto.setContentType(c.getContentType());
-        dto.setTamanho(c.getTamanho());
         dto.setCreatedAt(c.getCreatedAt());
 
-        // Gera URL pré-assinada com 30 minutos de expiração
+        if (v == null) {
+            dto.setChave(c.getChave());
+            dto.setContentType(c.getContentType());
+            dto.setTamanho(c.getTamanho());
+        } else {
+            dto.setChave(v.getChave());
+            dto.setContentType(v.getContentType());
+            dto.setTamanho(v.getTamanho());
+            dto.setLargura(v.getLargura());
+        }
+
+        // URL de acesso (pré-assinada, reaproveitada do cache, ou proxy da API)
+        dto.setUrl(url(c, v));
+
+        return dto;
+    }
+
+    /**
+     * Monta a URL de acesso a uma capa.
+     *
+     * Com URL base pública configurada, usa a URL pré-assinada com a base
+     * substituída. A URL assinada é reaproveitada até uma margem antes da
+     * expiração, de modo que listagens repetidas não refazem a assinatura.
+     * Sem URL base pública, ou com armazenamento local (que não assina
+     * URLs), usa o endpoint de proxy da API.
+     *
+     * @param c capa do álbum
+     * @param v variante escolhida, ou null para o original
+     * @return URL de acesso ao conteúdo
+     */
+    private String url(CapaAlbum c, CapaAlbumVariante v) {
+        String base = baseUrlPublica();
+        if (base == null || "local".equals(tipoArmazenamento)) {
+            return v == null
+                    ? String.format("/api/capas/%d/conteudo", c.getId())
+                    : String.format("/api/capas/%d/conteudo?tamanho=%d", c.getId(), v.getLargura());
+        }
+
+        String chave = v == null ? c.getChave() : v.getChave();
+        String id = bucket + "/" + chave;
+        Instant agora = clock.instant();
+        UrlAssinada emCache = urlsAssinadas.get(id);
+        if (emCache != null && agora.isBefore(emCache.renovarEm())) {
+            return emCache.url();
+        }
+
         try {
-            String presigned = s3.generatePresignedUrl(
-                    bucket,
-                    c.getChave(),
-                    java.time.Duration.ofMinutes(30)
-            );
+            String presigned = s3.generatePresignedUrl(bucket, chave, validadeUrl);
 
-            // Substitui a base da URL caso exista uma URL pública configurada
-            if (publicBaseUrl != null && !publicBaseUrl.trim().isEmpty()) {
-                try {
-                    java.net.URI p = java.net.URI.create(presigned);
-                    String base = publicBaseUrl.replaceAll("/+$", "");
-                    String replaced = base + p.getRawPath()
-                            + (p.getRawQuery() == null ? "" : "?" + p.getRawQuery());
-                    dto.setUrl(replaced);
-                } catch (Exception e) {
-                    dto.setUrl(presigned);
-                }
-            } else {
-                // Fallback para endpoint da API (proxy)
-                dto.setUrl(String.format("/api/capas/%d/conteudo", c.getId()));
-            }
+            // Substitui a base da URL pela URL pública configurada
+            String url = reescreverBase(presigned, base);
 
+            guardarUrl(id, new UrlAssinada(url, agora.plus(validadeUrl).minus(margemRenovacaoUrl)));
+            return url;
         } catch (Exception ex) {
             // Fallback final para URL pública direta
-            if (publicBaseUrl != null && !publicBaseUrl.trim().isEmpty()) {
-                dto.setUrl(String.format(
-                        "%s/%s/%s",
-                        publicBaseUrl.replaceAll("/+$", ""),
-                        bucket,
-                        c.getChave()
-                ));
-            } else {
-                dto.setUrl(String.format("/api/capas/%d/conteudo", c.getId()));
+            return String.format("%s/%s/%s", base, bucket, chave);
+        }
+    }
+
+    /**
+     * Substitui a base (esquema, host e porta) de uma URL pré-assinada
+     * pela URL pública configurada, mantendo caminho e parâmetros.
+     *
+     * @param presigned URL pré-assinada
+     * @param base URL base pública
+     * @return URL com a base substituída (ou a original, se não puder ser lida)
+     */
+    private static String reescreverBase(String presigned, String base) {
+        try {
+            URI p = URI.create(presigned);
+            return base + p.getRawPath() + (p.getRawQuery() == null ? "" : "?" + p.getRawQuery());
+        } catch (IllegalArgumentException e) {
+            return presigned;
+        }
+    }
+
+    /**
+     * Guarda uma URL no cache, descartando as expiradas quando o limite é atingido.
+     */
+    private void guardarUrl(String id, UrlAssinada url) {
+        if (urlsAssinadas.size() >= maxUrlsEmCache) {
+            Instant agora = clock.instant();
+            urlsAssinadas.values().removeIf(u -> !agora.isBefore(u.renovarEm()));
+            if (urlsAssinadas.size() >= maxUrlsEmCache) {
+                urlsAssinadas.clear();
             }
         }
+        urlsAssinadas.put(id, url);
+    }
 
-        return dto;
+    /**
+     * Retorna a URL base pública sem barras finais, ou null se não configurada.
+     */
+    private String baseUrlPublica() {
+        String base = baseUrlNormalizada;
+        if (base == null) {
+            base = publicBaseUrl == null ? "" : BARRAS_FINAIS.matcher(publicBaseUrl.trim()).replaceAll("");
+            baseUrlNormalizada = base;
+        }
+        return base.isEmpty() ? null : base;
     }
 
     /**
@@ -300,19 +925,32 @@ public class CapaAlbumService {
      * @return DTO da capa ou null se não encontrada
      */
     public CapaAlbumResponseDTO findById(Long id) {
+        return findById(id, null);
+    }
+
+    /**
+     * Busca uma capa pelo ID, apontando para a menor variante com
+     * largura maior ou igual à solicitada, quando existir.
+     *
+     * @param id identificador da capa
+     * @param tamanho largura desejada em pixels, ou null para o original
+     * @return DTO da capa ou null se não encontrada
+     */
+    public CapaAlbumResponseDTO findById(Long id, Integer tamanho) {
         Optional<CapaAlbum> oc = capaRepo.findById(id);
         if (oc.isEmpty()) return null;
-        return toDto(oc.get());
+        return toDto(oc.get(), varianteService.escolher(id, tamanho).orElse(null));
     }
 
     /**
-     * Realiza o download do conteúdo da capa diretamente do S3.
+     * Abre o conteúdo de uma capa para leitura em streaming.
      *
-     * @param key chave do arquivo no S3
-     * @return conteúdo do arquivo em bytes
-     * @throws IOException em caso de erro no download
+     * @param key   chave do arquivo no armazenamento
+     * @param range intervalo no formato do cabeçalho HTTP Range, ou null
+     * @return conteúdo aberto; deve ser fechado após a leitura
+     * @throws IOException em caso de falha ao abrir o arquivo
      */
-    public byte[] downloadContent(String key) throws IOException {
-        return s3.download(bucket, key);
+    public StorageObject abrirConteudo(String key, String range) throws IOException {
+        return s3.openStream(bucket, key, range);
     }
 }
@@ -0,0 +1,324 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import br.com.seuorg.artistas_api.domain.entity.CapaAlbum;
+import br.com.seuorg.artistas_api.domain.entity.CapaAlbumVariante;
+import br.com.seuorg.artistas_api.domain.repository.CapaAlbumVarianteRepository;
+import br.com.seuorg.artistas_api.storage.S3StorageService;
+import br.com.seuorg.artistas_api.storage.StorageObject;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serviço responsável pelas variantes redimensionadas (miniaturas) das capas.
+ *
+ * Após o upload, cada capa é lida do armazenamento e reduzida para as
+ * larguras configuradas em capas.variantes.larguras (sem ampliar imagens
+ * menores). As variantes são gravadas em JPEG, sob uma chave derivada da
+ * chave original, e registradas na tabela capas_album_variantes.
+ *
+ * Capas de mesmo conteúdo compartilham a chave do original e, portanto,
+ * as chaves das variantes: quando outra capa já tem as variantes geradas,
+ * os registros são copiados sem reprocessar a imagem.
+ *
+ * A geração roda em segundo plano, em um pool de threads limitado por
+ * capas.variantes.threads, para não atrasar a resposta do upload.
+ */
+@Slf4j
+@Service
+public class CapaVarianteService {
+
+    /** Tipo de conteúdo das variantes */
+    private static final String CONTENT_TYPE = "image/jpeg";
+
+    /** Qualidade da compressão JPEG das variantes */
+    private static final float QUALIDADE_JPEG = 0.85f;
+
+    /** Repositório das variantes */
+    private final CapaAlbumVarianteRepository varianteRepo;
+
+    /** Serviço de armazenamento */
+    private final S3StorageService s3;
+
+    /** Bucket das capas */
+    private final String bucket;
+
+    /** Larguras das variantes, em ordem crescente */
+    private final List<Integer> larguras;
+
+    /** Indica se a geração de variantes está habilitada */
+    private final boolean enabled;
+
+    /** Pool de threads da geração em segundo plano */
+    private final ExecutorService executor;
+
+    /**
+     * Construtor com injeção de dependências.
+     *
+     * @param varianteRepo repositório das variantes
+     * @param s3 serviço de armazenamento
+     * @param bucket bucket das capas
+     * @param larguras larguras das variantes em pixels
+     * @param enabled habilita a geração de variantes
+     * @param threads quantidade de threads da geração
+     */
+    public CapaVarianteService(
+            CapaAlbumVarianteRepository varianteRepo,
+            S3StorageService s3,
+            @Value("${s3.bucket}") String bucket,
+            @Value("${capas.variantes.larguras:128,512}") List<Integer> larguras,
+            @Value("${capas.variantes.enabled:true}") boolean enabled,
+            @Value("${capas.variantes.threads:2}") int threads
+    ) {
+        this.varianteRepo = varianteRepo;
+        this.s3 = s3;
+        this.bucket = bucket;
+        this.larguras = larguras.stream().sorted().distinct().toList();
+        this.enabled = enabled;
+        this.executor = Executors.newFixedThreadPool(
+                Math.max(1, threads),
+                Thread.ofPlatform().name("capa-variantes-", 0).daemon().factory()
+        );
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    /**
+     * Agenda a geração das variantes das capas informadas.
+     *
+     * @param capas capas recém-criadas
+     */
+    public void gerarEmSegundoPlano(List<CapaAlbum> capas) {
+        if (!enabled) return;
+        for (CapaAlbum capa : capas) {
+            executor.execute(() -> {
+                try {
+                    gerar(capa);
+                } catch (Exception e) {
+                    log.warn("Falha ao gerar variantes da capa id={}: {}", capa.getId(), e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Gera, armazena e registra as variantes de uma capa.
+     *
+     * @param capa capa original
+     * @return variantes geradas (vazio se o arquivo não for uma imagem
+     *         ou já for menor que todas as larguras)
+     * @throws IOException em caso de falha na leitura ou no upload
+     */
+    public List<CapaAlbumVariante> gerar(CapaAlbum capa) throws IOException {
+        List<CapaAlbumVariante> existentes = varianteRepo.findByChaveIn(chavesDerivadas(capa.getChave()));
+        if (!existentes.isEmpty()) {
+            return reaproveitar(capa, existentes);
+        }
+
+        BufferedImage original;
+        try (StorageObject objeto = s3.openStream(bucket, capa.getChave(), null)) {
+            original = ImageIO.read(objeto.content());
+        }
+        if (original == null) {
+            log.info("Capa id={} não é uma imagem suportada; variantes não geradas", capa.getId());
+            return List.of();
+        }
+
+        List<CapaAlbumVariante> variantes = new ArrayList<>();
+        for (int largura : larguras) {
+            // Não amplia imagens menores que a variante
+            if (original.getWidth() <= largura) break;
+
+            BufferedImage reduzida = redimensionar(original, largura);
+            byte[] jpeg = codificarJpeg(reduzida);
+            String chave = chaveVariante(capa.getChave(), largura);
+            s3.upload(bucket, chave, new ByteArrayInputStream(jpeg), jpeg.length, CONTENT_TYPE);
+
+            CapaAlbumVariante v = new CapaAlbumVariante();
+            v.setCapa(capa);
+            v.setLargura(largura);
+            v.setAltura(reduzida.getHeight());
+            v.setChave(chave);
+            v.setContentType(CONTENT_TYPE);
+            v.setTamanho((long) jpeg.length);
+            variantes.add(v);
+        }
+        if (variantes.isEmpty()) return variantes;
+
+        try {
+            return varianteRepo.saveAll(variantes);
+        } catch (DataIntegrityViolationException e) {
+            // A capa foi removida durante a geração: descarta os arquivos gerados
+            // que não são compartilhados com outra capa de mesmo conteúdo
+            List<String> chaves = new ArrayList<>(variantes.stream().map(CapaAlbumVariante::getChave).toList());
+            chaves.removeAll(varianteRepo.findChavesEmUso(chaves));
+            if (!chaves.isEmpty()) {
+                s3.deleteAll(bucket, chaves);
+            }
+            log.info("Capa id={} removida durante a geração das variantes", capa.getId());
+            return List.of();
+        }
+    }
+
+    /**
+     * Registra para a capa as variantes já geradas para outra capa
+     * de mesmo conteúdo, apontando para os mesmos arquivos.
+     */
+    private List<CapaAlbumVariante> reaproveitar(CapaAlbum capa, List<CapaAlbumVariante> existentes) {
+        Map<Integer, CapaAlbumVariante> porLargura = new TreeMap<>();
+        for (CapaAlbumVariante e : existentes) {
+            porLargura.computeIfAbsent(e.getLargura(), l -> {
+                CapaAlbumVariante v = new CapaAlbumVariante();
+                v.setCapa(capa);
+                v.setLargura(l);
+                v.setAltura(e.getAltura());
+                v.setChave(e.getChave());
+                v.setContentType(e.getContentType());
+                v.setTamanho(e.getTamanho());
+                return v;
+            });
+        }
+
+        try {
+            return varianteRepo.saveAll(new ArrayList<>(porLargura.values()));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Capa id={} removida durante a geração das variantes", capa.getId());
+            return List.of();
+        }
+    }
+
+    /**
+     * Escolhe a menor variante com largura maior ou igual à solicitada.
+     *
+     * @param capaId identificador da capa
+     * @param tamanho largura desejada em pixels, ou null para o original
+     * @return variante escolhida, ou vazio para usar o original
+     */
+    public Optional<CapaAlbumVariante> escolher(Long capaId, Integer tamanho) {
+        if (tamanho == null) return Optional.empty();
+        return varianteRepo.findByCapaIdOrderByLarguraAsc(capaId).stream()
+                .filter(v -> v.getLargura() >= tamanho)
+                .findFirst();
+    }
+
+    /**
+     * Escolhe, em uma única consulta, a variante adequada de cada capa.
+     *
+     * @param capaIds identificadores das capas
+     * @param tamanho largura desejada em pixels, ou null para o original
+     * @return variante escolhida por ID de capa (capas sem variante adequada ficam de fora)
+     */
+    public Map<Long, CapaAlbumVariante> escolher(Collection<Long> capaIds, Integer tamanho) {
+        Map<Long, CapaAlbumVariante> escolhidas = new HashMap<>();
+        if (tamanho == null || capaIds.isEmpty()) return escolhidas;
+
+        for (CapaAlbumVariante v : varianteRepo.findByCapaIdInOrderByLarguraAsc(capaIds)) {
+            if (v.getLargura() >= tamanho) {
+                escolhidas.putIfAbsent(v.getCapa().getId(), v);
+            }
+        }
+        return escolhidas;
+    }
+
+    /**
+     * Retorna as chaves de todas as variantes possíveis de uma capa,
+     * usadas na remoção dos arquivos do armazenamento.
+     *
+     * @param chave chave do arquivo original
+     * @return chaves derivadas
+     */
+    public List<String> chavesDerivadas(String chave) {
+        return larguras.stream().map(l -> chaveVariante(chave, l)).toList();
+    }
+
+    /**
+     * Gera a chave da variante, ao lado do arquivo original.
+     * Ex: capas-album/albums/1/capa-uuid.png -> capas-album/albums/1/capa-uuid_128w.jpg
+     *
+     * @param chave chave do arquivo original
+     * @param largura largura da variante
+     * @return chave da variante
+     */
+    static String chaveVariante(String chave, int largura) {
+        int barra = chave.lastIndexOf('/');
+        int ponto = chave.lastIndexOf('.');
+        String base = ponto > barra ? chave.substring(0, ponto) : chave;
+        return base + "_" + largura + "w.jpg";
+    }
+
+    /**
+     * Reduz a imagem para a largura informada, mantendo a proporção.
+     * Reduções grandes são feitas em etapas de no máximo metade do tamanho,
+     * o que preserva a qualidade com interpolação bilinear.
+     */
+    private static BufferedImage redimensionar(BufferedImage original, int largura) {
+        int alturaFinal = Math.max(1, Math.round((float) original.getHeight() * largura / original.getWidth()));
+        BufferedImage atual = original;
+        int w = original.getWidth();
+        int h = original.getHeight();
+
+        do {
+            w = Math.max(largura, w / 2);
+            h = w == largura ? alturaFinal : Math.max(alturaFinal, h / 2);
+
+            // JPEG não tem transparência: desenha sobre fundo branco em RGB
+            BufferedImage proxima = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = proxima.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(atual, 0, 0, w, h, Color.WHITE, null);
+            } finally {
+                g.dispose();
+            }
+            atual = proxima;
+        } while (w > largura);
+
+        return atual;
+    }
+
+    /**
+     * Codifica a imagem em JPEG com a qualidade configurada.
+     */
+    private static byte[] codificarJpeg(BufferedImage imagem) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(QUALIDADE_JPEG);
+            writer.write(null, new IIOImage(imagem, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
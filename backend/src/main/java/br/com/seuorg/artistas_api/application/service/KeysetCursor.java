@@ -0,0 +1,83 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import br.com.seuorg.artistas_api.application.dto.CursorPageDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cursor de paginação por chave (keyset) baseado no par (nome, id).
+ *
+ * O token enviado ao cliente é opaco: "id:nome" codificado em Base64 URL-safe.
+ *
+ * @param nome nome do último registro da página
+ * @param id identificador do último registro da página
+ */
+record KeysetCursor(String nome, Long id) {
+
+    /** Tamanho de página padrão */
+    static final int TAMANHO_PADRAO = 20;
+
+    /** Tamanho de página máximo */
+    static final int TAMANHO_MAXIMO = 100;
+
+    /**
+     * Codifica o cursor como token opaco.
+     *
+     * @return token Base64 URL-safe
+     */
+    String encode() {
+        String raw = id + ":" + nome;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um token recebido do cliente.
+     *
+     * @param token token opaco (pode ser nulo ou vazio para a primeira página)
+     * @return cursor decodificado ou null para a primeira página
+     * @throws IllegalArgumentException se o token for inválido
+     */
+    static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            return new KeysetCursor(raw.substring(sep + 1), Long.parseLong(raw.substring(0, sep)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    /**
+     * Ajusta o tamanho de página solicitado ao intervalo permitido.
+     *
+     * @param size tamanho solicitado
+     * @return tamanho entre 1 e {@link #TAMANHO_MAXIMO}
+     */
+    static int tamanho(int size) {
+        if (size <= 0) return TAMANHO_PADRAO;
+        return Math.min(size, TAMANHO_MAXIMO);
+    }
+
+    /**
+     * Monta a página de resposta a partir das linhas lidas.
+     *
+     * As consultas leem {@code tamanho + 1} linhas: a linha extra apenas indica
+     * que existe uma próxima página, dispensando a consulta de contagem.
+     *
+     * @param linhas linhas retornadas pela consulta (até tamanho + 1)
+     * @param tamanho tamanho da página
+     * @param chave função que extrai o cursor de um item
+     * @param <T> tipo dos itens
+     * @return página com o token da próxima página, se houver
+     */
+    static <T> CursorPageDTO<T> pagina(List<T> linhas, int tamanho, Function<T, KeysetCursor> chave) {
+        boolean hasNext = linhas.size() > tamanho;
+        List<T> content = hasNext ? linhas.subList(0, tamanho) : linhas;
+        String next = hasNext ? chave.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(List.copyOf(content), next, hasNext);
+    }
+}
@@ -0,0 +1,252 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import br.com.seuorg.artistas_api.domain.entity.ExclusaoArquivoPendente;
+import br.com.seuorg.artistas_api.domain.repository.CapaAlbumRepository;
+import br.com.seuorg.artistas_api.domain.repository.CapaAlbumVarianteRepository;
+import br.com.seuorg.artistas_api.domain.repository.ExclusaoArquivoPendenteRepository;
+import br.com.seuorg.artistas_api.storage.S3StorageService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço responsável por consumir a fila de arquivos pendentes de remoção
+ * (tabela exclusoes_arquivo_pendentes) e removê-los do armazenamento.
+ *
+ * Os registros são processados em lotes, agrupados por bucket e removidos
+ * com uma única chamada em lote ao S3. Em caso de falha, o lote é
+ * reagendado com backoff exponencial. A remoção é idempotente, então
+ * processar o mesmo registro mais de uma vez não causa problemas.
+ *
+ * Cada lote é reivindicado e processado em uma única transação, com os
+ * registros bloqueados (FOR UPDATE SKIP LOCKED): várias réplicas podem
+ * processar a fila ao mesmo tempo sem repetir o trabalho umas das outras.
+ *
+ * Arquivos de capas são compartilhados por conteúdo: antes da remoção,
+ * as chaves que voltaram a ser referenciadas por alguma capa ou variante
+ * são descartadas da fila sem tocar no armazenamento. Um novo envio do
+ * mesmo conteúdo cancela as remoções pendentes na sua transação,
+ * esperando o lote em processamento (ver CapaAlbumService.criar).
+ *
+ * O tamanho da fila é exposto na métrica "armazenamento.limpeza.pendentes".
+ */
+@Slf4j
+@Service
+public class LimpezaArmazenamentoService {
+
+    /** Repositório da fila de remoções pendentes */
+    private final ExclusaoArquivoPendenteRepository repository;
+
+    /** Serviço de armazenamento S3 */
+    private final S3StorageService s3;
+
+    /** Repositório das capas, para verificar referências */
+    private final CapaAlbumRepository capaRepo;
+
+    /** Repositório das variantes, para verificar referências */
+    private final CapaAlbumVarianteRepository varianteRepo;
+
+    /** Transação de cada lote (reivindicação, remoção e baixa dos registros) */
+    private final TransactionTemplate transacao;
+
+    /** Indica se o processamento agendado está habilitado */
+    private final boolean enabled;
+
+    /** Quantidade de registros processados por lote */
+    private final int tamanhoLote;
+
+    /** Intervalo de espera após a primeira falha */
+    private final long backoffInicialMs;
+
+    /** Intervalo máximo de espera entre tentativas */
+    private final long backoffMaximoMs;
+
+    /** Último tamanho conhecido da fila, publicado como métrica */
+    private final AtomicLong pendentes = new AtomicLong();
+
+    /**
+     * Construtor com injeção de dependências.
+     *
+     * @param repository repositório da fila de remoções
+     * @param s3 serviço de armazenamento
+     * @param capaRepo repositório das capas
+     * @param varianteRepo repositório das variantes
+     * @param transactionManager gerenciador das transações dos lotes
+     * @param meterRegistry registro de métricas
+     * @param enabled habilita a execução agendada
+     * @param tamanhoLote quantidade de registros por lote
+     * @param backoffInicialMs espera após a primeira falha
+     * @param backoffMaximoMs espera máxima entre tentativas
+     */
+    public LimpezaArmazenamentoService(
+            ExclusaoArquivoPendenteRepository repository,
+            S3StorageService s3,
+            CapaAlbumRepository capaRepo,
+            CapaAlbumVarianteRepository varianteRepo,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${armazenamento.limpeza.enabled:true}") boolean enabled,
+            @Value("${armazenamento.limpeza.tamanho-lote:500}") int tamanhoLote,
+            @Value("${armazenamento.limpeza.backoff-inicial-ms:30000}") long backoffInicialMs,
+            @Value("${armazenamento.limpeza.backoff-maximo-ms:3600000}") long backoffMaximoMs
+    ) {
+        this.repository = repository;
+        this.s3 = s3;
+        this.capaRepo = capaRepo;
+        this.varianteRepo = varianteRepo;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.tamanhoLote = tamanhoLote;
+        this.backoffInicialMs = backoffInicialMs;
+        this.backoffMaximoMs = backoffMaximoMs;
+
+        Gauge.builder("armazenamento.limpeza.pendentes", pendentes, AtomicLong::get)
+                .description("Arquivos aguardando remoção no armazenamento")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Execução agendada do processamento da fila.
+     */
+    @Scheduled(
+            initialDelayString = "${armazenamento.limpeza.atraso-inicial-ms:10000}",
+            fixedDelayString = "${armazenamento.limpeza.intervalo-ms:10000}"
+    )
+    public void processarAgendado() {
+        if (!enabled) return;
+
+        try {
+            processar();
+        } catch (Exception e) {
+            log.error("Falha no processamento da fila de remoção de arquivos: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Processa, em lotes, todos os registros cuja próxima tentativa já venceu.
+     *
+     * @return quantidade de arquivos removidos
+     */
+    public int processar() {
+        int removidos = 0;
+
+        while (true) {
+            ResultadoLote resultado = transacao.execute(status -> processarLote());
+            removidos += resultado.removidos();
+
+            // Lote incompleto: não há mais registros prontos
+            if (resultado.tamanho() < tamanhoLote) break;
+        }
+
+        pendentes.set(repository.count());
+        if (removidos > 0) {
+            log.info("Fila de remoção de arquivos: {} removidos, {} pendentes", removidos, pendentes.get());
+        }
+        return removidos;
+    }
+
+    /** Tamanho de um lote reivindicado e quantidade de registros removidos */
+    private record ResultadoLote(int tamanho, int removidos) {}
+
+    /**
+     * Reivindica e processa um lote, dentro da transação corrente.
+     *
+     * @return tamanho do lote e quantidade de registros removidos
+     */
+    private ResultadoLote processarLote() {
+        List<ExclusaoArquivoPendente> lote =
+                repository.findProntas(LocalDateTime.now(), PageRequest.of(0, tamanhoLote));
+
+        int removidos = 0;
+        Map<String, List<ExclusaoArquivoPendente>> porBucket = lote.stream()
+                .collect(Collectors.groupingBy(ExclusaoArquivoPendente::getBucket));
+
+        for (Map.Entry<String, List<ExclusaoArquivoPendente>> entry : porBucket.entrySet()) {
+            List<ExclusaoArquivoPendente> itens = entry.getValue();
+            try {
+                List<String> chaves = semReferencia(itens);
+                if (!chaves.isEmpty()) {
+                    s3.deleteAll(entry.getKey(), chaves);
+                }
+                repository.deleteAllByIdInBatch(itens.stream().map(ExclusaoArquivoPendente::getId).toList());
+                removidos += itens.size();
+            } catch (RuntimeException e) {
+                log.warn("Falha ao remover {} arquivos do bucket {}; nova tentativa agendada: {}",
+                        itens.size(), entry.getKey(), e.getMessage());
+                reagendar(itens, e);
+            }
+        }
+
+        return new ResultadoLote(lote.size(), removidos);
+    }
+
+    /**
+     * Retorna as chaves dos itens que não são mais referenciadas
+     * por nenhuma capa ou variante.
+     */
+    private List<String> semReferencia(List<ExclusaoArquivoPendente> itens) {
+        Set<String> chaves = new HashSet<>();
+        itens.forEach(item -> chaves.add(item.getChave()));
+
+        Set<String> emUso = new HashSet<>(capaRepo.findChavesEmUso(chaves));
+        emUso.addAll(varianteRepo.findChavesEmUso(chaves));
+
+        return itens.stream()
+                .map(ExclusaoArquivoPendente::getChave)
+                .filter(chave -> !emUso.contains(chave))
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Retorna o último tamanho conhecido da fila.
+     *
+     * @return quantidade de arquivos pendentes
+     */
+    public long getPendentes() {
+        return pendentes.get();
+    }
+
+    /**
+     * Incrementa as tentativas e agenda a próxima com backoff exponencial.
+     */
+    private void reagendar(List<ExclusaoArquivoPendente> itens, RuntimeException erro) {
+        LocalDateTime agora = LocalDateTime.now();
+        String mensagem = erro.getMessage() == null ? erro.getClass().getName() : erro.getMessage();
+        if (mensagem.length() > 1024) {
+            mensagem = mensagem.substring(0, 1024);
+        }
+
+        for (ExclusaoArquivoPendente item : itens) {
+            item.setTentativas(item.getTentativas() + 1);
+            item.setProximaTentativa(agora.plusNanos(backoff(item.getTentativas()) * 1_000_000L));
+            item.setUltimoErro(mensagem);
+        }
+        repository.saveAll(itens);
+    }
+
+    /**
+     * Calcula a espera antes da próxima tentativa (dobra a cada falha, até o máximo).
+     *
+     * @param tentativas quantidade de falhas já ocorridas
+     * @return espera em milissegundos
+     */
+    long backoff(int tentativas) {
+        int expoente = Math.min(Math.max(tentativas - 1, 0), 30);
+        return Math.min(backoffInicialMs << expoente, backoffMaximoMs);
+    }
+}
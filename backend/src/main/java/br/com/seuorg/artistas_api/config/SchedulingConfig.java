@@ -0,0 +1,13 @@
+package br.com.seuorg.artistas_api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Classe de configuração que habilita a execução de tarefas agendadas
+ * (ex: reconciliação periódica de contadores).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
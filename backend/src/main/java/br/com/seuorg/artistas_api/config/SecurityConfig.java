@@ -1,10 +1,17 @@
 package br.com.seuorg.artistas_api.config;
 
 import br.com.seuorg.artistas_api.domain.repository.UsuarioRepository;
+import br.com.seuorg.artistas_api.ratelimit.DistributedRateLimitSynchronizer;
+import br.com.seuorg.artistas_api.ratelimit.RateLimitPolicy;
+import br.com.seuorg.artistas_api.ratelimit.RateLimitProperties;
+import br.com.seuorg.artistas_api.ratelimit.RateLimitingFilter;
 import br.com.seuorg.artistas_api.security.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -22,10 +29,11 @@ import java.util.List;
  * Classe de configuração de segurança da aplicação.
  *
  * Responsável por configurar autenticação, autorização,
- * CORS, política de sessão e o filtro JWT.
+ * CORS, política de sessão, o filtro JWT e o rate limit por rota.
  */
 @Configuration
 @EnableMethodSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     // Repositório de usuários (usado pelo contexto de segurança)
@@ -102,7 +110,10 @@ public class SecurityConfig {
      * @throws Exception em caso de erro de configuração
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   RateLimitProperties rateLimitProperties,
+                                                   ObjectProvider<DistributedRateLimitSynchronizer> rateLimitSynchronizer,
+                                                   MeterRegistry meterRegistry) throws Exception {
 
         // Cria o filtro responsável por validar o JWT nas requisições
         var jwtFilter = new br.com.seuorg.artistas_api.security.JwtAuthenticationFilter(jwtUtil);
@@ -173,20 +184,29 @@ public class SecurityConfig {
                     org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.class
             )
 
-            // (Rate limiting) Nota: o rate limit global foi removido — o limite de notificações é aplicado internamente no serviço de notificações.
-
             // Desabilita autenticação HTTP Basic
             .httpBasic().disable()
 
             // Desabilita formulário de login padrão
             .formLogin().disable();
 
+        // Rate limit por rota; registrado após o filtro JWT para limitar pelo usuário autenticado
+        if (rateLimitProperties.enabled()) {
+            var rateLimitFilter = new RateLimitingFilter(
+                    RateLimitPolicy.de(rateLimitProperties, meterRegistry, rateLimitSynchronizer.getIfAvailable()),
+                    rateLimitProperties.ignorados()
+            );
+            http.addFilterAfter(rateLimitFilter, br.com.seuorg.artistas_api.security.JwtAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 
     @Bean
-    public br.com.seuorg.artistas_api.notification.NotificationRateLimiter notificationRateLimiter() {
+    public br.com.seuorg.artistas_api.notification.NotificationRateLimiter notificationRateLimiter(MeterRegistry meterRegistry) {
         // 10 notificações por janela de 60 segundos
-        return new br.com.seuorg.artistas_api.notification.NotificationRateLimiter(10, 60);
+        var limiter = new br.com.seuorg.artistas_api.notification.NotificationRateLimiter(10, 60);
+        limiter.registrarMetricas(meterRegistry);
+        return limiter;
     }
 }
@@ -1,6 +1,7 @@
 package br.com.seuorg.artistas_api.controller;
 
 import br.com.seuorg.artistas_api.application.dto.AlbumCreateDTO;
+import br.com.seuorg.artistas_api.application.dto.CursorPageDTO;
 import br.com.seuorg.artistas_api.application.dto.AlbumResponseDTO;
 import br.com.seuorg.artistas_api.application.service.AlbumService;
 import jakarta.validation.Valid;
@@ -46,6 +47,21 @@ public class AlbumController {
         return ResponseEntity.ok(albumService.listarTodos(pageable));
     }
 
+    /**
+     * Lista álbuns por cursor (keyset), sem consulta de contagem.
+     * Indicado para percorrer o catálogo inteiro.
+     *
+     * @param cursor Token retornado pela página anterior (omitir na primeira página)
+     * @param size Quantidade de registros por página (default 20, máximo 100)
+     * @return Página com o token da próxima página
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<AlbumResponseDTO>> listarPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(albumService.listarPorCursor(cursor, size));
+    }
+
     /**
      * Obtém um álbum pelo seu ID.
      *
@@ -1,7 +1,9 @@
 package br.com.seuorg.artistas_api.controller;
 
 import br.com.seuorg.artistas_api.application.dto.ArtistaCreateDTO;
+import br.com.seuorg.artistas_api.application.dto.CursorPageDTO;
 import br.com.seuorg.artistas_api.application.dto.ArtistaResponseDTO;
+import br.com.seuorg.artistas_api.application.dto.ArtistaSugestaoDTO;
 import br.com.seuorg.artistas_api.application.service.ArtistaService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.List;
 
 /**
  * Controller responsável por expor os endpoints REST
@@ -46,6 +49,21 @@ public class ArtistaController {
         return ResponseEntity.ok(artistaService.listarTodos(pageable));
     }
 
+    /**
+     * Lista artistas por cursor (keyset), sem consulta de contagem.
+     * Indicado para percorrer o catálogo inteiro.
+     *
+     * @param cursor Token retornado pela página anterior (omitir na primeira página)
+     * @param size Quantidade de registros por página (default 20, máximo 100)
+     * @return Página com o token da próxima página
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<ArtistaResponseDTO>> listarPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(artistaService.listarPorCursor(cursor, size));
+    }
+
     /**
      * Obtém um artista pelo seu ID.
      *
@@ -87,6 +105,20 @@ public class ArtistaController {
         );
     }
 
+    /**
+     * Sugere artistas pelo prefixo do nome (autocomplete).
+     *
+     * @param prefixo Prefixo do nome (ou de uma palavra do nome) do artista
+     * @param limite Quantidade máxima de sugestões (default 10)
+     * @return Lista de sugestões
+     */
+    @GetMapping("/sugestoes")
+    public ResponseEntity<List<ArtistaSugestaoDTO>> sugestoes(
+            @RequestParam String prefixo,
+            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(artistaService.sugerir(prefixo, limite));
+    }
+
     /**
      * Cadastra um novo artista.
      *
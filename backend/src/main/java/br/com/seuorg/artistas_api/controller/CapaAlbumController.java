@@ -1,13 +1,30 @@
 package br.com.seuorg.artistas_api.controller;
 
 import br.com.seuorg.artistas_api.application.dto.CapaAlbumResponseDTO;
+import br.com.seuorg.artistas_api.application.dto.UploadDiretoConfirmacaoDTO;
+import br.com.seuorg.artistas_api.application.dto.UploadDiretoRequestDTO;
+import br.com.seuorg.artistas_api.application.dto.UploadDiretoResponseDTO;
 import br.com.seuorg.artistas_api.application.service.CapaAlbumService;
+import br.com.seuorg.artistas_api.storage.RangeNotSatisfiableException;
+import br.com.seuorg.artistas_api.storage.StorageObject;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneId;
 import java.util.List;
 
 /**
@@ -23,6 +40,17 @@ public class CapaAlbumController {
     /** Service responsável pelas regras de negócio das capas de álbuns */
     private final CapaAlbumService capaService;
 
+    /** Cache do conteúdo das capas: público e imutável, por um ano */
+    private static final CacheControl CACHE_CONTEUDO =
+            CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    /** Atributo em que o Tomcat indica suporte a sendfile no conector */
+    private static final String SENDFILE_SUPORTADO = "org.apache.tomcat.sendfile.support";
+
+    /** Cache do original servido no lugar de uma variante ainda não gerada */
+    private static final CacheControl CACHE_PROVISORIO =
+            CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
     public CapaAlbumController(CapaAlbumService capaService) {
         this.capaService = capaService;
     }
@@ -48,17 +76,51 @@ public class CapaAlbumController {
         return ResponseEntity.ok(dto);
     }
 
+    /**
+     * Solicita URLs para envio direto de capas ao armazenamento.
+     *
+     * Cada arquivo recebe uma chave reservada e uma URL pré-assinada; o
+     * cliente envia o conteúdo com PUT para essa URL (com o Content-Type
+     * e o tamanho declarados) e depois confirma o envio.
+     *
+     * @param dto álbum e arquivos que serão enviados
+     * @return chaves reservadas e URLs de envio
+     */
+    @PostMapping("/upload-direto")
+    public ResponseEntity<List<UploadDiretoResponseDTO>> reservarUploadDireto(
+            @Valid @RequestBody UploadDiretoRequestDTO dto
+    ) {
+        return ResponseEntity.ok(capaService.reservarUploads(dto.getAlbumId(), dto.getArquivos()));
+    }
+
+    /**
+     * Confirma o envio direto de capas e as associa ao álbum.
+     *
+     * @param dto álbum e chaves dos arquivos enviados
+     * @return lista de capas criadas
+     * @throws IOException em caso de falha na consulta ao armazenamento
+     */
+    @PostMapping("/upload-direto/confirmar")
+    public ResponseEntity<List<CapaAlbumResponseDTO>> confirmarUploadDireto(
+            @Valid @RequestBody UploadDiretoConfirmacaoDTO dto
+    ) throws IOException {
+        return ResponseEntity.ok(capaService.confirmarUploads(dto.getAlbumId(), dto.getArquivos()));
+    }
+
     /**
      * Lista todas as capas associadas a um álbum.
      *
      * @param albumId identificador do álbum
+     * @param tamanho largura desejada em pixels (opcional); quando informada,
+     *                as capas apontam para a menor variante que a atenda
      * @return lista de capas do álbum
      */
     @GetMapping("/album/{albumId}")
     public ResponseEntity<List<CapaAlbumResponseDTO>> listarPorAlbum(
-            @PathVariable Long albumId
+            @PathVariable Long albumId,
+            @RequestParam(required = false) Integer tamanho
     ) {
-        return ResponseEntity.ok(capaService.listarPorAlbum(albumId));
+        return ResponseEntity.ok(capaService.listarPorAlbum(albumId, tamanho));
     }
 
     /**
@@ -79,18 +141,131 @@ public class CapaAlbumController {
     /**
      * Retorna o conteúdo binário da capa (proxy via API).
      * Útil para ambientes em que o host do S3/MinIO não é acessível diretamente pelo navegador.
+     *
+     * O conteúdo é copiado do armazenamento direto para a resposta, sem ser
+     * carregado inteiramente em memória. Suporta um único intervalo no
+     * cabeçalho Range (206 Partial Content); intervalos múltiplos ou
+     * inválidos são ignorados e o arquivo inteiro é retornado. Com o
+     * armazenamento local, o arquivo é entregue pelo Tomcat com sendfile
+     * (cópia feita pelo kernel), quando o conector suporta.
+     *
+     * Como cada upload recebe uma chave nova, o conteúdo de uma chave nunca
+     * muda: a resposta é marcada como imutável e o ETag é derivado da chave.
+     * Requisições condicionais (If-None-Match / If-Modified-Since) são
+     * respondidas com 304 sem acessar o armazenamento.
+     *
+     * Com o parâmetro tamanho, é servida a menor variante redimensionada
+     * que o atenda. Enquanto a variante não existir, o original é servido
+     * com cache curto, para que a variante seja usada assim que gerada.
+     *
+     * @param id      identificador da capa do álbum
+     * @param tamanho largura desejada em pixels (opcional)
+     * @param range   cabeçalho Range da requisição (opcional)
+     * @param ifRange cabeçalho If-Range da requisição (opcional)
+     * @param request requisição, usada na avaliação das condições de cache e no sendfile
+     * @return conteúdo da capa
+     * @throws IOException em caso de erro ao abrir o arquivo
      */
     @GetMapping("/{id}/conteudo")
-    public ResponseEntity<byte[]> conteudo(@PathVariable Long id) throws IOException {
-        CapaAlbumResponseDTO dto = capaService.findById(id);
+    public ResponseEntity<StreamingResponseBody> conteudo(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer tamanho,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            WebRequest request
+    ) throws IOException {
+        CapaAlbumResponseDTO dto = capaService.findById(id, tamanho);
         if (dto == null) return ResponseEntity.notFound().build();
 
-        byte[] bytes = capaService.downloadContent(dto.getChave());
-        String ct = dto.getContentType() == null ? "application/octet-stream" : dto.getContentType();
-        return ResponseEntity.ok()
-                .header("Cache-Control", "no-cache")
-                .header("Content-Type", ct)
-                .body(bytes);
+        CacheControl cache = tamanho != null && dto.getLargura() == null ? CACHE_PROVISORIO : CACHE_CONTEUDO;
+
+        String etag = etag(dto.getChave());
+        long lastModified = dto.getCreatedAt() == null ? -1
+                : dto.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        // 304: ETag e Last-Modified já foram escritos por checkNotModified
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cache)
+                    .build();
+        }
+
+        // If-Range com outro validador: devolve o arquivo inteiro
+        if (ifRange != null && !ifRange.equals(etag)) {
+            range = null;
+        }
+
+        StorageObject objeto;
+        try {
+            objeto = capaService.abrirConteudo(dto.getChave(), intervaloUnico(range));
+        } catch (RangeNotSatisfiableException e) {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+            if (dto.getTamanho() != null) {
+                builder.header(HttpHeaders.CONTENT_RANGE, "bytes */" + dto.getTamanho());
+            }
+            return builder.build();
+        }
+
+        String ct = dto.getContentType() != null ? dto.getContentType()
+                : objeto.contentType() != null ? objeto.contentType()
+                : "application/octet-stream";
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity
+                .status(objeto.isPartial() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .cacheControl(cache)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_TYPE, ct)
+                .contentLength(objeto.contentLength());
+        if (objeto.isPartial()) {
+            builder.header(HttpHeaders.CONTENT_RANGE, objeto.contentRange());
+        }
+
+        // Arquivo local: o Tomcat envia a região com sendfile, sem passar pela JVM
+        if (objeto.regiao() != null && objeto.contentLength() > 0
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPORTADO, RequestAttributes.SCOPE_REQUEST))) {
+            StorageObject.RegiaoArquivo regiao = objeto.regiao();
+            objeto.close();
+            request.setAttribute("org.apache.tomcat.sendfile.filename",
+                    regiao.arquivo().toString(), RequestAttributes.SCOPE_REQUEST);
+            request.setAttribute("org.apache.tomcat.sendfile.start",
+                    regiao.inicio(), RequestAttributes.SCOPE_REQUEST);
+            request.setAttribute("org.apache.tomcat.sendfile.end",
+                    regiao.inicio() + objeto.contentLength(), RequestAttributes.SCOPE_REQUEST);
+            return builder.build();
+        }
+
+        return builder.body(out -> {
+            try (objeto) {
+                objeto.content().transferTo(out);
+            }
+        });
+    }
+
+    /**
+     * Gera um ETag forte a partir da chave do arquivo no armazenamento.
+     *
+     * @param chave chave do arquivo
+     * @return ETag entre aspas
+     */
+    private static String etag(String chave) {
+        return "\"" + DigestUtils.md5DigestAsHex(chave.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Normaliza o cabeçalho Range, aceitando apenas um intervalo.
+     *
+     * @param range valor do cabeçalho Range
+     * @return intervalo no formato "bytes=inicio-fim", ou null para o arquivo inteiro
+     */
+    private static String intervaloUnico(String range) {
+        if (range == null || range.isBlank()) return null;
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(range);
+            return ranges.size() == 1 ? HttpRange.toString(ranges) : null;
+        } catch (IllegalArgumentException e) {
+            // Range inválido é ignorado (RFC 9110)
+            return null;
+        }
     }
 
     /**
@@ -28,8 +28,11 @@ public class Album {
     @Column(nullable = false)
     private String nome;
 
-    /** Relação Many-to-One com Artista */
-    @ManyToOne
+    /**
+     * Relação Many-to-One com Artista (carregamento sob demanda).
+     * As listagens obtêm os dados do artista via JOIN nas consultas do AlbumRepository.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "artista_id", nullable = false)
     private Artista artista;
 
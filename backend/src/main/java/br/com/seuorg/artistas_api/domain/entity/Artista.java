@@ -31,6 +31,15 @@ public class Artista {
     @OneToMany(mappedBy = "artista", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Album> albuns;
 
+    /**
+     * Quantidade de álbuns do artista (contador desnormalizado).
+     * Mantido pelos serviços de álbum e corrigido periodicamente pela reconciliação,
+     * sempre por UPDATE atômico; não é regravado ao salvar a entidade, para que
+     * uma edição do artista não sobrescreva incrementos concorrentes.
+     */
+    @Column(name = "album_count", nullable = false, updatable = false)
+    private Long albumCount = 0L;
+
     /** Data de criação do registro, preenchida automaticamente */
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
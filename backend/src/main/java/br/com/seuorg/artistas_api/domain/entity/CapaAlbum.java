@@ -21,9 +21,15 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class CapaAlbum {
 
-    /** Identificador único da capa do álbum */
+    /**
+     * Identificador único da capa do álbum.
+     *
+     * Usa a sequência da coluna (com incremento 50) em vez de IDENTITY,
+     * para que várias capas possam ser inseridas em um único lote.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "capas_album_id_seq")
+    @SequenceGenerator(name = "capas_album_id_seq", sequenceName = "capas_album_id_seq", allocationSize = 50)
     private Long id;
 
     /** Álbum ao qual a capa pertence */
@@ -46,6 +52,13 @@ public class CapaAlbum {
     /** Tamanho do arquivo em bytes */
     private Long tamanho;
 
+    /**
+     * Hash SHA-256 do conteúdo, em hexadecimal. Capas com o mesmo conteúdo
+     * compartilham a mesma chave no armazenamento.
+     */
+    @Column(name = "hash_sha256", length = 64)
+    private String hashSha256;
+
     /** Data e hora de criação do registro */
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,68 @@
+package br.com.seuorg.artistas_api.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que representa uma variante redimensionada de uma capa de álbum.
+ *
+ * Esta classe mapeia a tabela "capas_album_variantes". Cada variante é
+ * gerada a partir do arquivo original após o upload e armazenada sob uma
+ * chave derivada da chave original.
+ */
+@Entity
+@Table(name = "capas_album_variantes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapaAlbumVariante {
+
+    /** Identificador único da variante */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Capa original da qual a variante foi gerada */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "capa_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private CapaAlbum capa;
+
+    /** Largura da variante em pixels */
+    @Column(nullable = false)
+    private Integer largura;
+
+    /** Altura da variante em pixels */
+    @Column(nullable = false)
+    private Integer altura;
+
+    /** Chave do arquivo da variante no armazenamento */
+    @Column(nullable = false, length = 1024)
+    private String chave;
+
+    /** Tipo de conteúdo do arquivo (MIME type) */
+    @Column(name = "content_type")
+    private String contentType;
+
+    /** Tamanho do arquivo em bytes */
+    private Long tamanho;
+
+    /** Data e hora de criação do registro */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Define automaticamente a data de criação antes
+     * da persistência do registro.
+     */
+    @PrePersist
+    private void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.seuorg.artistas_api.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que representa um arquivo pendente de remoção no armazenamento.
+ *
+ * Esta classe mapeia a tabela "exclusoes_arquivo_pendentes", usada como
+ * outbox: o registro é gravado na mesma transação que remove a capa do
+ * banco, e o arquivo é removido do S3 posteriormente, em segundo plano.
+ */
+@Entity
+@Table(name = "exclusoes_arquivo_pendentes")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExclusaoArquivoPendente {
+
+    /** Identificador único do registro */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Bucket onde o arquivo está armazenado */
+    @Column(nullable = false)
+    private String bucket;
+
+    /** Chave do arquivo no armazenamento */
+    @Column(nullable = false, length = 1024)
+    private String chave;
+
+    /** Quantidade de tentativas de remoção que falharam */
+    @Column(nullable = false)
+    private int tentativas;
+
+    /** Data e hora a partir da qual a remoção pode ser tentada */
+    @Column(name = "proxima_tentativa", nullable = false)
+    private LocalDateTime proximaTentativa;
+
+    /**
+     * Indica uma reserva de envio direto ainda não confirmada
+     * (ver CapaAlbumService.reservarUploads)
+     */
+    @Column(nullable = false)
+    private boolean reserva;
+
+    /** Mensagem do último erro ocorrido na remoção */
+    @Column(name = "ultimo_erro", length = 1024)
+    private String ultimoErro;
+
+    /** Data e hora de criação do registro */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Cria um registro pendente para remoção imediata.
+     *
+     * @param bucket bucket do arquivo
+     * @param chave chave do arquivo
+     */
+    public ExclusaoArquivoPendente(String bucket, String chave) {
+        this.bucket = bucket;
+        this.chave = chave;
+    }
+
+    /**
+     * Define automaticamente a data de criação e a primeira
+     * tentativa antes da persistência do registro.
+     */
+    @PrePersist
+    private void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        if (this.proximaTentativa == null) {
+            this.proximaTentativa = this.createdAt;
+        }
+    }
+}
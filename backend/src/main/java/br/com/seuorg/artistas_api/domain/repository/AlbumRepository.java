@@ -1,13 +1,16 @@
 package br.com.seuorg.artistas_api.domain.repository;
 
+import br.com.seuorg.artistas_api.application.dto.AlbumResponseDTO;
 import br.com.seuorg.artistas_api.domain.entity.Album;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositório para operações de banco de dados da entidade Album.
@@ -32,6 +35,7 @@ public interface AlbumRepository extends JpaRepository<Album, Long> {
 
     /**
      * Busca álbuns pelo nome, ignorando maiúsculas/minúsculas e permitindo correspondência parcial.
+     * No PostgreSQL a expressão LOWER(nome) LIKE é atendida pelo índice GIN de trigramas idx_albuns_nome_trgm.
      * @param nome Nome ou parte do nome do álbum
      * @param pageable Objeto de paginação
      * @return Página de álbuns que correspondem ao nome
@@ -39,6 +43,46 @@ public interface AlbumRepository extends JpaRepository<Album, Long> {
     @Query("SELECT a FROM Album a WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
     Page<Album> findByNomeContainingIgnoreCase(@Param("nome") String nome, Pageable pageable);
 
+    /**
+     * Busca um álbum pelo ID já carregando o artista associado (fetch join).
+     * @param id ID do álbum
+     * @return Optional com o álbum e seu artista
+     */
+    @Query("SELECT a FROM Album a JOIN FETCH a.artista WHERE a.id = :id")
+    Optional<Album> findByIdWithArtista(@Param("id") Long id);
+
+    /**
+     * Retorna uma página de álbuns já com os dados do artista, em uma única consulta.
+     * @param pageable Objeto de paginação
+     * @return Página de DTOs de álbuns
+     */
+    @Query(value = "SELECT new br.com.seuorg.artistas_api.application.dto.AlbumResponseDTO(a.id, a.nome, ar.id, ar.nome, a.createdAt, a.updatedAt) " +
+            "FROM Album a JOIN a.artista ar",
+            countQuery = "SELECT COUNT(a) FROM Album a")
+    Page<AlbumResponseDTO> findAllWithArtista(Pageable pageable);
+
+    /**
+     * Retorna uma página de álbuns de um artista já com os dados do artista, em uma única consulta.
+     * @param artistaId ID do artista
+     * @param pageable Objeto de paginação
+     * @return Página de DTOs de álbuns
+     */
+    @Query(value = "SELECT new br.com.seuorg.artistas_api.application.dto.AlbumResponseDTO(a.id, a.nome, ar.id, ar.nome, a.createdAt, a.updatedAt) " +
+            "FROM Album a JOIN a.artista ar WHERE ar.id = :artistaId",
+            countQuery = "SELECT COUNT(a) FROM Album a WHERE a.artista.id = :artistaId")
+    Page<AlbumResponseDTO> findByArtistaIdWithArtista(@Param("artistaId") Long artistaId, Pageable pageable);
+
+    /**
+     * Busca álbuns pelo nome (case-insensitive) já com os dados do artista, em uma única consulta.
+     * @param nome Nome ou parte do nome do álbum
+     * @param pageable Objeto de paginação
+     * @return Página de DTOs de álbuns
+     */
+    @Query(value = "SELECT new br.com.seuorg.artistas_api.application.dto.AlbumResponseDTO(a.id, a.nome, ar.id, ar.nome, a.createdAt, a.updatedAt) " +
+            "FROM Album a JOIN a.artista ar WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%'))",
+            countQuery = "SELECT COUNT(a) FROM Album a WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
+    Page<AlbumResponseDTO> findByNomeWithArtista(@Param("nome") String nome, Pageable pageable);
+
     /**
      * Conta quantos álbuns um determinado artista possui.
      * @param artistaId ID do artista
@@ -46,4 +90,36 @@ public interface AlbumRepository extends JpaRepository<Album, Long> {
      */
     @Query("SELECT COUNT(a) FROM Album a WHERE a.artista.id = :artistaId")
     Long countByArtistaId(@Param("artistaId") Long artistaId);
+
+    /**
+     * Remove, em uma única instrução, todos os álbuns de um artista.
+     * As capas devem ser removidas antes (ver CapaAlbumRepository.deleteByArtistaId).
+     * @param artistaId ID do artista
+     * @return Quantidade de álbuns removidos
+     */
+    @Modifying
+    @Query("DELETE FROM Album a WHERE a.artista.id = :artistaId")
+    int deleteByArtistaId(@Param("artistaId") Long artistaId);
+
+    /**
+     * Retorna a primeira página da listagem por cursor, ordenada por (nome, id).
+     * Não executa consulta de contagem.
+     * @param pageable Limite de linhas (a página é sempre a 0)
+     * @return Lista de DTOs de álbuns
+     */
+    @Query("SELECT new br.com.seuorg.artistas_api.application.dto.AlbumResponseDTO(a.id, a.nome, ar.id, ar.nome, a.createdAt, a.updatedAt) " +
+            "FROM Album a JOIN a.artista ar ORDER BY a.nome ASC, a.id ASC")
+    List<AlbumResponseDTO> findFirstKeysetPage(Pageable pageable);
+
+    /**
+     * Retorna a página seguinte ao cursor (nome, id), ordenada por (nome, id).
+     * A comparação de tupla permite ao PostgreSQL usar o índice idx_albuns_nome_id.
+     * @param nome Nome do último álbum da página anterior
+     * @param id ID do último álbum da página anterior
+     * @param pageable Limite de linhas (a página é sempre a 0)
+     * @return Lista de DTOs de álbuns
+     */
+    @Query("SELECT new br.com.seuorg.artistas_api.application.dto.AlbumResponseDTO(a.id, a.nome, ar.id, ar.nome, a.createdAt, a.updatedAt) " +
+            "FROM Album a JOIN a.artista ar WHERE (a.nome, a.id) > (:nome, :id) ORDER BY a.nome ASC, a.id ASC")
+    List<AlbumResponseDTO> findKeysetPageAfter(@Param("nome") String nome, @Param("id") Long id, Pageable pageable);
 }
@@ -1,17 +1,25 @@
 package br.com.seuorg.artistas_api.domain.repository;
 
+import br.com.seuorg.artistas_api.application.dto.ArtistaResponseDTO;
+import br.com.seuorg.artistas_api.application.dto.ArtistaSugestaoDTO;
 import br.com.seuorg.artistas_api.domain.entity.Artista;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 /**
  * Repositório para operações de banco de dados da entidade Artista.
  * Extende JpaRepository para fornecer CRUD básico e consultas personalizadas.
+ *
+ * As buscas por nome usam a expressão LOWER(nome) LIKE '%termo%', que no PostgreSQL
+ * é atendida pelo índice GIN de trigramas idx_artistas_nome_trgm (migração V10).
+ * Em outros bancos (ex: H2 nos testes) a mesma consulta é executada sem o índice.
  */
 public interface ArtistaRepository extends JpaRepository<Artista, Long> {
 
@@ -20,14 +28,16 @@ public interface ArtistaRepository extends JpaRepository<Artista, Long> {
      * @param nome Nome ou parte do nome do artista
      * @return Lista de artistas ordenada ascendentemente
      */
-    List<Artista> findByNomeContainingIgnoreCaseOrderByNomeAsc(String nome);
+    @Query("SELECT a FROM Artista a WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%')) ORDER BY a.nome ASC")
+    List<Artista> findByNomeContainingIgnoreCaseOrderByNomeAsc(@Param("nome") String nome);
 
     /**
      * Busca artistas pelo nome (case-insensitive) e retorna a lista ordenada por nome descendente.
      * @param nome Nome ou parte do nome do artista
      * @return Lista de artistas ordenada descendentemente
      */
-    List<Artista> findByNomeContainingIgnoreCaseOrderByNomeDesc(String nome);
+    @Query("SELECT a FROM Artista a WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%')) ORDER BY a.nome DESC")
+    List<Artista> findByNomeContainingIgnoreCaseOrderByNomeDesc(@Param("nome") String nome);
 
     /**
      * Retorna todos os artistas paginados.
@@ -53,4 +63,135 @@ public interface ArtistaRepository extends JpaRepository<Artista, Long> {
      */
     @Query("SELECT a FROM Artista a WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%')) ORDER BY a.nome DESC")
     Page<Artista> findByNomeContainingIgnoreCaseDesc(@Param("nome") String nome, Pageable pageable);
+
+    /**
+     * Retorna todos os artistas paginados já com a quantidade de álbuns de cada um.
+     * A contagem vem do contador desnormalizado, evitando uma consulta extra por artista.
+     * @param pageable Objeto de paginação
+     * @return Página de DTOs de artistas com a contagem de álbuns
+     */
+    @Query(value = "SELECT new br.com.seuorg.artistas_api.application.dto.ArtistaResponseDTO(a.id, a.nome, a.albumCount, a.createdAt, a.updatedAt) " +
+            "FROM Artista a",
+            countQuery = "SELECT COUNT(a) FROM Artista a")
+    Page<ArtistaResponseDTO> findAllWithAlbumCount(Pageable pageable);
+
+    /**
+     * Busca artistas pelo nome (case-insensitive), com a contagem de álbuns, em página ordenada por nome ascendente.
+     * @param nome Nome ou parte do nome do artista
+     * @param pageable Objeto de paginação
+     * @return Página de DTOs de artistas ordenada ascendentemente
+     */
+    @Query(value = "SELECT new br.com.seuorg.artistas_api.application.dto.ArtistaResponseDTO(a.id, a.nome, a.albumCount, a.createdAt, a.updatedAt) " +
+            "FROM Artista a " +
+            "WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%')) " +
+            "ORDER BY a.nome ASC",
+            countQuery = "SELECT COUNT(a) FROM Artista a WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
+    Page<ArtistaResponseDTO> findByNomeWithAlbumCountAsc(@Param("nome") String nome, Pageable pageable);
+
+    /**
+     * Busca artistas pelo nome (case-insensitive), com a contagem de álbuns, em página ordenada por nome descendente.
+     * @param nome Nome ou parte do nome do artista
+     * @param pageable Objeto de paginação
+     * @return Página de DTOs de artistas ordenada descendentemente
+     */
+    @Query(value = "SELECT new br.com.seuorg.artistas_api.application.dto.ArtistaResponseDTO(a.id, a.nome, a.albumCount, a.createdAt, a.updatedAt) " +
+            "FROM Artista a " +
+            "WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%')) " +
+            "ORDER BY a.nome DESC",
+            countQuery = "SELECT COUNT(a) FROM Artista a WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
+    Page<ArtistaResponseDTO> findByNomeWithAlbumCountDesc(@Param("nome") String nome, Pageable pageable);
+
+    /**
+     * Busca artistas pelo nome (case-insensitive), com a contagem de álbuns, ordenados por nome ascendente.
+     * @param nome Nome ou parte do nome do artista
+     * @return Lista de DTOs de artistas ordenada ascendentemente
+     */
+    @Query("SELECT new br.com.seuorg.artistas_api.application.dto.ArtistaResponseDTO(a.id, a.nome, a.albumCount, a.createdAt, a.updatedAt) " +
+            "FROM Artista a " +
+            "WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%')) " +
+            "ORDER BY a.nome ASC")
+    List<ArtistaResponseDTO> findByNomeWithAlbumCountOrderByNomeAsc(@Param("nome") String nome);
+
+    /**
+     * Busca artistas pelo nome (case-insensitive), com a contagem de álbuns, ordenados por nome descendente.
+     * @param nome Nome ou parte do nome do artista
+     * @return Lista de DTOs de artistas ordenada descendentemente
+     */
+    @Query("SELECT new br.com.seuorg.artistas_api.application.dto.ArtistaResponseDTO(a.id, a.nome, a.albumCount, a.createdAt, a.updatedAt) " +
+            "FROM Artista a " +
+            "WHERE LOWER(a.nome) LIKE LOWER(CONCAT('%', :nome, '%')) " +
+            "ORDER BY a.nome DESC")
+    List<ArtistaResponseDTO> findByNomeWithAlbumCountOrderByNomeDesc(@Param("nome") String nome);
+
+    /**
+     * Retorna a primeira página da listagem por cursor, ordenada por (nome, id).
+     * Não executa consulta de contagem.
+     * @param pageable Limite de linhas (a página é sempre a 0)
+     * @return Lista de DTOs de artistas
+     */
+    @Query("SELECT new br.com.seuorg.artistas_api.application.dto.ArtistaResponseDTO(a.id, a.nome, a.albumCount, a.createdAt, a.updatedAt) " +
+            "FROM Artista a ORDER BY a.nome ASC, a.id ASC")
+    List<ArtistaResponseDTO> findFirstKeysetPage(Pageable pageable);
+
+    /**
+     * Retorna a página seguinte ao cursor (nome, id), ordenada por (nome, id).
+     * A comparação de tupla permite ao PostgreSQL usar o índice idx_artistas_nome_id.
+     * @param nome Nome do último artista da página anterior
+     * @param id ID do último artista da página anterior
+     * @param pageable Limite de linhas (a página é sempre a 0)
+     * @return Lista de DTOs de artistas
+     */
+    @Query("SELECT new br.com.seuorg.artistas_api.application.dto.ArtistaResponseDTO(a.id, a.nome, a.albumCount, a.createdAt, a.updatedAt) " +
+            "FROM Artista a WHERE (a.nome, a.id) > (:nome, :id) ORDER BY a.nome ASC, a.id ASC")
+    List<ArtistaResponseDTO> findKeysetPageAfter(@Param("nome") String nome, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Retorna apenas o ID e o nome de todos os artistas.
+     * Utilizado para carregar o índice de sugestões em memória.
+     * @return Lista de pares ID/nome
+     */
+    @Query("SELECT new br.com.seuorg.artistas_api.application.dto.ArtistaSugestaoDTO(a.id, a.nome) FROM Artista a")
+    List<ArtistaSugestaoDTO> findAllSugestoes();
+
+    /**
+     * Remove o artista diretamente com uma instrução DELETE,
+     * sem carregar a entidade nem percorrer a coleção de álbuns.
+     * @param id ID do artista
+     * @return Quantidade de registros removidos
+     */
+    @Modifying
+    @Query("DELETE FROM Artista a WHERE a.id = :id")
+    int bulkDeleteById(@Param("id") Long id);
+
+    /**
+     * Soma um valor ao contador de álbuns do artista de forma atômica no banco.
+     * @param id ID do artista
+     * @param delta Valor a somar (negativo para decrementar)
+     * @return Quantidade de registros atualizados
+     */
+    @Modifying
+    @Query("UPDATE Artista a SET a.albumCount = a.albumCount + :delta WHERE a.id = :id")
+    int incrementAlbumCount(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * Retorna o próximo lote de IDs de artistas após o ID informado, em ordem crescente.
+     * Utilizado para percorrer a tabela em lotes (keyset) durante a reconciliação.
+     * @param lastId Último ID processado
+     * @param pageable Tamanho do lote
+     * @return Lista de IDs do lote
+     */
+    @Query("SELECT a.id FROM Artista a WHERE a.id > :lastId ORDER BY a.id ASC")
+    List<Long> findIdsAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * Recalcula o contador de álbuns dos artistas informados, atualizando apenas os que divergem.
+     * Cada chamada executa em sua própria transação.
+     * @param ids IDs dos artistas do lote
+     * @return Quantidade de artistas corrigidos
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Artista a SET a.albumCount = (SELECT COUNT(al) FROM Album al WHERE al.artista.id = a.id) " +
+            "WHERE a.id IN :ids AND a.albumCount <> (SELECT COUNT(al) FROM Album al WHERE al.artista.id = a.id)")
+    int reconcileAlbumCount(@Param("ids") List<Long> ids);
 }
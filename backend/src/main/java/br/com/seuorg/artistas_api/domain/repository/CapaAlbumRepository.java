@@ -2,7 +2,11 @@ package br.com.seuorg.artistas_api.domain.repository;
 
 import br.com.seuorg.artistas_api.domain.entity.CapaAlbum;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -21,4 +25,33 @@ public interface CapaAlbumRepository extends JpaRepository<CapaAlbum, Long> {
      * @return lista de capas do álbum
      */
     List<CapaAlbum> findByAlbumId(Long albumId);
+
+    /**
+     * Recupera as chaves de armazenamento de todas as capas dos álbuns de um artista.
+     *
+     * @param artistaId identificador do artista
+     * @return lista de chaves no armazenamento
+     */
+    @Query("SELECT c.chave FROM CapaAlbum c WHERE c.album.artista.id = :artistaId")
+    List<String> findChavesByArtistaId(@Param("artistaId") Long artistaId);
+
+    /**
+     * Remove, em uma única instrução, todas as capas dos álbuns de um artista.
+     *
+     * @param artistaId identificador do artista
+     * @return quantidade de capas removidas
+     */
+    @Modifying
+    @Query("DELETE FROM CapaAlbum c WHERE c.album.id IN (SELECT a.id FROM Album a WHERE a.artista.id = :artistaId)")
+    int deleteByArtistaId(@Param("artistaId") Long artistaId);
+
+    /**
+     * Recupera, entre as chaves informadas, as que ainda são referenciadas
+     * por alguma capa (arquivos compartilhados por conteúdo).
+     *
+     * @param chaves chaves no armazenamento
+     * @return chaves em uso
+     */
+    @Query("SELECT DISTINCT c.chave FROM CapaAlbum c WHERE c.chave IN :chaves")
+    List<String> findChavesEmUso(@Param("chaves") Collection<String> chaves);
 }
@@ -0,0 +1,51 @@
+package br.com.seuorg.artistas_api.domain.repository;
+
+import br.com.seuorg.artistas_api.domain.entity.CapaAlbumVariante;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório das variantes redimensionadas das capas de álbum.
+ */
+public interface CapaAlbumVarianteRepository extends JpaRepository<CapaAlbumVariante, Long> {
+
+    /**
+     * Recupera as variantes de uma capa, da menor para a maior.
+     *
+     * @param capaId identificador da capa
+     * @return variantes da capa
+     */
+    List<CapaAlbumVariante> findByCapaIdOrderByLarguraAsc(Long capaId);
+
+    /**
+     * Recupera, em uma única consulta, as variantes de várias capas,
+     * da menor para a maior.
+     *
+     * @param capaIds identificadores das capas
+     * @return variantes das capas
+     */
+    List<CapaAlbumVariante> findByCapaIdInOrderByLarguraAsc(Collection<Long> capaIds);
+
+    /**
+     * Recupera as variantes armazenadas nas chaves informadas
+     * (de outras capas com o mesmo conteúdo).
+     *
+     * @param chaves chaves no armazenamento
+     * @return variantes encontradas
+     */
+    List<CapaAlbumVariante> findByChaveIn(Collection<String> chaves);
+
+    /**
+     * Recupera, entre as chaves informadas, as que ainda são referenciadas
+     * por alguma variante.
+     *
+     * @param chaves chaves no armazenamento
+     * @return chaves em uso
+     */
+    @Query("SELECT DISTINCT v.chave FROM CapaAlbumVariante v WHERE v.chave IN :chaves")
+    List<String> findChavesEmUso(@Param("chaves") Collection<String> chaves);
+}
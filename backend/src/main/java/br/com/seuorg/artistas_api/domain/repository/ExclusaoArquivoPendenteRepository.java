@@ -0,0 +1,70 @@
+package br.com.seuorg.artistas_api.domain.repository;
+
+import br.com.seuorg.artistas_api.domain.entity.ExclusaoArquivoPendente;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório da fila de arquivos pendentes de remoção no armazenamento.
+ */
+public interface ExclusaoArquivoPendenteRepository extends JpaRepository<ExclusaoArquivoPendente, Long> {
+
+    /**
+     * Reivindica um lote de registros cuja próxima tentativa já venceu,
+     * dos mais antigos para os mais recentes.
+     *
+     * Os registros são bloqueados com FOR UPDATE SKIP LOCKED até o fim da
+     * transação (obrigatória): registros já reivindicados por outra
+     * instância são ignorados, de modo que réplicas processam lotes
+     * disjuntos sem esperar umas pelas outras.
+     *
+     * @param agora data e hora de referência
+     * @param pageable tamanho do lote
+     * @return registros prontos para processamento
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM ExclusaoArquivoPendente e WHERE e.proximaTentativa <= :agora ORDER BY e.proximaTentativa, e.id")
+    List<ExclusaoArquivoPendente> findProntas(@Param("agora") LocalDateTime agora, Pageable pageable);
+
+    /**
+     * Consome as reservas de envio direto das chaves informadas, desde que
+     * o prazo de confirmação ainda não tenha vencido. A remoção agendada
+     * é mantida: a chave reservada é removida no fim do prazo, depois da
+     * validade da URL de envio. Uma reserva só pode ser consumida uma vez.
+     *
+     * @param bucket nome do bucket
+     * @param chaves chaves dos arquivos
+     * @param agora data e hora de referência
+     * @return quantidade de reservas consumidas
+     */
+    @Modifying
+    @Query("UPDATE ExclusaoArquivoPendente e SET e.reserva = false WHERE e.bucket = :bucket AND e.chave IN :chaves AND e.reserva = true AND e.proximaTentativa > :agora")
+    int consumirReservas(@Param("bucket") String bucket, @Param("chaves") Collection<String> chaves, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Cancela as remoções pendentes de arquivos que voltaram a ser usados.
+     *
+     * Registros reivindicados por um lote em processamento bloqueiam a
+     * operação até o fim desse lote; os cancelados ficam bloqueados até
+     * o fim da transação corrente (e são ignorados pela limpeza).
+     *
+     * @param bucket nome do bucket
+     * @param chaves chaves dos arquivos
+     * @return quantidade de remoções canceladas
+     */
+    @Modifying
+    @Query("DELETE FROM ExclusaoArquivoPendente e WHERE e.bucket = :bucket AND e.chave IN :chaves")
+    int cancelarExclusoes(@Param("bucket") String bucket, @Param("chaves") Collection<String> chaves);
+}
@@ -0,0 +1,13 @@
+package br.com.seuorg.artistas_api.exception;
+
+/**
+ * Lançada quando a funcionalidade solicitada não está disponível
+ * na configuração atual da aplicação (ex: envio direto com
+ * armazenamento local). Respondida com 501 Not Implemented.
+ */
+public class FuncionalidadeIndisponivelException extends RuntimeException {
+
+    public FuncionalidadeIndisponivelException(String message) {
+        super(message);
+    }
+}
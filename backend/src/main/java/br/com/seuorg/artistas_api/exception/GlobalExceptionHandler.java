@@ -69,6 +69,27 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Trata funcionalidades indisponíveis na configuração atual.
+     *
+     * Diferente de um recurso inexistente (404), a rota existe, mas
+     * não é atendida por esta instalação.
+     */
+    @ExceptionHandler(FuncionalidadeIndisponivelException.class)
+    public ResponseEntity<ErrorResponse> handleFuncionalidadeIndisponivelException(
+            FuncionalidadeIndisponivelException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.NOT_IMPLEMENTED.value(),
+                "Not Implemented",
+                ex.getMessage(),
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_IMPLEMENTED);
+    }
+
     /**
      * Trata exceções de validação automática (@Valid).
      *
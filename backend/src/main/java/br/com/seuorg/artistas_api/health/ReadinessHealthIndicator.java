@@ -1,39 +1,47 @@
 package br.com.seuorg.artistas_api.health;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
 
 /**
  * HealthIndicator customizado para o grupo "readiness".
  *
  * Verifica conectividade com o banco de dados (executando SELECT 1)
- * e, opcionalmente, se o endpoint S3/MinIO está acessível (HEAD request).
+ * e, opcionalmente, se o S3/MinIO está acessível (HeadBucket no bucket
+ * padrão, usando o cliente S3 compartilhado da aplicação).
  *
  * A checagem de S3 é controlada pela propriedade `s3.readiness-check-enabled`
- * (padrão: false) para evitar falhas em ambientes de teste sem MinIO.
+ * (padrão: false) para evitar falhas em ambientes de teste sem MinIO, e
+ * é ignorada com o armazenamento local (sem cliente S3).
  */
 @Component
 public class ReadinessHealthIndicator implements HealthIndicator {
 
+    /** Tempo máximo da verificação do S3, para não travar a sonda */
+    private static final Duration TIMEOUT_S3 = Duration.ofMillis(800);
+
     private final JdbcTemplate jdbcTemplate;
     private final boolean s3CheckEnabled;
-    private final String s3Endpoint;
+    private final S3Client s3;
+    private final String bucket;
 
     public ReadinessHealthIndicator(JdbcTemplate jdbcTemplate,
                                     @Value("${s3.readiness-check-enabled:false}") boolean s3CheckEnabled,
-                                    @Value("${s3.endpoint:}") String s3Endpoint) {
+                                    ObjectProvider<S3Client> s3,
+                                    @Value("${s3.bucket}") String bucket) {
         this.jdbcTemplate = jdbcTemplate;
         this.s3CheckEnabled = s3CheckEnabled;
-        this.s3Endpoint = s3Endpoint;
+        this.s3 = s3.getIfAvailable();
+        this.bucket = bucket;
     }
 
     @Override
@@ -46,19 +54,17 @@ public class ReadinessHealthIndicator implements HealthIndicator {
         }
 
         // Verifica S3/MinIO apenas se habilitado explicitamente
-        if (s3CheckEnabled && s3Endpoint != null && !s3Endpoint.isBlank()) {
+        if (s3CheckEnabled && s3 != null) {
             try {
-                HttpClient client = HttpClient.newBuilder()
-                        .connectTimeout(Duration.ofMillis(800))
-                        .build();
-                HttpRequest req = HttpRequest.newBuilder()
-                        .uri(URI.create(s3Endpoint))
-                        .method("HEAD", HttpRequest.BodyPublishers.noBody())
-                        .timeout(Duration.ofMillis(800))
-                        .build();
-                HttpResponse<Void> resp = client.send(req, HttpResponse.BodyHandlers.discarding());
-                if (resp.statusCode() >= 500) {
-                    return Health.down().withDetail("s3", "status=" + resp.statusCode()).build();
+                s3.headBucket(HeadBucketRequest.builder()
+                        .bucket(bucket)
+                        .overrideConfiguration(c -> c.apiCallTimeout(TIMEOUT_S3))
+                        .build());
+            } catch (S3Exception e) {
+                // O S3 respondeu: apenas erros de servidor indicam indisponibilidade
+                // (ex: 404 quando o bucket ainda será criado no primeiro upload)
+                if (e.statusCode() >= 500) {
+                    return Health.down().withDetail("s3", "status=" + e.statusCode()).build();
                 }
             } catch (Exception e) {
                 return Health.down().withDetail("s3", e.getMessage()).build();
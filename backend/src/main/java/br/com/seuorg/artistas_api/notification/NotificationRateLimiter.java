@@ -1,9 +1,11 @@
 package br.com.seuorg.artistas_api.notification;
 
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import br.com.seuorg.artistas_api.ratelimit.RateLimitKeyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
  * Classe responsável por limitar a quantidade de notificações
@@ -12,49 +14,83 @@ import java.util.concurrent.atomic.AtomicInteger;
  * Evita que um mesmo usuário receba muitas notificações em um
  * curto período, funcionando como um rate limiter simples
  * baseado em contagem.
+ *
+ * Não há bloqueios: o estado de cada usuário (início da janela e
+ * contador) fica em um único AtomicLong, atualizado por compare-and-set,
+ * de modo que usuários diferentes nunca disputam o mesmo monitor e o
+ * envio de notificações escala com a quantidade de núcleos.
  */
 public class NotificationRateLimiter {
 
+    /** Bits do contador no estado; os demais guardam o início da janela (ms) */
+    private static final int BITS_CONTADOR = 20;
+
+    private static final long MASCARA_CONTADOR = (1L << BITS_CONTADOR) - 1;
+
+    /** Limite máximo de notificações por janela representável no estado */
+    public static final int MAX_NOTIFICACOES = (int) MASCARA_CONTADOR;
+
     /**
      * Número máximo de notificações permitidas dentro da janela de tempo
      */
     private final int maxNotifications;
 
     /**
-     * Duração da janela de tempo, em segundos
+     * Duração da janela de tempo, em milissegundos
      */
-    private final int windowSeconds;
+    private final long windowMillis;
 
     /**
-     * Representa a janela de contagem de um usuário específico
+     * Estado por usuário: início da janela (ms desde a criação do limitador)
+     * nos bits altos e notificações enviadas na janela nos 20 bits baixos.
+     * Usuários sem notificações por uma janela inteira são descartados
+     * (a janela seria reiniciada de qualquer forma), e a quantidade de
+     * usuários mantidos é limitada.
      */
-    private static class Window {
+    private final RateLimitKeyStore<AtomicLong> windows;
 
-        /**
-         * Instante (em segundos) em que a janela atual iniciou
-         */
-        volatile long windowStart;
+    /** Relógio monotônico, em nanossegundos */
+    private final LongSupplier relogio;
 
-        /**
-         * Contador de notificações enviadas dentro da janela atual
-         */
-        AtomicInteger counter = new AtomicInteger(0);
-    }
+    /** Instante de referência do relógio */
+    private final long origem;
 
     /**
-     * Mapa que armazena as janelas de contagem por usuário
+     * Cria um novo rate limiter de notificações.
+     *
+     * @param maxNotifications número máximo de notificações permitidas
+     * @param windowSeconds duração da janela de tempo em segundos
      */
-    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    public NotificationRateLimiter(int maxNotifications, int windowSeconds) {
+        this(maxNotifications, windowSeconds, System::nanoTime);
+    }
 
     /**
-     * Cria um novo rate limiter de notificações.
+     * Cria um novo rate limiter de notificações com o relógio informado.
      *
      * @param maxNotifications número máximo de notificações permitidas
      * @param windowSeconds duração da janela de tempo em segundos
+     * @param relogio relógio monotônico, em nanossegundos
      */
-    public NotificationRateLimiter(int maxNotifications, int windowSeconds) {
+    NotificationRateLimiter(int maxNotifications, int windowSeconds, LongSupplier relogio) {
+        if (maxNotifications < 0 || maxNotifications > MAX_NOTIFICACOES) {
+            throw new IllegalArgumentException("Limite de notificações deve estar entre 0 e " + MAX_NOTIFICACOES);
+        }
         this.maxNotifications = maxNotifications;
-        this.windowSeconds = windowSeconds;
+        this.windowMillis = Duration.ofSeconds(windowSeconds).toMillis();
+        this.relogio = relogio;
+        this.origem = relogio.getAsLong();
+        this.windows = new RateLimitKeyStore<>(
+                RateLimitKeyStore.MAX_CHAVES_PADRAO, Duration.ofSeconds(Math.max(1, windowSeconds)), relogio);
+    }
+
+    /**
+     * Publica a ocupação e os descartes das janelas por usuário.
+     *
+     * @param registry registro de métricas
+     */
+    public void registrarMetricas(MeterRegistry registry) {
+        windows.registrarMetricas(registry, "notificacoes");
     }
 
     /**
@@ -67,26 +103,33 @@ public class NotificationRateLimiter {
      * @param userKey identificador único do usuário
      * @return true se a notificação pode ser enviada, false caso contrário
      */
-    public synchronized boolean tryAcquire(String userKey) {
-        long now = Instant.now().getEpochSecond();
-
-        // Obtém ou cria a janela de contagem do usuário
-        Window w = windows.computeIfAbsent(userKey, k -> {
-            Window nw = new Window();
-            nw.windowStart = now;
-            return nw;
-        });
-
-        synchronized (w) {
-            // Se a janela expirou, reinicia o contador
-            if (now - w.windowStart >= windowSeconds) {
-                w.windowStart = now;
-                w.counter.set(0);
+    public boolean tryAcquire(String userKey) {
+        if (maxNotifications == 0) return false;
+
+        long now = (relogio.getAsLong() - origem) / 1_000_000L;
+
+        // Obtém ou cria o estado do usuário (janela iniciando agora, sem notificações)
+        AtomicLong w = windows.obter(userKey, k -> new AtomicLong(now << BITS_CONTADOR));
+
+        while (true) {
+            long atual = w.get();
+            long windowStart = atual >>> BITS_CONTADOR;
+            long counter = atual & MASCARA_CONTADOR;
+            long novo;
+
+            if (now - windowStart >= windowMillis) {
+                // Janela expirada: reinicia com esta notificação
+                novo = (now << BITS_CONTADOR) | 1;
+            } else if (counter >= maxNotifications) {
+                // Limite atingido: nenhuma escrita
+                return false;
+            } else {
+                novo = atual + 1;
             }
 
-            // Incrementa o contador e verifica se está dentro do limite
-            int current = w.counter.incrementAndGet();
-            return current <= maxNotifications;
+            if (w.compareAndSet(atual, novo)) {
+                return true;
+            }
         }
     }
 }
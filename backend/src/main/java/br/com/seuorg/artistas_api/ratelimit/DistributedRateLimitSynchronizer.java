@@ -0,0 +1,176 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Sincroniza os limitadores distribuídos deste nó com os contadores
+ * compartilhados no PostgreSQL (ratelimit.backend=postgres).
+ *
+ * A cada intervalo (ratelimit.distribuido.intervalo-ms), em uma thread
+ * própria (e não no agendador do Spring, compartilhado com tarefas lentas
+ * como a limpeza do armazenamento, que atrasariam a renovação das cotas):
+ * registra o nó como ativo, envia em lote as requisições admitidas
+ * por todos os limitadores e redistribui as cotas locais. Periodicamente,
+ * remove as janelas vencidas e os nós inativos.
+ *
+ * Métricas: ratelimit.distribuido.sincronizacao (timer) e
+ * ratelimit.distribuido.falhas (contador).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "ratelimit.backend", havingValue = "postgres")
+public class DistributedRateLimitSynchronizer {
+
+    /** Intervalo mínimo entre as remoções de contadores vencidos */
+    private static final long INTERVALO_LIMPEZA_MS = 60_000;
+
+    /** Sincronizações sem heartbeat após as quais um nó é considerado inativo */
+    private static final int SINCRONIZACOES_INATIVIDADE = 20;
+
+    private final RateLimitCounterRepository repository;
+    private final String no;
+    private final long intervaloMs;
+    private final LongSupplier relogio;
+
+    /** Limitadores deste nó */
+    private final List<DistributedRateLimiter> limiters = new CopyOnWriteArrayList<>();
+
+    /** Quantidade de nós ativos na última sincronização */
+    private volatile int nosAtivos = 1;
+
+    private long ultimaLimpezaMs;
+
+    private final Timer tempoSincronizacao;
+    private final Counter falhas;
+
+    /** Thread da sincronização agendada */
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("ratelimit-sincronizacao").daemon().factory()
+    );
+
+    /**
+     * Construtor com injeção das configurações.
+     *
+     * @param repository    contadores compartilhados
+     * @param meterRegistry registro de métricas
+     * @param no            identificador do nó; vazio para gerar um a partir do hostname
+     * @param intervaloMs   intervalo entre sincronizações, em milissegundos
+     */
+    @Autowired
+    public DistributedRateLimitSynchronizer(
+            RateLimitCounterRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${ratelimit.distribuido.no:}") String no,
+            @Value("${ratelimit.distribuido.intervalo-ms:250}") long intervaloMs
+    ) {
+        this(repository, meterRegistry, no.isBlank() ? gerarNo() : no, intervaloMs, System::currentTimeMillis);
+    }
+
+    DistributedRateLimitSynchronizer(RateLimitCounterRepository repository, MeterRegistry meterRegistry,
+                                     String no, long intervaloMs, LongSupplier relogio) {
+        this.repository = repository;
+        this.no = no;
+        this.intervaloMs = intervaloMs;
+        this.relogio = relogio;
+        this.tempoSincronizacao = Timer.builder("ratelimit.distribuido.sincronizacao")
+                .description("Duração da sincronização dos contadores de rate limit")
+                .register(meterRegistry);
+        this.falhas = Counter.builder("ratelimit.distribuido.falhas")
+                .description("Sincronizações de rate limit que falharam")
+                .register(meterRegistry);
+        log.info("Rate limit distribuído habilitado no nó {}", no);
+    }
+
+    /**
+     * Cria um limitador distribuído sincronizado por este nó.
+     *
+     * @param nome    nome da política
+     * @param limite  requisições por janela no cluster
+     * @param periodo duração da janela
+     * @param estados armazenamento do estado por chave
+     * @return limitador registrado
+     */
+    public DistributedRateLimiter criar(String nome, int limite, Duration periodo,
+                                        RateLimitKeyStore<AtomicReference<DistributedRateLimiter.Janela>> estados) {
+        DistributedRateLimiter limiter = new DistributedRateLimiter(nome, limite, periodo, estados, this::getNosAtivos, relogio);
+        limiters.add(limiter);
+        return limiter;
+    }
+
+    /**
+     * Inicia a sincronização agendada, a cada intervalo após o fim da anterior.
+     */
+    @PostConstruct
+    void iniciar() {
+        executor.scheduleWithFixedDelay(this::sincronizarAgendado, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Execução agendada da sincronização. Falhas mantêm as pendências
+     * para a próxima execução e as cotas locais atuais.
+     */
+    public void sincronizarAgendado() {
+        try {
+            tempoSincronizacao.record(this::sincronizar);
+        } catch (Exception e) {
+            falhas.increment();
+            log.warn("Falha na sincronização do rate limit distribuído: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sincroniza todos os limitadores deste nó.
+     */
+    public void sincronizar() {
+        long agora = relogio.getAsLong();
+        long desde = agora - SINCRONIZACOES_INATIVIDADE * intervaloMs;
+        nosAtivos = repository.registrarNo(no, agora, desde);
+
+        for (DistributedRateLimiter limiter : limiters) {
+            limiter.sincronizar(repository, no);
+        }
+
+        if (agora - ultimaLimpezaMs >= INTERVALO_LIMPEZA_MS) {
+            ultimaLimpezaMs = agora;
+            int removidos = repository.removerExpirados(agora, desde);
+            log.debug("Rate limit distribuído: {} contador(es) vencido(s) removido(s)", removidos);
+        }
+    }
+
+    public int getNosAtivos() {
+        return nosAtivos;
+    }
+
+    public String getNo() {
+        return no;
+    }
+
+    private static String gerarNo() {
+        String host = System.getenv().getOrDefault("HOSTNAME", "no");
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
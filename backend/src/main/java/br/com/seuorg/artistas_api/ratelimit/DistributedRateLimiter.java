@@ -0,0 +1,218 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limit de janela fixa compartilhado entre as réplicas da API.
+ *
+ * A decisão é sempre local e sem bloqueios: cada nó mantém, por chave, uma
+ * cota (saldo local) e admite requisições enquanto houver cota. Em segundo
+ * plano (DistributedRateLimitSynchronizer) o nó envia em lote as requisições
+ * admitidas desde a última sincronização, lê o total da chave no cluster e
+ * recebe uma nova cota: a sua parte do saldo restante, dividido entre os nós
+ * ativos. Uma requisição nunca espera por uma ida ao banco.
+ *
+ * O limite é aproximado: entre duas sincronizações cada nó pode gastar no
+ * máximo a sua parte, de modo que o excesso no cluster fica limitado a uma
+ * parte por nó (e não multiplicado pela quantidade de réplicas). Se o banco
+ * ficar indisponível, cada nó continua aplicando apenas a sua parte.
+ *
+ * As janelas são alinhadas ao relógio de parede (epoch), que deve estar
+ * sincronizado entre os nós (NTP).
+ */
+public class DistributedRateLimiter implements RateLimiter {
+
+    /** Estado de uma chave em uma janela, neste nó */
+    static final class Janela {
+        final String chave;
+        final long indice;
+
+        /** Requisições admitidas por este nó na janela */
+        final AtomicLong usados = new AtomicLong();
+
+        /** Admitidas e ainda não enviadas ao banco */
+        final AtomicLong pendentes = new AtomicLong();
+
+        /** Indica se a janela já está na fila da próxima sincronização */
+        final AtomicBoolean marcada = new AtomicBoolean();
+
+        /** Quantidade máxima de usados até a próxima sincronização */
+        volatile long cota;
+
+        /** Admitidas já enviadas ao banco (apenas a sincronização altera) */
+        volatile long enviados;
+
+        Janela(String chave, long indice, long cota) {
+            this.chave = chave;
+            this.indice = indice;
+            this.cota = cota;
+        }
+    }
+
+    private final String nome;
+    private final int limite;
+    private final long periodoMs;
+
+    /** Janela corrente por chave */
+    private final RateLimitKeyStore<AtomicReference<Janela>> estados;
+
+    /** Janelas usadas desde a última sincronização */
+    private final Queue<Janela> ativas = new ConcurrentLinkedQueue<>();
+
+    /** Quantidade de nós ativos no cluster */
+    private final IntSupplier nosAtivos;
+
+    /** Relógio de parede, em milissegundos (epoch) */
+    private final LongSupplier relogio;
+
+    /**
+     * @param nome      nome da política (identifica os contadores no banco)
+     * @param limite    requisições por janela no cluster
+     * @param periodo   duração da janela
+     * @param estados   armazenamento do estado por chave
+     * @param nosAtivos quantidade de nós ativos no cluster
+     * @param relogio   relógio de parede, em milissegundos
+     */
+    public DistributedRateLimiter(String nome, int limite, Duration periodo,
+                                  RateLimitKeyStore<AtomicReference<Janela>> estados,
+                                  IntSupplier nosAtivos, LongSupplier relogio) {
+        if (limite <= 0 || periodo.toMillis() <= 0) {
+            throw new IllegalArgumentException("Limite e período devem ser positivos");
+        }
+        this.nome = nome;
+        this.limite = limite;
+        this.periodoMs = periodo.toMillis();
+        this.estados = estados;
+        this.nosAtivos = nosAtivos;
+        this.relogio = relogio;
+    }
+
+    @Override
+    public Decisao tentarAdquirir(String chave) {
+        long agora = relogio.getAsLong();
+        long indice = agora / periodoMs;
+        long fimNanos = Duration.ofMillis((indice + 1) * periodoMs - agora).toNanos();
+
+        AtomicReference<Janela> ref = estados.obter(chave, k -> new AtomicReference<>());
+        Janela j = ref.get();
+        if (j == null || j.indice != indice) {
+            j = avancar(ref, j, chave, indice);
+        }
+        if (!j.marcada.get() && j.marcada.compareAndSet(false, true)) {
+            ativas.add(j);
+        }
+
+        while (true) {
+            long usados = j.usados.get();
+            long cota = j.cota;
+            if (usados >= cota) {
+                return new Decisao(false, limite, 0, fimNanos, fimNanos);
+            }
+            if (j.usados.compareAndSet(usados, usados + 1)) {
+                j.pendentes.incrementAndGet();
+                return new Decisao(true, limite, cota - usados - 1, 0, fimNanos);
+            }
+        }
+    }
+
+    /**
+     * Inicia a janela corrente da chave, com a parte inicial do limite.
+     * A janela anterior, se tiver pendências, continua na fila de sincronização.
+     */
+    private Janela avancar(AtomicReference<Janela> ref, Janela atual, String chave, long indice) {
+        while (atual == null || atual.indice < indice) {
+            Janela nova = new Janela(chave, indice, parte(limite, nosAtivos.getAsInt()));
+            if (ref.compareAndSet(atual, nova)) return nova;
+            atual = ref.get();
+        }
+        return atual;
+    }
+
+    /**
+     * Envia as requisições admitidas desde a última sincronização e
+     * redistribui as cotas das chaves ativas na janela corrente.
+     * Executado por uma única thread (DistributedRateLimitSynchronizer).
+     *
+     * @param repository contadores compartilhados
+     * @param no         identificador deste nó
+     * @return quantidade de chaves sincronizadas
+     */
+    int sincronizar(RateLimitCounterRepository repository, String no) {
+        List<Janela> lote = new ArrayList<>();
+        for (Janela j; (j = ativas.poll()) != null; ) {
+            j.marcada.set(false);
+            lote.add(j);
+        }
+        if (lote.isEmpty()) return 0;
+
+        List<RateLimitCounterRepository.Incremento> incrementos = new ArrayList<>();
+        long[] deltas = new long[lote.size()];
+        for (int i = 0; i < lote.size(); i++) {
+            Janela j = lote.get(i);
+            deltas[i] = j.pendentes.getAndSet(0);
+            if (deltas[i] > 0) {
+                incrementos.add(new RateLimitCounterRepository.Incremento(
+                        nome, j.chave, j.indice, no, deltas[i], (j.indice + 2) * periodoMs));
+            }
+        }
+
+        try {
+            repository.incrementar(incrementos);
+        } catch (RuntimeException e) {
+            // Devolve as pendências para a próxima sincronização
+            for (int i = 0; i < lote.size(); i++) {
+                Janela j = lote.get(i);
+                j.pendentes.addAndGet(deltas[i]);
+                if (j.marcada.compareAndSet(false, true)) ativas.add(j);
+            }
+            throw e;
+        }
+        for (int i = 0; i < lote.size(); i++) {
+            lote.get(i).enviados += deltas[i];
+        }
+
+        long corrente = relogio.getAsLong() / periodoMs;
+        Map<String, Janela> correntes = new HashMap<>();
+        for (Janela j : lote) {
+            if (j.indice == corrente) correntes.put(j.chave, j);
+        }
+        if (correntes.isEmpty()) return lote.size();
+
+        Map<String, RateLimitCounterRepository.Total> totais = repository.totais(nome, corrente, correntes.keySet());
+        int nosCluster = nosAtivos.getAsInt();
+        for (Janela j : correntes.values()) {
+            RateLimitCounterRepository.Total total = totais.getOrDefault(j.chave, new RateLimitCounterRepository.Total(0, 0));
+            long usados = j.usados.get();
+
+            // Restante no cluster, descontando o que este nó admitiu e ainda não enviou
+            long restante = limite - total.contagem() - (usados - j.enviados);
+            int nos = Math.max(nosCluster, total.nos() + (j.enviados == 0 ? 1 : 0));
+            j.cota = usados + (restante > 0 ? parte(restante, nos) : 0);
+        }
+        return lote.size();
+    }
+
+    /**
+     * Parte de um saldo para um nó, arredondada para cima (um saldo
+     * de uma requisição continua utilizável).
+     */
+    private static long parte(long saldo, int nos) {
+        int n = Math.max(1, nos);
+        return (saldo + n - 1) / n;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+}
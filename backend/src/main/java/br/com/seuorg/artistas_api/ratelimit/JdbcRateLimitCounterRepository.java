@@ -0,0 +1,100 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contadores do rate limit distribuído no PostgreSQL
+ * (tabelas rate_limit_contadores e rate_limit_nos).
+ *
+ * Os incrementos são gravados com um único lote JDBC de upserts
+ * (INSERT ... ON CONFLICT), e os totais são lidos com uma consulta
+ * agregada por bloco de chaves.
+ */
+@Repository
+@ConditionalOnProperty(name = "ratelimit.backend", havingValue = "postgres")
+public class JdbcRateLimitCounterRepository implements RateLimitCounterRepository {
+
+    /** Quantidade máxima de chaves por consulta de totais */
+    private static final int CHAVES_POR_CONSULTA = 500;
+
+    private static final String SQL_INCREMENTAR = """
+            INSERT INTO rate_limit_contadores (politica, chave, janela, no, contagem, expira_em_ms)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (politica, janela, chave, no)
+            DO UPDATE SET contagem = rate_limit_contadores.contagem + EXCLUDED.contagem
+            """;
+
+    private static final String SQL_TOTAIS = """
+            SELECT chave, SUM(contagem) AS contagem, COUNT(*) AS nos
+            FROM rate_limit_contadores
+            WHERE politica = :politica AND janela = :janela AND chave IN (:chaves)
+            GROUP BY chave
+            """;
+
+    private static final String SQL_REGISTRAR_NO = """
+            INSERT INTO rate_limit_nos (no, visto_em_ms) VALUES (?, ?)
+            ON CONFLICT (no) DO UPDATE SET visto_em_ms = EXCLUDED.visto_em_ms
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public JdbcRateLimitCounterRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public void incrementar(List<Incremento> incrementos) {
+        if (incrementos.isEmpty()) return;
+        jdbcTemplate.batchUpdate(SQL_INCREMENTAR, incrementos, incrementos.size(), (ps, i) -> {
+            ps.setString(1, i.politica());
+            ps.setString(2, i.chave());
+            ps.setLong(3, i.janela());
+            ps.setString(4, i.no());
+            ps.setLong(5, i.quantidade());
+            ps.setLong(6, i.expiraEmMs());
+        });
+    }
+
+    @Override
+    public Map<String, Total> totais(String politica, long janela, Collection<String> chaves) {
+        Map<String, Total> totais = new HashMap<>();
+        List<String> lista = new ArrayList<>(chaves);
+
+        for (int inicio = 0; inicio < lista.size(); inicio += CHAVES_POR_CONSULTA) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("politica", politica)
+                    .addValue("janela", janela)
+                    .addValue("chaves", lista.subList(inicio, Math.min(lista.size(), inicio + CHAVES_POR_CONSULTA)));
+            namedJdbcTemplate.query(SQL_TOTAIS, params, rs -> {
+                totais.put(rs.getString("chave"), new Total(rs.getLong("contagem"), rs.getInt("nos")));
+            });
+        }
+        return totais;
+    }
+
+    @Override
+    public int registrarNo(String no, long agoraMs, long desdeMs) {
+        jdbcTemplate.update(SQL_REGISTRAR_NO, no, agoraMs);
+        Integer nos = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM rate_limit_nos WHERE visto_em_ms >= ?", Integer.class, desdeMs);
+        return nos == null ? 1 : Math.max(1, nos);
+    }
+
+    @Override
+    public int removerExpirados(long agoraMs, long desdeMs) {
+        jdbcTemplate.update("DELETE FROM rate_limit_nos WHERE visto_em_ms < ?", desdeMs);
+        return jdbcTemplate.update("DELETE FROM rate_limit_contadores WHERE expira_em_ms < ?", agoraMs);
+    }
+}
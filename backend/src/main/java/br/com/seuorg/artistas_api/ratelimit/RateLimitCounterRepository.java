@@ -0,0 +1,71 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Armazenamento compartilhado dos contadores do rate limit distribuído.
+ *
+ * Cada nó soma as suas requisições admitidas em linhas próprias
+ * (política, chave, janela, nó); o total de uma chave é a soma das
+ * linhas de todos os nós.
+ */
+public interface RateLimitCounterRepository {
+
+    /**
+     * Incremento da contagem de um nó em uma chave e janela.
+     *
+     * @param politica   nome da política
+     * @param chave      chave limitada (usuário ou IP)
+     * @param janela     índice da janela
+     * @param no         identificador do nó
+     * @param quantidade requisições a somar
+     * @param expiraEmMs instante (epoch ms) a partir do qual a linha pode ser removida
+     */
+    record Incremento(String politica, String chave, long janela, String no, long quantidade, long expiraEmMs) {}
+
+    /**
+     * Total de uma chave em uma janela.
+     *
+     * @param contagem requisições admitidas por todos os nós
+     * @param nos      quantidade de nós que admitiram requisições
+     */
+    record Total(long contagem, int nos) {}
+
+    /**
+     * Soma os incrementos, em lote.
+     *
+     * @param incrementos incrementos a gravar
+     */
+    void incrementar(List<Incremento> incrementos);
+
+    /**
+     * Lê os totais das chaves em uma janela.
+     *
+     * @param politica nome da política
+     * @param janela   índice da janela
+     * @param chaves   chaves consultadas
+     * @return totais por chave (chaves sem contagem ficam de fora)
+     */
+    Map<String, Total> totais(String politica, long janela, Collection<String> chaves);
+
+    /**
+     * Registra o nó como ativo e retorna a quantidade de nós ativos.
+     *
+     * @param no       identificador do nó
+     * @param agoraMs  instante atual (epoch ms)
+     * @param desdeMs  nós vistos a partir deste instante são considerados ativos
+     * @return quantidade de nós ativos, incluindo este
+     */
+    int registrarNo(String no, long agoraMs, long desdeMs);
+
+    /**
+     * Remove contadores vencidos e nós inativos.
+     *
+     * @param agoraMs instante atual (epoch ms)
+     * @param desdeMs nós não vistos desde este instante são removidos
+     * @return quantidade de contadores removidos
+     */
+    int removerExpirados(long agoraMs, long desdeMs);
+}
@@ -0,0 +1,222 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Armazena o estado de rate limit de cada chave (usuário, IP), com
+ * quantidade máxima de chaves e descarte das chaves ociosas.
+ *
+ * As chaves ficam em duas gerações (uma roda de tempo de duas posições):
+ * a atual recebe as chaves novas e as usadas recentemente; a anterior
+ * guarda as da geração passada. Uma chave da anterior que volta a ser
+ * usada é promovida para a atual (o mesmo objeto de estado). A cada
+ * rotação a anterior é descartada inteira, sem varrer o mapa por chave:
+ *
+ * - por tempo: a cada "ociosidade", de modo que uma chave sem uso é
+ *   mantida por pelo menos esse tempo e descartada em até o dobro dele;
+ * - por capacidade: quando a geração atual atinge metade do máximo de
+ *   chaves, o que mantém a memória estável sob tráfego de alta
+ *   cardinalidade (ex: varredura de muitos IPs).
+ *
+ * Chaves descartadas recomeçam com o estado inicial (saldo cheio). Com a
+ * ociosidade igual ao tempo de reposição completa do algoritmo, o descarte
+ * por tempo não altera nenhuma decisão.
+ *
+ * Métricas (ver registrarMetricas): ratelimit.chaves (tag nome) e
+ * ratelimit.chaves.descartadas (tags nome e motivo: expiracao ou capacidade).
+ *
+ * @param <V> tipo do estado por chave
+ */
+public class RateLimitKeyStore<V> {
+
+    /** Quantidade máxima de chaves padrão */
+    public static final int MAX_CHAVES_PADRAO = 100_000;
+
+    /** Tempo padrão de ociosidade antes do descarte */
+    public static final Duration OCIOSIDADE_PADRAO = Duration.ofMinutes(10);
+
+    /** Gerações de chaves e o instante de início da atual */
+    private record Geracoes<V>(Map<String, V> atual, Map<String, V> anterior, long inicio, AtomicInteger inseridas) {}
+
+    /** Gerações vigentes, trocadas por compare-and-set na rotação */
+    private final AtomicReference<Geracoes<V>> geracoes;
+
+    /** Quantidade máxima de chaves inseridas em uma geração */
+    private final int maxPorGeracao;
+
+    /** Duração de uma geração, em nanossegundos */
+    private final long periodoNanos;
+
+    /** Relógio monotônico, em nanossegundos */
+    private final LongSupplier relogio;
+
+    private final AtomicLong descartadasExpiracao = new AtomicLong();
+    private final AtomicLong descartadasCapacidade = new AtomicLong();
+
+    /**
+     * Cria o armazenamento com os limites padrão.
+     */
+    public RateLimitKeyStore() {
+        this(MAX_CHAVES_PADRAO, OCIOSIDADE_PADRAO, System::nanoTime);
+    }
+
+    /**
+     * Cria o armazenamento com o relógio do sistema.
+     *
+     * @param maxChaves  quantidade máxima de chaves
+     * @param ociosidade tempo mínimo que uma chave sem uso é mantida
+     */
+    public RateLimitKeyStore(int maxChaves, Duration ociosidade) {
+        this(maxChaves, ociosidade, System::nanoTime);
+    }
+
+    /**
+     * Construtor completo.
+     *
+     * @param maxChaves  quantidade máxima de chaves
+     * @param ociosidade tempo mínimo que uma chave sem uso é mantida
+     * @param relogio    relógio monotônico, em nanossegundos
+     */
+    public RateLimitKeyStore(int maxChaves, Duration ociosidade, LongSupplier relogio) {
+        if (maxChaves < 2 || ociosidade.isNegative() || ociosidade.isZero()) {
+            throw new IllegalArgumentException("Máximo de chaves (>= 2) e ociosidade devem ser positivos");
+        }
+        this.maxPorGeracao = maxChaves / 2;
+        this.periodoNanos = ociosidade.toNanos();
+        this.relogio = relogio;
+        this.geracoes = new AtomicReference<>(novasGeracoes(new ConcurrentHashMap<>(), relogio.getAsLong()));
+    }
+
+    /**
+     * Retorna o estado da chave, criando-o se necessário.
+     *
+     * @param chave identificador do cliente limitado
+     * @param criar cria o estado inicial de uma chave nova
+     * @return estado da chave
+     */
+    public V obter(String chave, Function<String, ? extends V> criar) {
+        V novo = null;
+        while (true) {
+            long agora = relogio.getAsLong();
+            Geracoes<V> g = geracoes.get();
+            if (agora - g.inicio() >= periodoNanos) {
+                g = rotacionar(g, agora, false);
+            }
+
+            V estado = g.atual().get(chave);
+            if (estado != null) return estado;
+
+            // Chave da geração anterior é promovida com o mesmo estado
+            V anterior = g.anterior().get(chave);
+            if (anterior != null) {
+                novo = anterior;
+            } else if (novo == null) {
+                novo = criar.apply(chave);
+            }
+
+            if (g.inseridas().get() >= maxPorGeracao) {
+                g = rotacionar(g, agora, true);
+            }
+            V existente = g.atual().putIfAbsent(chave, novo);
+            if (existente == null) {
+                g.inseridas().incrementAndGet();
+            } else {
+                novo = existente;
+            }
+
+            // Uma rotação entre a leitura das gerações e a inserção pode ter
+            // deixado a entrada em uma geração já substituída, enquanto outra
+            // thread criou um segundo estado na geração nova: refaz a busca
+            // na geração vigente, reaproveitando o estado já obtido
+            if (geracoes.get() == g) return novo;
+        }
+    }
+
+    /**
+     * Retorna a quantidade de entradas mantidas nas duas gerações
+     * (uma chave promovida conta nas duas até a próxima rotação).
+     *
+     * @return quantidade de entradas
+     */
+    public int tamanho() {
+        Geracoes<V> g = geracoes.get();
+        return g.atual().size() + g.anterior().size();
+    }
+
+    /**
+     * Retorna a quantidade de chaves descartadas por ociosidade.
+     *
+     * @return chaves descartadas por tempo
+     */
+    public long getDescartadasExpiracao() {
+        return descartadasExpiracao.get();
+    }
+
+    /**
+     * Retorna a quantidade de chaves descartadas por capacidade.
+     *
+     * @return chaves descartadas por capacidade
+     */
+    public long getDescartadasCapacidade() {
+        return descartadasCapacidade.get();
+    }
+
+    /**
+     * Publica a ocupação e os descartes do armazenamento.
+     *
+     * @param registry registro de métricas
+     * @param nome     nome do limitador (tag nome)
+     */
+    public void registrarMetricas(MeterRegistry registry, String nome) {
+        Gauge.builder("ratelimit.chaves", this, RateLimitKeyStore::tamanho)
+                .description("Entradas de estado de rate limit mantidas")
+                .tag("nome", nome)
+                .register(registry);
+        FunctionCounter.builder("ratelimit.chaves.descartadas", descartadasExpiracao, AtomicLong::get)
+                .description("Chaves de rate limit descartadas")
+                .tags("nome", nome, "motivo", "expiracao")
+                .register(registry);
+        FunctionCounter.builder("ratelimit.chaves.descartadas", descartadasCapacidade, AtomicLong::get)
+                .description("Chaves de rate limit descartadas")
+                .tags("nome", nome, "motivo", "capacidade")
+                .register(registry);
+    }
+
+    /**
+     * Inicia uma nova geração; a atual passa a ser a anterior.
+     * Se a geração atual também já estiver ociosa, ambas são descartadas.
+     * Apenas a thread que vence o compare-and-set contabiliza os descartes.
+     *
+     * @return gerações vigentes após a rotação
+     */
+    private Geracoes<V> rotacionar(Geracoes<V> g, long agora, boolean porCapacidade) {
+        boolean ambas = !porCapacidade && agora - g.inicio() >= 2 * periodoNanos;
+        Geracoes<V> nova = novasGeracoes(ambas ? new ConcurrentHashMap<>() : g.atual(), agora);
+
+        if (geracoes.compareAndSet(g, nova)) {
+            long descartadas = 0;
+            for (Map.Entry<String, V> e : g.anterior().entrySet()) {
+                if (g.atual().get(e.getKey()) != e.getValue()) descartadas++;
+            }
+            if (ambas) descartadas += g.atual().size();
+            (porCapacidade ? descartadasCapacidade : descartadasExpiracao).addAndGet(descartadas);
+            return nova;
+        }
+        return geracoes.get();
+    }
+
+    private static <V> Geracoes<V> novasGeracoes(Map<String, V> anterior, long agora) {
+        return new Geracoes<>(new ConcurrentHashMap<>(), anterior, agora, new AtomicInteger());
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Política de rate limit em execução: as rotas que atende e o
+ * limitador (com o seu próprio estado por chave) aplicado a elas.
+ */
+public final class RateLimitPolicy {
+
+    private final String nome;
+    private final Set<String> metodos;
+    private final List<PathPattern> caminhos;
+    private final boolean multipart;
+    private final RateLimiter limiter;
+
+    /**
+     * @param nome      nome da política
+     * @param metodos   métodos HTTP atendidos; vazio para todos
+     * @param caminhos  padrões de caminho atendidos
+     * @param multipart se true, só atende requisições multipart
+     * @param limiter   limitador aplicado às requisições da política
+     */
+    public RateLimitPolicy(String nome, Set<String> metodos, List<String> caminhos, boolean multipart, RateLimiter limiter) {
+        this.nome = nome;
+        this.metodos = Set.copyOf(metodos);
+        this.caminhos = caminhos.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        this.multipart = multipart;
+        this.limiter = limiter;
+    }
+
+    /**
+     * Política que limita todas as requisições com o limitador informado.
+     *
+     * @param limiter limitador
+     * @return política geral
+     */
+    public static RateLimitPolicy todas(RateLimiter limiter) {
+        return new RateLimitPolicy("padrao", Set.of(), List.of("/**"), false, limiter);
+    }
+
+    /**
+     * Cria as políticas configuradas com o backend em memória.
+     *
+     * @param properties    configuração do rate limit
+     * @param meterRegistry registro de métricas
+     * @return políticas em ordem de prioridade
+     */
+    public static List<RateLimitPolicy> de(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return de(properties, meterRegistry, null);
+    }
+
+    /**
+     * Cria as políticas configuradas, cada uma com o seu armazenamento
+     * de chaves (ociosidade igual ao tempo de reposição completa) e
+     * métricas publicadas com o nome da política.
+     *
+     * @param properties     configuração do rate limit
+     * @param meterRegistry  registro de métricas
+     * @param sincronizador  sincronizador do backend postgres, ou null no backend memoria
+     * @return políticas em ordem de prioridade
+     */
+    public static List<RateLimitPolicy> de(RateLimitProperties properties, MeterRegistry meterRegistry,
+                                           DistributedRateLimitSynchronizer sincronizador) {
+        boolean distribuido = RateLimitProperties.POSTGRES.equals(properties.backend());
+        if (distribuido && sincronizador == null) {
+            throw new IllegalStateException("Rate limit distribuído sem sincronizador configurado");
+        }
+        if (!distribuido && !RateLimitProperties.MEMORIA.equals(properties.backend())) {
+            throw new IllegalArgumentException("Backend de rate limit desconhecido: " + properties.backend());
+        }
+
+        return properties.politicas().stream().map(p -> {
+            RateLimiter limiter;
+            if (distribuido) {
+                var estados = new RateLimitKeyStore<AtomicReference<DistributedRateLimiter.Janela>>(
+                        properties.maxChaves(), p.periodo());
+                estados.registrarMetricas(meterRegistry, p.nome());
+                limiter = sincronizador.criar(p.nome(), p.limite(), p.periodo(), estados);
+            } else if (RateLimitProperties.JANELA_DESLIZANTE.equals(properties.algoritmo())) {
+                var estados = new RateLimitKeyStore<AtomicLong>(
+                        properties.maxChaves(), p.periodo().multipliedBy(2));
+                estados.registrarMetricas(meterRegistry, p.nome());
+                limiter = new SlidingWindowRateLimiter(p.limite(), p.periodo(), estados, System::nanoTime);
+            } else if (RateLimitProperties.TOKEN_BUCKET.equals(properties.algoritmo())) {
+                var estados = new RateLimitKeyStore<AtomicLong>(
+                        properties.maxChaves(), p.periodo());
+                estados.registrarMetricas(meterRegistry, p.nome());
+                limiter = new TokenBucketRateLimiter(p.limite(), p.limite(), p.periodo(), estados, System::nanoTime);
+            } else {
+                throw new IllegalArgumentException("Algoritmo de rate limit desconhecido: " + properties.algoritmo());
+            }
+            return new RateLimitPolicy(p.nome(), p.metodos(), p.caminhos(), p.multipart(), limiter);
+        }).toList();
+    }
+
+    /**
+     * Indica se a requisição é atendida por esta política.
+     *
+     * @param request requisição HTTP
+     * @param caminho caminho da requisição, sem o context path
+     * @return true se método, caminho e tipo de conteúdo correspondem
+     */
+    boolean atende(HttpServletRequest request, PathContainer caminho) {
+        if (!metodos.isEmpty() && !metodos.contains(request.getMethod())) return false;
+        if (multipart) {
+            String contentType = request.getContentType();
+            if (contentType == null || !contentType.regionMatches(true, 0, "multipart/", 0, 10)) return false;
+        }
+        for (PathPattern padrao : caminhos) {
+            if (padrao.matches(caminho)) return true;
+        }
+        return false;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public RateLimiter getLimiter() {
+        return limiter;
+    }
+}
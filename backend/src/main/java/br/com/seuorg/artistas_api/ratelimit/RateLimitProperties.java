@@ -0,0 +1,110 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Configuração do rate limit da API (prefixo "ratelimit").
+ *
+ * Cada requisição é avaliada contra as políticas na ordem declarada e
+ * limitada pela primeira que corresponder (método, caminho e, se exigido,
+ * conteúdo multipart). Cada política tem o seu próprio saldo por chave
+ * (usuário autenticado ou IP). Requisições que não correspondem a nenhuma
+ * política, ou a um caminho ignorado, não são limitadas.
+ *
+ * Sem políticas configuradas, são usadas as políticas padrão (ver
+ * politicasPadrao).
+ *
+ * @param enabled   habilita o filtro de rate limit
+ * @param backend   memoria (padrão: limite por nó) ou postgres (limite
+ *                  compartilhado entre as réplicas, em janela fixa)
+ * @param algoritmo token-bucket (padrão) ou janela-deslizante; vale para o backend memoria
+ * @param maxChaves quantidade máxima de chaves mantidas por política
+ * @param ignorados padrões de caminho nunca limitados (health, docs, WebSocket)
+ * @param politicas políticas por rota, em ordem de prioridade
+ */
+@ConfigurationProperties("ratelimit")
+public record RateLimitProperties(
+        Boolean enabled,
+        String backend,
+        String algoritmo,
+        Integer maxChaves,
+        List<String> ignorados,
+        List<Politica> politicas
+) {
+
+    /** Estado em memória, por nó */
+    public static final String MEMORIA = "memoria";
+
+    /** Contadores compartilhados no PostgreSQL */
+    public static final String POSTGRES = "postgres";
+
+    /** Algoritmo token bucket (GCRA) */
+    public static final String TOKEN_BUCKET = "token-bucket";
+
+    /** Algoritmo de janela deslizante */
+    public static final String JANELA_DESLIZANTE = "janela-deslizante";
+
+    /**
+     * Política de rate limit de um conjunto de rotas.
+     *
+     * @param nome      nome da política (tag das métricas)
+     * @param metodos   métodos HTTP atendidos; vazio para todos
+     * @param caminhos  padrões de caminho (ex: /api/albuns/**)
+     * @param multipart se true, só vale para requisições multipart
+     * @param limite    requisições permitidas por período
+     * @param periodo   período do limite
+     */
+    public record Politica(
+            String nome,
+            Set<String> metodos,
+            List<String> caminhos,
+            boolean multipart,
+            int limite,
+            Duration periodo
+    ) {
+        public Politica {
+            if (nome == null || nome.isBlank() || caminhos == null || caminhos.isEmpty()) {
+                throw new IllegalArgumentException("Política de rate limit exige nome e caminhos");
+            }
+            if (limite <= 0 || periodo == null || periodo.isNegative() || periodo.isZero()) {
+                throw new IllegalArgumentException("Limite e período da política " + nome + " devem ser positivos");
+            }
+            metodos = metodos == null ? Set.of() : metodos.stream()
+                    .map(m -> m.trim().toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            caminhos = List.copyOf(caminhos);
+        }
+    }
+
+    public RateLimitProperties {
+        if (enabled == null) enabled = true;
+        if (backend == null) backend = MEMORIA;
+        if (algoritmo == null) algoritmo = TOKEN_BUCKET;
+        if (maxChaves == null) maxChaves = RateLimitKeyStore.MAX_CHAVES_PADRAO;
+        if (ignorados == null) ignorados = List.of("/actuator/**", "/swagger-ui/**", "/v3/api-docs/**", "/openapi.yaml", "/ws/**");
+        if (politicas == null || politicas.isEmpty()) politicas = politicasPadrao();
+    }
+
+    /**
+     * Políticas padrão: login e refresh restritos (tentativa de senha),
+     * envio e edição multipart de capas restritos (custo de upload), leituras
+     * generosas e um limite geral para as demais rotas.
+     *
+     * @return políticas padrão
+     */
+    public static List<Politica> politicasPadrao() {
+        Duration minuto = Duration.ofMinutes(1);
+        return List.of(
+                new Politica("login", Set.of("POST"), List.of("/login", "/refresh"), false, 10, minuto),
+                new Politica("upload-capas", Set.of("POST", "PUT"), List.of("/api/capas", "/api/capas/album/*"), true, 20, minuto),
+                new Politica("leitura", Set.of("GET", "HEAD"), List.of("/api/**"), false, 600, minuto),
+                new Politica("padrao", Set.of(), List.of("/**"), false, 120, minuto)
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+/**
+ * Contrato dos algoritmos de rate limit.
+ *
+ * Cada chave (usuário, IP, rota) tem seu estado em um único long,
+ * atualizado com compare-and-set, sem bloqueios: chaves muito usadas
+ * não serializam as requisições. O tempo é lido de um relógio
+ * monotônico (System.nanoTime), que não sofre ajustes do relógio
+ * do sistema.
+ */
+public interface RateLimiter {
+
+    /**
+     * Tenta consumir uma permissão para a chave.
+     *
+     * @param chave identificador do cliente limitado
+     * @return decisão, com os dados para os cabeçalhos de rate limit
+     */
+    Decisao tentarAdquirir(String chave);
+
+    /**
+     * Resultado de uma tentativa de aquisição.
+     *
+     * @param permitida      true se a requisição pode prosseguir
+     * @param limite         quantidade máxima de permissões em sequência
+     * @param restantes      permissões ainda disponíveis após esta decisão
+     * @param esperaNanos    tempo até a próxima permissão (0 se permitida)
+     * @param reposicaoNanos tempo até o saldo voltar ao limite
+     */
+    record Decisao(boolean permitida, long limite, long restantes, long esperaNanos, long reposicaoNanos) {}
+}
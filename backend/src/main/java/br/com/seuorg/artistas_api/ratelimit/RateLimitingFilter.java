@@ -6,60 +6,72 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.server.PathContainer;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.io.IOException;
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Filtro responsável por aplicar rate limit por usuário autenticado
  * ou por endereço IP.
  *
- * O limite de requisições e a janela de tempo são configuráveis
- * via construtor.
+ * Registrado na cadeia de segurança após o JwtAuthenticationFilter, para
+ * que requisições autenticadas sejam limitadas pelo usuário. A requisição
+ * é limitada pela primeira política que atende ao método e ao caminho; a
+ * decisão é delegada ao RateLimiter da política (token bucket por padrão),
+ * cujo estado por chave é atualizado sem bloqueios.
+ *
+ * As respostas limitadas informam o saldo nos cabeçalhos X-RateLimit-Limit,
+ * X-RateLimit-Remaining e X-RateLimit-Reset (segundos até o saldo voltar a
+ * ficar cheio); a resposta 429 informa também Retry-After (segundos).
  */
 public class RateLimitingFilter extends OncePerRequestFilter {
 
     // Logger utilizado para registrar eventos de estouro de limite
     private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitingFilter.class);
 
-    // Quantidade máxima de requisições permitidas dentro da janela de tempo
-    private final int requestsPerWindow;
+    private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+
+    // Políticas de rate limit, em ordem de prioridade
+    private final List<RateLimitPolicy> politicas;
 
-    // Duração da janela de tempo em segundos
-    private final int windowSeconds;
+    // Caminhos nunca limitados
+    private final List<PathPattern> ignorados;
 
     /**
-     * Classe interna que representa uma janela de tempo
-     * associada a um usuário ou endereço IP.
+     * Construtor do filtro de rate limiting com token bucket: até
+     * requestsPerWindow requisições em sequência, repostas continuamente
+     * ao longo da janela.
+     *
+     * @param requestsPerWindow número máximo de requisições permitidas
+     * @param windowSeconds duração da janela de tempo em segundos
      */
-    private static class Window {
-
-        // Momento inicial da janela (em segundos desde o epoch)
-        volatile long windowStart;
-
-        // Contador de requisições realizadas dentro da janela
-        AtomicInteger counter = new AtomicInteger(0);
+    public RateLimitingFilter(int requestsPerWindow, int windowSeconds) {
+        this(new TokenBucketRateLimiter(requestsPerWindow, Duration.ofSeconds(windowSeconds)));
     }
 
     /**
-     * Mapa que armazena as janelas de rate limit
-     * associadas a cada chave (usuário ou IP).
+     * Construtor do filtro de rate limiting com o algoritmo informado.
+     *
+     * @param limiter algoritmo de rate limit
      */
-    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    public RateLimitingFilter(RateLimiter limiter) {
+        this(List.of(RateLimitPolicy.todas(limiter)), List.of());
+    }
 
     /**
-     * Construtor do filtro de rate limiting.
+     * Construtor do filtro de rate limiting com políticas por rota.
      *
-     * @param requestsPerWindow número máximo de requisições permitidas
-     * @param windowSeconds duração da janela de tempo em segundos
+     * @param politicas políticas, avaliadas na ordem informada
+     * @param ignorados padrões de caminho nunca limitados
      */
-    public RateLimitingFilter(int requestsPerWindow, int windowSeconds) {
-        this.requestsPerWindow = requestsPerWindow;
-        this.windowSeconds = windowSeconds;
+    public RateLimitingFilter(List<RateLimitPolicy> politicas, List<String> ignorados) {
+        this.politicas = List.copyOf(politicas);
+        this.ignorados = ignorados.stream().map(PathPatternParser.defaultInstance::parse).toList();
     }
 
     /**
@@ -73,50 +85,65 @@ public class RateLimitingFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
             throws ServletException, IOException {
 
+        RateLimitPolicy politica = resolvePolicy(request);
+        if (politica == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         // Resolve a chave de identificação (usuário autenticado ou IP)
         String key = resolveKey(request);
 
-        // Obtém o timestamp atual em segundos
-        long now = Instant.now().getEpochSecond();
-
-        // Recupera ou cria a janela associada à chave
-        Window w = windows.computeIfAbsent(key, k -> {
-            Window nw = new Window();
-            nw.windowStart = now;
-            return nw;
-        });
-
-        // Sincroniza o acesso à janela para evitar problemas de concorrência
-        synchronized (w) {
-
-            // Caso a janela de tempo tenha expirado, reinicia o contador
-            if (now - w.windowStart >= windowSeconds) {
-                w.windowStart = now;
-                w.counter.set(0);
-            }
-
-            // Incrementa o contador de requisições da janela atual
-            int current = w.counter.incrementAndGet();
-
-            // Verifica se o limite máximo de requisições foi excedido
-            if (current > requestsPerWindow) {
-                LOGGER.warn(
-                    "Limite de requisições excedido para a chave {}: {}/{}",
-                    key, current, requestsPerWindow
-                );
-
-                // Retorna HTTP 429 (Muitas requisições)
-                response.setStatus(429);
-                response.getWriter()
-                        .write("Limite de requisições excedido. Tente novamente mais tarde.");
-                return;
-            }
+        RateLimiter.Decisao decisao = politica.getLimiter().tentarAdquirir(key);
+        response.setHeader("X-RateLimit-Limit", Long.toString(decisao.limite()));
+        response.setHeader("X-RateLimit-Remaining", Long.toString(decisao.restantes()));
+        response.setHeader("X-RateLimit-Reset", Long.toString(segundos(decisao.reposicaoNanos())));
+
+        if (!decisao.permitida()) {
+            LOGGER.warn("Limite de requisições excedido para a chave {} na política {}: limite {}",
+                    key, politica.getNome(), decisao.limite());
+
+            // Retorna HTTP 429 (Muitas requisições)
+            response.setStatus(429);
+            response.setHeader("Retry-After", Long.toString(Math.max(1, segundos(decisao.esperaNanos()))));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter()
+                    .write("Limite de requisições excedido. Tente novamente mais tarde.");
+            return;
         }
 
         // Continua o processamento normal da requisição
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Resolve a política que limita a requisição.
+     *
+     * @param request requisição HTTP atual
+     * @return primeira política que atende a requisição, ou null se não limitada
+     */
+    private RateLimitPolicy resolvePolicy(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        PathContainer caminho = PathContainer.parsePath(
+                contextPath.isEmpty() ? uri : uri.substring(contextPath.length()));
+
+        for (PathPattern padrao : ignorados) {
+            if (padrao.matches(caminho)) return null;
+        }
+        for (RateLimitPolicy politica : politicas) {
+            if (politica.atende(request, caminho)) return politica;
+        }
+        return null;
+    }
+
+    /**
+     * Converte nanossegundos em segundos, arredondando para cima.
+     */
+    private static long segundos(long nanos) {
+        return (nanos + NANOS_POR_SEGUNDO - 1) / NANOS_POR_SEGUNDO;
+    }
+
     /**
      * Resolve a chave utilizada para controle de rate limit.
      *
@@ -0,0 +1,144 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limit por janela deslizante, aproximada por contadores.
+ *
+ * Em vez de registrar o instante de cada requisição (log), guarda os
+ * contadores da janela atual e da anterior. A contagem na janela
+ * deslizante é a da janela atual somada à fração da anterior que ainda
+ * está dentro da janela deslizante:
+ *
+ *   estimativa = anterior x (janela - decorrido) / janela + atual
+ *
+ * O estado de cada chave cabe em um único long: índice da janela
+ * (32 bits), contador da anterior (16 bits) e contador da atual (16 bits).
+ * Por isso o limite é de no máximo 65535 requisições por janela.
+ */
+public class SlidingWindowRateLimiter implements RateLimiter {
+
+    /** Limite máximo por janela (contadores de 16 bits) */
+    static final int LIMITE_MAXIMO = 0xFFFF;
+
+    /** Janela máxima, para que os cálculos não estourem um long */
+    private static final Duration JANELA_MAXIMA = Duration.ofDays(1);
+
+    private static final long MASCARA_INDICE = 0xFFFF_FFFFL;
+
+    /** Quantidade máxima de requisições por janela */
+    private final int limite;
+
+    /** Duração da janela, em nanossegundos */
+    private final long janelaNanos;
+
+    /** Instante de referência para o índice das janelas */
+    private final long origem;
+
+    /** Estado por chave */
+    private final RateLimitKeyStore<AtomicLong> estados;
+
+    /** Relógio monotônico, em nanossegundos */
+    private final LongSupplier relogio;
+
+    /**
+     * Cria um limitador de "limite" requisições por janela deslizante.
+     * Chaves ociosas por duas janelas (sem contagem relevante) são descartadas.
+     *
+     * @param limite quantidade máxima de requisições por janela
+     * @param janela duração da janela
+     */
+    public SlidingWindowRateLimiter(int limite, Duration janela) {
+        this(limite, janela,
+                new RateLimitKeyStore<>(RateLimitKeyStore.MAX_CHAVES_PADRAO, janela.multipliedBy(2)), System::nanoTime);
+    }
+
+    /**
+     * Construtor completo.
+     *
+     * @param limite  quantidade máxima de requisições por janela
+     * @param janela  duração da janela
+     * @param estados armazenamento do estado por chave
+     * @param relogio relógio monotônico, em nanossegundos
+     */
+    public SlidingWindowRateLimiter(int limite, Duration janela, RateLimitKeyStore<AtomicLong> estados, LongSupplier relogio) {
+        if (limite <= 0 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        if (janela.isNegative() || janela.isZero() || janela.compareTo(JANELA_MAXIMA) > 0) {
+            throw new IllegalArgumentException("Janela deve ser positiva e de no máximo " + JANELA_MAXIMA);
+        }
+        this.limite = limite;
+        this.janelaNanos = janela.toNanos();
+        this.estados = estados;
+        this.relogio = relogio;
+        this.origem = relogio.getAsLong();
+    }
+
+    @Override
+    public Decisao tentarAdquirir(String chave) {
+        long agora = relogio.getAsLong() - origem;
+        long indice = (agora / janelaNanos) & MASCARA_INDICE;
+        long decorrido = agora % janelaNanos;
+        AtomicLong estado = estados.obter(chave, k -> new AtomicLong(indice << 32));
+
+        while (true) {
+            long atual = estado.get();
+            long anterior;
+            long contagem;
+
+            // Avança as janelas do estado salvo até a janela corrente
+            long diferenca = (indice - (atual >>> 32)) & MASCARA_INDICE;
+            if (diferenca == 0) {
+                anterior = (atual >>> 16) & 0xFFFF;
+                contagem = atual & 0xFFFF;
+            } else if (diferenca == 1) {
+                anterior = atual & 0xFFFF;
+                contagem = 0;
+            } else {
+                anterior = 0;
+                contagem = 0;
+            }
+
+            long restanteJanela = janelaNanos - decorrido;
+            long estimativa = anterior * restanteJanela / janelaNanos + contagem;
+
+            if (estimativa + 1 > limite) {
+                return new Decisao(false, limite, 0,
+                        espera(anterior, contagem, decorrido), reposicao(anterior, contagem, decorrido));
+            }
+
+            long novo = (indice << 32) | (anterior << 16) | (contagem + 1);
+            if (estado.compareAndSet(atual, novo)) {
+                return new Decisao(true, limite, limite - estimativa - 1, 0,
+                        reposicao(anterior, contagem + 1, decorrido));
+            }
+        }
+    }
+
+    /**
+     * Tempo até a estimativa permitir mais uma requisição.
+     */
+    private long espera(long anterior, long contagem, long decorrido) {
+        if (contagem + 1 <= limite && anterior > 0) {
+            // Ainda nesta janela, quando a parte da anterior diminuir o suficiente
+            long necessario = janelaNanos - (limite - contagem - 1) * janelaNanos / anterior;
+            return Math.max(1, necessario - decorrido);
+        }
+        // Na próxima janela, a atual passa a ser a anterior
+        long naProxima = contagem == 0 ? 0
+                : Math.max(0, janelaNanos - (limite - 1L) * janelaNanos / contagem);
+        return janelaNanos - decorrido + naProxima;
+    }
+
+    /**
+     * Tempo até todas as requisições saírem da janela deslizante.
+     */
+    private long reposicao(long anterior, long contagem, long decorrido) {
+        if (contagem > 0) return 2 * janelaNanos - decorrido;
+        if (anterior > 0) return janelaNanos - decorrido;
+        return 0;
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limit por token bucket, calculado como GCRA (Generic Cell Rate
+ * Algorithm).
+ *
+ * O balde comporta até "capacidade" fichas e recebe uma ficha a cada
+ * intervalo (periodo / reposicao), de forma contínua. Em vez de guardar
+ * a quantidade de fichas e o instante da última reposição, o estado de
+ * cada chave é um único long: o instante teórico (TAT) em que a próxima
+ * requisição estaria "em dia". Uma requisição é aceita se, somando um
+ * intervalo ao TAT, ele não ultrapassa agora + capacidade x intervalo.
+ *
+ * Diferente de uma janela fixa, não há rajada dupla na virada da janela:
+ * depois de consumir o balde, novas permissões surgem no ritmo da reposição.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    /** Quantidade máxima de fichas no balde */
+    private final int capacidade;
+
+    /** Tempo de reposição de uma ficha, em nanossegundos */
+    private final long intervaloNanos;
+
+    /** Rajada máxima em tempo (capacidade x intervalo) */
+    private final long toleranciaNanos;
+
+    /** Estado (TAT) por chave */
+    private final RateLimitKeyStore<AtomicLong> estados;
+
+    /** Relógio monotônico, em nanossegundos */
+    private final LongSupplier relogio;
+
+    /**
+     * Cria um limitador que permite "capacidade" requisições por período,
+     * repostas continuamente ao longo do período. Chaves ociosas por um
+     * período (balde cheio novamente) são descartadas.
+     *
+     * @param capacidade quantidade máxima de requisições em sequência
+     * @param periodo    tempo para repor todas as fichas
+     */
+    public TokenBucketRateLimiter(int capacidade, Duration periodo) {
+        this(capacidade, capacidade, periodo,
+                new RateLimitKeyStore<>(RateLimitKeyStore.MAX_CHAVES_PADRAO, periodo), System::nanoTime);
+    }
+
+    /**
+     * Construtor completo.
+     *
+     * @param capacidade quantidade máxima de fichas (rajada)
+     * @param reposicao  fichas repostas a cada período
+     * @param periodo    período de reposição
+     * @param estados    armazenamento do estado por chave
+     * @param relogio    relógio monotônico, em nanossegundos
+     */
+    public TokenBucketRateLimiter(int capacidade, int reposicao, Duration periodo,
+                                  RateLimitKeyStore<AtomicLong> estados, LongSupplier relogio) {
+        if (capacidade <= 0 || reposicao <= 0 || periodo.isNegative() || periodo.isZero()) {
+            throw new IllegalArgumentException("Capacidade, reposição e período devem ser positivos");
+        }
+        this.capacidade = capacidade;
+        this.intervaloNanos = Math.max(1, periodo.toNanos() / reposicao);
+        this.toleranciaNanos = Math.multiplyExact(intervaloNanos, (long) capacidade);
+        this.estados = estados;
+        this.relogio = relogio;
+    }
+
+    @Override
+    public Decisao tentarAdquirir(String chave) {
+        long agora = relogio.getAsLong();
+        AtomicLong estado = estados.obter(chave, k -> new AtomicLong(agora));
+
+        while (true) {
+            long tat = estado.get();
+            long novo = Math.max(tat, agora) + intervaloNanos;
+            long ocupado = novo - agora;
+
+            if (ocupado > toleranciaNanos) {
+                // Balde vazio: nenhuma escrita, apenas o tempo até a próxima ficha
+                return new Decisao(false, capacidade, 0, ocupado - toleranciaNanos, Math.max(0, tat - agora));
+            }
+            if (estado.compareAndSet(tat, novo)) {
+                return new Decisao(true, capacidade, (toleranciaNanos - ocupado) / intervaloNanos, 0, ocupado);
+            }
+        }
+    }
+}
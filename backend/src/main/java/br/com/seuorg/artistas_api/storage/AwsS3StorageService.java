@@ -2,22 +2,57 @@ package br.com.seuorg.artistas_api.storage;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.BucketAlreadyOwnedByYouException;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Implementação do serviço de armazenamento utilizando AWS S3.
@@ -25,82 +60,92 @@ import java.time.Duration;
  * Esta classe é responsável por realizar operações de upload,
  * download, exclusão de arquivos e geração de URLs pré-assinadas
  * no serviço S3 (ou compatível, como MinIO).
+ *
+ * Usa o S3Client e o S3Presigner únicos da aplicação (ver S3ClientConfig),
+ * de modo que todas as operações compartilham o mesmo pool de conexões.
  */
 @Slf4j
 @Service
+@ConditionalOnProperty(name = "armazenamento.tipo", havingValue = "s3", matchIfMissing = true)
 public class AwsS3StorageService implements S3StorageService {
 
-    // Cliente principal do S3 para operações padrão (upload, download, delete)
+    // Quantidade máxima de chaves aceitas pelo S3 em uma requisição DeleteObjects
+    private static final int MAX_DELETE_BATCH = 1000;
+
+    // Cliente principal do S3 (compartilhado, com pool de conexões único)
     private final S3Client s3;
 
     // Presigner usado para gerar URLs temporárias (pré-assinadas)
     private final S3Presigner presigner;
-    
-    // MinIO client para operações de bucket (opcional)
-    private final io.minio.MinioClient minioClient;
-    
-    // Endpoint do S3 (armazenado para uso posterior)
-    private final String endpoint;
-    private final String accessKey;
-    private final String secretKey;
 
     /**
-     * Construtor responsável por configurar o cliente S3 e o presigner.
+     * Modo de provisionamento de buckets:
+     * - lazy: verifica/cria o bucket no primeiro upload e guarda o resultado;
+     * - startup: verifica/cria o bucket padrão na inicialização (com fallback para lazy);
+     * - none: nunca verifica nem cria buckets.
+     */
+    private final String modoProvisionamento;
+
+    // Bucket padrão da aplicação (provisionado na inicialização no modo startup)
+    private final String bucketPadrao;
+
+    // Buckets já verificados/criados; evita uma chamada extra ao S3 por upload
+    private final Set<String> bucketsProvisionados = ConcurrentHashMap.newKeySet();
+
+    // Buffers reaproveitáveis para as partes dos uploads multipart
+    private final PartBufferPool bufferPool;
+
+    // Quantidade máxima de partes enviadas em paralelo por upload
+    private final int concorrenciaMultipart;
+
+    /**
+     * Construtor com injeção de dependências.
      *
-     * As propriedades são carregadas a partir do application.yml/properties.
+     * @param s3 cliente S3 compartilhado
+     * @param presigner presigner do S3
+     * @param bucketPadrao bucket padrão da aplicação
+     * @param modoProvisionamento modo de provisionamento de buckets (lazy, startup ou none)
+     * @param bufferPool buffers das partes dos uploads multipart
+     * @param concorrenciaMultipart partes enviadas em paralelo por upload
      */
     public AwsS3StorageService(
-            @Value("${s3.endpoint}") String endpoint,
-            @Value("${s3.access-key}") String accessKey,
-            @Value("${s3.secret-key}") String secretKey,
-            @Value("${s3.region:us-east-1}") String region
+            S3Client s3,
+            S3Presigner presigner,
+            @Value("${s3.bucket}") String bucketPadrao,
+            @Value("${s3.bucket-provisionamento:lazy}") String modoProvisionamento,
+            PartBufferPool bufferPool,
+            @Value("${s3.multipart.concorrencia:4}") int concorrenciaMultipart
     ) {
-        this.endpoint = endpoint;
-        this.accessKey = accessKey;
-        this.secretKey = secretKey;
-        
-        log.info("Inicializando AwsS3StorageService com endpoint: {}", endpoint);
-        
-        // Cria o provedor de credenciais estáticas
-        StaticCredentialsProvider creds = StaticCredentialsProvider.create(
-                AwsBasicCredentials.create(accessKey, secretKey)
-        );
-
-        // Define a região do S3
-        Region r = Region.of(region);
-
-        // Configura o cliente S3
-        this.s3 = S3Client.builder()
-                .endpointOverride(URI.create(endpoint))
-                .region(r)
-                .credentialsProvider(creds)
-                // Necessário para serviços compatíveis com S3 (ex: MinIO)
-                .forcePathStyle(true)
-                .build();
+        this.s3 = s3;
+        this.presigner = presigner;
+        this.bucketPadrao = bucketPadrao;
+        this.modoProvisionamento = modoProvisionamento.trim().toLowerCase();
+        this.bufferPool = bufferPool;
+        this.concorrenciaMultipart = Math.max(1, concorrenciaMultipart);
+    }
 
-        // Configura o presigner para geração de URLs temporárias
-        this.presigner = S3Presigner.builder()
-                .endpointOverride(URI.create(endpoint))
-                .region(r)
-                .credentialsProvider(creds)
-                .build();
-        
-        // Try to initialize MinIO client (optional) for bucket operations
+    /**
+     * Provisiona o bucket padrão na inicialização (modo startup).
+     * Em caso de falha, o bucket é verificado no primeiro upload.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void provisionarNaInicializacao() {
+        if (!"startup".equals(modoProvisionamento)) return;
         try {
-            this.minioClient = io.minio.MinioClient.builder()
-                    .endpoint(endpoint)
-                    .credentials(accessKey, secretKey)
-                    .build();
-            log.info("MinioClient inicializado com sucesso");
-        } catch (Exception e) {
-            log.warn("MinioClient não disponível ou falhou na inicialização: {}", e.getMessage());
-            throw new RuntimeException("Falha ao inicializar MinIO client", e);
+            ensureBucketExists(bucketPadrao);
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível provisionar o bucket '{}' na inicialização: {}", bucketPadrao, e.getMessage());
         }
     }
 
     /**
      * Realiza o upload de um arquivo para o S3.
      *
+     * O bucket é verificado apenas na primeira vez em que é usado. Se o S3
+     * responder NoSuchBucket (bucket removido depois da verificação), o
+     * bucket é provisionado novamente e a falha é propagada, pois o stream
+     * já foi consumido; o próximo upload encontra o bucket criado.
+     *
      * @param bucket       nome do bucket
      * @param key          chave/caminho do arquivo no S3
      * @param data         stream de dados do arquivo
@@ -111,8 +156,10 @@ public class AwsS3StorageService implements S3StorageService {
     public void upload(String bucket, String key, InputStream data, long size, String contentType) throws IOException {
         log.info("Iniciando upload para bucket: {}, key: {}, size: {}", bucket, key, size);
         
-        // Garantir que o bucket exista - se não existe, tenta criar
-        ensureBucketExists(bucket);
+        // Garante que o bucket exista (verificado uma única vez por bucket)
+        if (!"none".equals(modoProvisionamento) && !bucketsProvisionados.contains(bucket)) {
+            ensureBucketExists(bucket);
+        }
         
         PutObjectRequest req = PutObjectRequest.builder()
                 .bucket(bucket)
@@ -122,51 +169,286 @@ public class AwsS3StorageService implements S3StorageService {
                 .contentLength(size)
                 .build();
 
-        if (size <= 0) {
-            // Caso o tamanho não seja conhecido, lê todos os bytes para garantir o envio
-            byte[] bytes = data.readAllBytes();
-            log.info("Upload de {} bytes (tamanho desconhecido)", bytes.length);
-            s3.putObject(req, RequestBody.fromBytes(bytes));
-        } else {
-            // Upload normal utilizando stream
-            log.info("Upload de stream com {} bytes", size);
-            s3.putObject(req, RequestBody.fromInputStream(data, size));
+        try {
+            if (size <= 0) {
+                // Tamanho desconhecido: envia em partes, com memória limitada
+                uploadMultipart(bucket, key, data, contentType);
+            } else {
+                // Upload normal utilizando stream
+                log.info("Upload de stream com {} bytes", size);
+                s3.putObject(req, RequestBody.fromInputStream(data, size));
+            }
+        } catch (NoSuchBucketException e) {
+            bucketsProvisionados.remove(bucket);
+            if (!"none".equals(modoProvisionamento)) {
+                log.warn("Bucket '{}' não encontrado durante o upload; provisionando novamente", bucket);
+                ensureBucketExists(bucket);
+            }
+            throw new IOException("Bucket inexistente durante o upload: " + bucket, e);
         }
         
         log.info("Upload concluído para key: {}", key);
     }
     
     /**
-     * Garante que um bucket existe, criando-o se necessário
+     * Envia um arquivo de tamanho desconhecido usando upload multipart.
+     *
+     * O stream é lido em partes de tamanho fixo, em buffers obtidos do
+     * PartBufferPool, e as partes são enviadas em paralelo (até
+     * s3.multipart.concorrencia por upload). Arquivos menores que uma
+     * parte são enviados com um único PutObject. Em caso de falha, as
+     * partes pendentes são canceladas e, depois que as partes em envio
+     * terminam, o upload multipart é abortado.
      */
-    private void ensureBucketExists(String bucket) {
-        if (minioClient != null) {
+    private void uploadMultipart(String bucket, String key, InputStream data, String contentType) throws IOException {
+        byte[] primeiro = obterBuffer();
+        int lidos;
+        try {
+            lidos = lerParte(data, primeiro);
+        } catch (IOException e) {
+            bufferPool.devolver(primeiro);
+            throw e;
+        }
+
+        // Cabe em uma parte: upload simples
+        if (lidos < primeiro.length) {
             try {
-                // Verifica se o bucket existe
-                boolean bucketExists = minioClient.bucketExists(
-                        io.minio.BucketExistsArgs.builder()
-                                .bucket(bucket)
-                                .build()
+                log.info("Upload de {} bytes (tamanho desconhecido)", lidos);
+                s3.putObject(
+                        PutObjectRequest.builder().bucket(bucket).key(key).contentType(contentType).build(),
+                        RequestBody.fromInputStream(new ByteArrayInputStream(primeiro, 0, lidos), lidos)
                 );
-                
-                log.info("Bucket '{}' existe? {}", bucket, bucketExists);
-                
-                // Se não existe, cria o bucket
-                if (!bucketExists) {
-                    log.info("Criando bucket: {}", bucket);
-                    minioClient.makeBucket(
-                            io.minio.MakeBucketArgs.builder()
-                                    .bucket(bucket)
-                                    .build()
-                    );
-                    log.info("Bucket '{}' criado com sucesso", bucket);
+            } finally {
+                bufferPool.devolver(primeiro);
+            }
+            return;
+        }
+
+        String uploadId;
+        try {
+            uploadId = s3.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .contentType(contentType)
+                    .build()).uploadId();
+        } catch (RuntimeException e) {
+            bufferPool.devolver(primeiro);
+            throw e;
+        }
+
+        List<Parte> partes = new ArrayList<>();
+        Semaphore limite = new Semaphore(concorrenciaMultipart);
+        long total = 0;
+        Exception falha = null;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                byte[] buffer = primeiro;
+                int numero = 1;
+                while (true) {
+                    total += lidos;
+                    Parte parte = new Parte(buffer);
+                    partes.add(parte);
+                    parte.futuro = executor.submit(enviarParte(bucket, key, uploadId, numero++, parte, lidos, limite));
+                    if (lidos < buffer.length) break;
+
+                    buffer = obterBuffer();
+                    try {
+                        lidos = lerParte(data, buffer);
+                    } catch (IOException e) {
+                        bufferPool.devolver(buffer);
+                        throw e;
+                    }
+                    if (lidos == 0) {
+                        bufferPool.devolver(buffer);
+                        break;
+                    }
                 }
+
+                List<CompletedPart> concluidas = new ArrayList<>();
+                for (Parte parte : partes) {
+                    concluidas.add(parte.futuro.get());
+                }
+
+                s3.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .multipartUpload(CompletedMultipartUpload.builder().parts(concluidas).build())
+                        .build());
+                log.info("Upload multipart de {} bytes em {} partes", total, concluidas.size());
             } catch (Exception e) {
-                log.error("Erro ao verificar/criar bucket com MinioClient: {}", e.getMessage(), e);
+                falha = e;
+                for (Parte parte : partes) {
+                    if (parte.futuro != null) parte.futuro.cancel(true);
+                }
+            }
+        }
+
+        if (falha != null) {
+            // Partes canceladas antes de começar não devolvem o próprio buffer;
+            // as que já começaram são aguardadas (o cancelamento não espera por elas)
+            boolean interrompida = falha instanceof InterruptedException;
+            for (Parte parte : partes) {
+                if (parte.reivindicar()) {
+                    bufferPool.devolver(parte.buffer);
+                } else {
+                    interrompida |= parte.aguardar();
+                }
+            }
+            // Aborta somente sem partes em envio, para que nenhuma seja
+            // gravada depois do abort (o que deixaria o upload pendente)
+            abortar(bucket, key, uploadId);
+            if (interrompida) Thread.currentThread().interrupt();
+            Throwable causa = falha instanceof ExecutionException ? falha.getCause() : falha;
+            if (causa instanceof NoSuchBucketException nsb) throw nsb;
+            throw new IOException("Falha no upload multipart: " + key, causa);
+        }
+    }
+
+    /**
+     * Parte de um upload multipart e o seu buffer. O buffer volta ao pool
+     * exatamente uma vez: pela tarefa de envio, se ela começar, ou por quem
+     * cancelou o upload, se ela nunca começar.
+     */
+    private static final class Parte {
+
+        final byte[] buffer;
+
+        final AtomicBoolean reivindicada = new AtomicBoolean();
+
+        final CountDownLatch concluida = new CountDownLatch(1);
+
+        Future<CompletedPart> futuro;
+
+        Parte(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Assume a devolução do buffer.
+         *
+         * @return true se ninguém a havia assumido
+         */
+        boolean reivindicar() {
+            return reivindicada.compareAndSet(false, true);
+        }
+
+        /**
+         * Aguarda o fim do envio, mesmo se a thread atual for interrompida.
+         *
+         * @return true se houve interrupção durante a espera
+         */
+        boolean aguardar() {
+            boolean interrompida = false;
+            while (true) {
+                try {
+                    concluida.await();
+                    return interrompida;
+                } catch (InterruptedException e) {
+                    interrompida = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cria a tarefa de envio de uma parte; o buffer volta ao pool ao final.
+     */
+    private Callable<CompletedPart> enviarParte(
+            String bucket, String key, String uploadId, int numero, Parte parte, int tamanho, Semaphore limite
+    ) {
+        return () -> {
+            if (!parte.reivindicar()) {
+                throw new CancellationException("Upload multipart cancelado");
+            }
+            try {
+                limite.acquire();
+                try {
+                    String etag = s3.uploadPart(
+                            UploadPartRequest.builder()
+                                    .bucket(bucket)
+                                    .key(key)
+                                    .uploadId(uploadId)
+                                    .partNumber(numero)
+                                    .contentLength((long) tamanho)
+                                    .build(),
+                            RequestBody.fromInputStream(new ByteArrayInputStream(parte.buffer, 0, tamanho), tamanho)
+                    ).eTag();
+                    return CompletedPart.builder().partNumber(numero).eTag(etag).build();
+                } finally {
+                    limite.release();
+                }
+            } finally {
+                bufferPool.devolver(parte.buffer);
+                parte.concluida.countDown();
+            }
+        };
+    }
+
+    private void abortar(String bucket, String key, String uploadId) {
+        try {
+            s3.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+        } catch (RuntimeException e) {
+            log.warn("Falha ao abortar upload multipart {} de {}: {}", uploadId, key, e.getMessage());
+        }
+    }
+
+    private byte[] obterBuffer() throws IOException {
+        try {
+            return bufferPool.obter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrompido aguardando buffer de upload", e);
+        }
+    }
+
+    /**
+     * Lê do stream até preencher o buffer ou chegar ao fim.
+     *
+     * @return quantidade de bytes lidos
+     */
+    private static int lerParte(InputStream data, byte[] buffer) throws IOException {
+        return data.readNBytes(buffer, 0, buffer.length);
+    }
+
+    /**
+     * Garante que um bucket existe, criando-o se necessário,
+     * e registra o bucket como provisionado.
+     */
+    private synchronized void ensureBucketExists(String bucket) {
+        if (bucketsProvisionados.contains(bucket)) return;
+
+        try {
+            s3.headBucket(HeadBucketRequest.builder().bucket(bucket).build());
+            log.info("Bucket '{}' existe", bucket);
+        } catch (S3Exception e) {
+            if (e.statusCode() != 404) {
+                log.error("Erro ao verificar bucket '{}': status={}, message={}", bucket, e.statusCode(), e.getMessage());
                 throw new RuntimeException("Falha ao verificar/criar bucket: " + bucket, e);
             }
-        } else {
-            log.warn("MinioClient não disponível, não posso criar bucket automaticamente");
+            criarBucket(bucket);
+        }
+        bucketsProvisionados.add(bucket);
+    }
+
+    /**
+     * Cria um bucket, tolerando a criação concorrente por outra instância.
+     */
+    private void criarBucket(String bucket) {
+        log.info("Criando bucket: {}", bucket);
+        try {
+            s3.createBucket(CreateBucketRequest.builder().bucket(bucket).build());
+            log.info("Bucket '{}' criado com sucesso", bucket);
+        } catch (BucketAlreadyOwnedByYouException e) {
+            log.info("Bucket '{}' já foi criado por outra instância", bucket);
+        } catch (S3Exception e) {
+            log.error("Erro ao criar bucket '{}': {}", bucket, e.getMessage(), e);
+            throw new RuntimeException("Falha ao verificar/criar bucket: " + bucket, e);
         }
     }
 
@@ -185,6 +467,59 @@ public class AwsS3StorageService implements S3StorageService {
         s3.deleteObject(req);
     }
 
+    /**
+     * Remove vários arquivos do S3 usando DeleteObjects,
+     * em lotes de até 1000 chaves por requisição.
+     *
+     * @param bucket nome do bucket
+     * @param keys   chaves dos arquivos no S3
+     * @throws IllegalStateException se algum objeto não puder ser removido
+     */
+    @Override
+    public void deleteAll(String bucket, List<String> keys) {
+        for (int i = 0; i < keys.size(); i += MAX_DELETE_BATCH) {
+            List<ObjectIdentifier> lote = keys.subList(i, Math.min(i + MAX_DELETE_BATCH, keys.size()))
+                    .stream()
+                    .map(k -> ObjectIdentifier.builder().key(k).build())
+                    .toList();
+
+            DeleteObjectsResponse resp = s3.deleteObjects(DeleteObjectsRequest.builder()
+                    .bucket(bucket)
+                    .delete(Delete.builder().objects(lote).quiet(true).build())
+                    .build());
+
+            // Em modo quiet o S3 retorna apenas as chaves que falharam
+            if (resp.hasErrors() && !resp.errors().isEmpty()) {
+                throw new IllegalStateException(String.format(
+                        "Falha ao remover %d de %d objetos do bucket %s: %s",
+                        resp.errors().size(), lote.size(), bucket, resp.errors().get(0).message()));
+            }
+        }
+        log.info("Removidos {} objetos do bucket {} em lote", keys.size(), bucket);
+    }
+
+    /**
+     * Copia um arquivo no próprio S3 (CopyObject), preservando o tipo de conteúdo.
+     *
+     * @param bucket  nome do bucket
+     * @param origem  chave do arquivo copiado
+     * @param destino chave da cópia
+     * @throws IOException em caso de falha na cópia ou se a origem não existir
+     */
+    @Override
+    public void copy(String bucket, String origem, String destino) throws IOException {
+        try {
+            s3.copyObject(CopyObjectRequest.builder()
+                    .sourceBucket(bucket)
+                    .sourceKey(origem)
+                    .destinationBucket(bucket)
+                    .destinationKey(destino)
+                    .build());
+        } catch (S3Exception ex) {
+            throw new IOException("Falha ao copiar objeto S3 " + origem, ex);
+        }
+    }
+
     /**
      * Gera uma URL pré-assinada para download temporário de um arquivo.
      *
@@ -208,6 +543,63 @@ public class AwsS3StorageService implements S3StorageService {
         return presigner.presignGetObject(presignRequest).url().toString();
     }
 
+    /**
+     * Gera uma URL pré-assinada para envio direto de um arquivo ao S3.
+     *
+     * O bucket é provisionado antes da assinatura (conforme o modo
+     * configurado), já que o envio não passa pela aplicação.
+     *
+     * @param bucket      nome do bucket
+     * @param key         chave do arquivo no S3
+     * @param contentType tipo MIME assinado na URL
+     * @param size        tamanho assinado na URL
+     * @param expiration  tempo de expiração da URL
+     * @return URL temporária para envio do arquivo
+     */
+    @Override
+    public String generatePresignedUploadUrl(String bucket, String key, String contentType, long size, Duration expiration) {
+        if (!"none".equals(modoProvisionamento) && !bucketsProvisionados.contains(bucket)) {
+            ensureBucketExists(bucket);
+        }
+
+        PutObjectRequest putReq = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(size)
+                .build();
+
+        PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                .signatureDuration(expiration)
+                .putObjectRequest(putReq)
+                .build();
+
+        return presigner.presignPutObject(presignRequest).url().toString();
+    }
+
+    /**
+     * Consulta os metadados de um arquivo com HeadObject.
+     *
+     * @param bucket nome do bucket
+     * @param key    chave do arquivo no S3
+     * @return metadados do arquivo, ou vazio se ele não existir
+     */
+    @Override
+    public Optional<StorageMetadata> head(String bucket, String key) throws IOException {
+        try {
+            HeadObjectResponse resp = s3.headObject(HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .build());
+            return Optional.of(new StorageMetadata(resp.contentLength(), resp.contentType()));
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw new IOException("Falha ao consultar objeto S3", ex);
+        }
+    }
+
     /**
      * Realiza o download de um arquivo do S3.
      *
@@ -230,4 +622,37 @@ public class AwsS3StorageService implements S3StorageService {
             throw new IOException("Falha ao baixar objeto S3", ex);
         }
     }
+
+    /**
+     * Abre o conteúdo de um arquivo do S3 para leitura em streaming.
+     *
+     * O intervalo, quando informado, é repassado ao S3 no GetObject,
+     * de modo que apenas os bytes solicitados são transferidos.
+     *
+     * @param bucket nome do bucket
+     * @param key    chave do arquivo no S3
+     * @param range  intervalo no formato do cabeçalho HTTP Range, ou null
+     * @return objeto aberto para leitura
+     */
+    @Override
+    public StorageObject openStream(String bucket, String key, String range) throws IOException {
+        try {
+            ResponseInputStream<GetObjectResponse> in = s3.getObject(
+                    GetObjectRequest.builder()
+                            .bucket(bucket)
+                            .key(key)
+                            .range(range)
+                            .build()
+            );
+            GetObjectResponse resp = in.response();
+            return new StorageObject(in, resp.contentLength(), resp.contentRange(), resp.contentType());
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 416) {
+                throw new RangeNotSatisfiableException("Intervalo inválido para o objeto " + key, ex);
+            }
+            throw new IOException("Falha ao abrir objeto S3", ex);
+        } catch (Exception ex) {
+            throw new IOException("Falha ao abrir objeto S3", ex);
+        }
+    }
 }
@@ -0,0 +1,195 @@
+package br.com.seuorg.artistas_api.storage;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serviço de armazenamento com cache de leitura local.
+ *
+ * Envolve o AwsS3StorageService e atende as leituras a partir do
+ * StorageContentCache quando possível. Em caso de falta, leituras do
+ * arquivo inteiro de objetos elegíveis são repassadas em streaming ao
+ * cliente enquanto alimentam a carga do cache; leituras de intervalos e
+ * objetos grandes demais vão direto ao S3. Leituras concorrentes de um
+ * arquivo em carga também vão direto ao S3, sem esperar pelo primeiro
+ * cliente (que pode ser lento).
+ * Remoções invalidam as entradas correspondentes.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(name = "armazenamento.tipo", havingValue = "s3", matchIfMissing = true)
+public class CachingStorageService implements S3StorageService {
+
+    /** Armazenamento de origem */
+    private final AwsS3StorageService delegate;
+
+    /** Cache local do conteúdo */
+    private final StorageContentCache cache;
+
+    public CachingStorageService(AwsS3StorageService delegate, StorageContentCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public void upload(String bucket, String key, InputStream data, long size, String contentType) throws IOException {
+        delegate.upload(bucket, key, data, size, contentType);
+    }
+
+    @Override
+    public void delete(String bucket, String key) {
+        cache.invalidar(bucket, key);
+        delegate.delete(bucket, key);
+        // Também depois: uma carga iniciada antes da remoção não pode publicar o conteúdo removido
+        cache.invalidar(bucket, key);
+    }
+
+    @Override
+    public void deleteAll(String bucket, List<String> keys) {
+        cache.invalidar(bucket, keys);
+        delegate.deleteAll(bucket, keys);
+        cache.invalidar(bucket, keys);
+    }
+
+    @Override
+    public void copy(String bucket, String origem, String destino) throws IOException {
+        delegate.copy(bucket, origem, destino);
+    }
+
+    @Override
+    public String generatePresignedUrl(String bucket, String key, Duration expiration) {
+        return delegate.generatePresignedUrl(bucket, key, expiration);
+    }
+
+    @Override
+    public String generatePresignedUploadUrl(String bucket, String key, String contentType, long size, Duration expiration) {
+        return delegate.generatePresignedUploadUrl(bucket, key, contentType, size, expiration);
+    }
+
+    @Override
+    public Optional<StorageMetadata> head(String bucket, String key) throws IOException {
+        return delegate.head(bucket, key);
+    }
+
+    @Override
+    public byte[] download(String bucket, String key) throws IOException {
+        try (StorageObject objeto = openStream(bucket, key, null)) {
+            return objeto.content().readAllBytes();
+        }
+    }
+
+    @Override
+    public StorageObject openStream(String bucket, String key, String range) throws IOException {
+        Optional<StorageObject> emCache = cache.abrir(bucket, key, range);
+        if (emCache.isPresent()) {
+            return emCache.get();
+        }
+
+        if (range != null) {
+            return delegate.openStream(bucket, key, range);
+        }
+
+        Optional<StorageContentCache.Carga> iniciada = cache.iniciarCarga(bucket, key);
+        if (iniciada.isEmpty()) {
+            // Cache desabilitado ou outra leitura já está carregando o arquivo
+            return delegate.openStream(bucket, key, null);
+        }
+
+        StorageContentCache.Carga carga = iniciada.get();
+        StorageObject objeto;
+        try {
+            objeto = delegate.openStream(bucket, key, null);
+        } catch (IOException | RuntimeException e) {
+            carga.descartar();
+            throw e;
+        }
+        if (!carga.preparar(objeto.contentLength(), objeto.contentType())) {
+            return objeto;
+        }
+        return new StorageObject(new CargaInputStream(objeto.content(), carga),
+                objeto.contentLength(), null, objeto.contentType());
+    }
+
+    /**
+     * Repassa o conteúdo da origem e alimenta a carga do cache com os bytes
+     * lidos. Fechado antes do fim, ou com falha na leitura, descarta a carga.
+     */
+    private static final class CargaInputStream extends FilterInputStream {
+
+        private final StorageContentCache.Carga carga;
+
+        private CargaInputStream(InputStream origem, StorageContentCache.Carga carga) {
+            super(origem);
+            this.carga = carga;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int n = read(b, 0, 1);
+            return n == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n;
+            try {
+                n = in.read(b, off, len);
+            } catch (IOException e) {
+                carga.descartar();
+                throw e;
+            }
+            if (n == -1) {
+                carga.concluir();
+            } else {
+                carga.escrever(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Lê em vez de pular, para que a carga receba todos os bytes
+            byte[] descartados = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+            long pulados = 0;
+            while (pulados < n) {
+                int lidos = read(descartados, 0, (int) Math.min(descartados.length, n - pulados));
+                if (lidos == -1) break;
+                pulados += lidos;
+            }
+            return pulados;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void mark(int limite) {
+            // não suportado
+        }
+
+        @Override
+        public void reset() throws IOException {
+            throw new IOException("mark/reset não suportado");
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                carga.descartar();
+            }
+        }
+    }
+}
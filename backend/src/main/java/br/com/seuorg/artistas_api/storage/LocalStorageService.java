@@ -0,0 +1,343 @@
+package br.com.seuorg.artistas_api.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Implementação do serviço de armazenamento em um diretório local,
+ * para instalações de um único nó e testes, sem S3/MinIO.
+ *
+ * Habilitada com armazenamento.tipo=local; os arquivos ficam em
+ * armazenamento.local.diretorio. Cada bucket é um subdiretório e cada
+ * arquivo é gravado em {bucket}/{aa}/{bb}/{hash}, onde hash é o SHA-256
+ * da chave: a distribuição em dois níveis mantém os diretórios pequenos
+ * e a chave nunca é usada diretamente como caminho.
+ *
+ * - Gravação atômica: o conteúdo é escrito em um arquivo temporário no
+ *   mesmo diretório, sincronizado com o disco e renomeado sobre o destino,
+ *   de modo que leitores nunca veem um arquivo parcial.
+ * - Leitura sem cópia: openStream informa a região do arquivo
+ *   (StorageObject.regiao), que o endpoint de conteúdo entrega com
+ *   sendfile quando o servidor suporta; o stream devolvido lê por
+ *   posição do FileChannel e usa FileChannel.transferTo quando copiado.
+ * - O tipo de conteúdo é guardado em um atributo estendido do arquivo,
+ *   quando o sistema de arquivos suporta.
+ *
+ * Não há URLs pré-assinadas: s3.public-base-url deve ficar vazio, para
+ * que as capas sejam servidas por /api/capas/{id}/conteudo, e o envio
+ * direto ao armazenamento não está disponível (as rotas de envio direto
+ * respondem 501 antes de chegar a este serviço).
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "armazenamento.tipo", havingValue = "local")
+public class LocalStorageService implements S3StorageService {
+
+    /** Nomes de bucket aceitos (mesmas regras básicas do S3) */
+    private static final Pattern NOME_BUCKET = Pattern.compile("[a-z0-9][a-z0-9.-]{0,62}");
+
+    /** Atributo estendido com o tipo de conteúdo do arquivo */
+    private static final String ATRIBUTO_CONTENT_TYPE = "content-type";
+
+    /** Diretório raiz do armazenamento */
+    private final Path raiz;
+
+    /**
+     * Construtor com injeção das configurações.
+     *
+     * @param diretorio diretório raiz do armazenamento
+     * @throws IOException se o diretório não puder ser criado
+     */
+    public LocalStorageService(
+            @Value("${armazenamento.local.diretorio:./data/armazenamento}") String diretorio
+    ) throws IOException {
+        this.raiz = Path.of(diretorio).toAbsolutePath().normalize();
+        Files.createDirectories(raiz);
+        log.info("Armazenamento local em {}", raiz);
+    }
+
+    /**
+     * Grava um arquivo de forma atômica (arquivo temporário + renomeação).
+     *
+     * @param bucket      nome do bucket
+     * @param key         chave do arquivo
+     * @param data        conteúdo
+     * @param size        tamanho esperado em bytes, ou -1 se desconhecido
+     * @param contentType tipo MIME do arquivo
+     * @throws IOException em caso de falha na gravação ou tamanho divergente
+     */
+    @Override
+    public void upload(String bucket, String key, InputStream data, long size, String contentType) throws IOException {
+        Path destino = caminho(bucket, key);
+        Files.createDirectories(destino.getParent());
+
+        Path temporario = Files.createTempFile(destino.getParent(), ".upload-", ".tmp");
+        try {
+            long gravados;
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+                gravados = data.transferTo(Channels.newOutputStream(canal));
+                canal.force(true);
+            }
+            if (size >= 0 && gravados != size) {
+                throw new IOException(String.format(
+                        "Tamanho divergente no upload de %s: esperado %d, recebido %d", key, size, gravados));
+            }
+            gravarContentType(temporario, contentType);
+            mover(temporario, destino);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporario);
+            throw e;
+        }
+    }
+
+    @Override
+    public void delete(String bucket, String key) {
+        try {
+            Files.deleteIfExists(caminho(bucket, key));
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao remover arquivo local: " + key, e);
+        }
+    }
+
+    /**
+     * Copia um arquivo, com a mesma gravação atômica do upload.
+     *
+     * @param bucket  nome do bucket
+     * @param origem  chave do arquivo copiado
+     * @param destino chave da cópia
+     * @throws IOException em caso de falha na cópia ou se a origem não existir
+     */
+    @Override
+    public void copy(String bucket, String origem, String destino) throws IOException {
+        Path arquivo = caminho(bucket, origem);
+        try (InputStream in = Files.newInputStream(arquivo)) {
+            upload(bucket, destino, in, Files.size(arquivo), lerContentType(arquivo));
+        }
+    }
+
+    @Override
+    public String generatePresignedUrl(String bucket, String key, Duration expiration) {
+        throw new UnsupportedOperationException("Armazenamento local não gera URLs pré-assinadas");
+    }
+
+    @Override
+    public String generatePresignedUploadUrl(String bucket, String key, String contentType, long size, Duration expiration) {
+        throw new UnsupportedOperationException("Armazenamento local não suporta envio direto");
+    }
+
+    @Override
+    public Optional<StorageMetadata> head(String bucket, String key) throws IOException {
+        Path arquivo = caminho(bucket, key);
+        if (!Files.isRegularFile(arquivo)) {
+            return Optional.empty();
+        }
+        return Optional.of(new StorageMetadata(Files.size(arquivo), lerContentType(arquivo)));
+    }
+
+    @Override
+    public byte[] download(String bucket, String key) throws IOException {
+        return Files.readAllBytes(caminho(bucket, key));
+    }
+
+    /**
+     * Abre o arquivo (ou o intervalo solicitado) para leitura.
+     *
+     * O objeto devolvido informa a região do arquivo, permitindo que o
+     * conteúdo seja enviado sem passar pela memória da aplicação.
+     *
+     * @param bucket nome do bucket
+     * @param key    chave do arquivo
+     * @param range  intervalo no formato do cabeçalho HTTP Range, ou null
+     * @return objeto aberto para leitura
+     * @throws RangeNotSatisfiableException se o intervalo estiver fora do arquivo
+     * @throws IOException se o arquivo não existir ou não puder ser aberto
+     */
+    @Override
+    public StorageObject openStream(String bucket, String key, String range) throws IOException {
+        Path arquivo = caminho(bucket, key);
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        try {
+            long total = canal.size();
+            long inicio = 0;
+            long tamanho = total;
+            String contentRange = null;
+
+            if (range != null) {
+                try {
+                    HttpRange r = HttpRange.parseRanges(range).get(0);
+                    inicio = r.getRangeStart(total);
+                    long fim = r.getRangeEnd(total);
+                    if (inicio >= total || inicio > fim) {
+                        throw new RangeNotSatisfiableException("Intervalo inválido: " + range, null);
+                    }
+                    tamanho = fim - inicio + 1;
+                    contentRange = "bytes " + inicio + "-" + fim + "/" + total;
+                } catch (IllegalArgumentException e) {
+                    throw new RangeNotSatisfiableException("Intervalo inválido: " + range, e);
+                }
+            }
+
+            return new StorageObject(
+                    new RegiaoInputStream(canal, inicio, tamanho),
+                    tamanho,
+                    contentRange,
+                    lerContentType(arquivo),
+                    new StorageObject.RegiaoArquivo(arquivo, inicio)
+            );
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Resolve o caminho do arquivo de uma chave: {raiz}/{bucket}/{aa}/{bb}/{sha256(chave)}.
+     */
+    Path caminho(String bucket, String key) {
+        if (bucket == null || !NOME_BUCKET.matcher(bucket).matches() || bucket.contains("..")) {
+            throw new IllegalArgumentException("Nome de bucket inválido: " + bucket);
+        }
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Chave vazia");
+        }
+        String hash = sha256(key);
+        return raiz.resolve(bucket)
+                .resolve(hash.substring(0, 2))
+                .resolve(hash.substring(2, 4))
+                .resolve(hash);
+    }
+
+    /**
+     * Renomeia o arquivo temporário sobre o destino, atomicamente
+     * quando o sistema de arquivos suporta.
+     */
+    private static void mover(Path origem, Path destino) throws IOException {
+        try {
+            Files.move(origem, destino, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void gravarContentType(Path arquivo, String contentType) {
+        if (contentType == null) return;
+        UserDefinedFileAttributeView atributos = Files.getFileAttributeView(arquivo, UserDefinedFileAttributeView.class);
+        if (atributos == null) return;
+        try {
+            atributos.write(ATRIBUTO_CONTENT_TYPE, StandardCharsets.UTF_8.encode(contentType));
+        } catch (IOException | UnsupportedOperationException e) {
+            // Sistema de arquivos sem atributos estendidos: o tipo fica apenas no banco
+            log.debug("Tipo de conteúdo não gravado em {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    private static String lerContentType(Path arquivo) {
+        UserDefinedFileAttributeView atributos = Files.getFileAttributeView(arquivo, UserDefinedFileAttributeView.class);
+        if (atributos == null) return null;
+        try {
+            ByteBuffer valor = ByteBuffer.allocate(atributos.size(ATRIBUTO_CONTENT_TYPE));
+            atributos.read(ATRIBUTO_CONTENT_TYPE, valor);
+            return StandardCharsets.UTF_8.decode(valor.flip()).toString();
+        } catch (IOException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static String sha256(String valor) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(valor.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * InputStream sobre uma região de um FileChannel, com leituras por
+     * posição. A cópia para outro stream usa FileChannel.transferTo, que
+     * o sistema operacional executa sem passar pela memória da JVM quando
+     * o destino é um arquivo ou socket.
+     */
+    private static final class RegiaoInputStream extends InputStream {
+
+        private final FileChannel canal;
+        private long posicao;
+        private final long fim;
+
+        private RegiaoInputStream(FileChannel canal, long inicio, long tamanho) {
+            this.canal = canal;
+            this.posicao = inicio;
+            this.fim = inicio + tamanho;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            long restante = fim - posicao;
+            if (restante <= 0) return -1;
+            int n = canal.read(ByteBuffer.wrap(b, off, (int) Math.min(len, restante)), posicao);
+            if (n < 0) return -1;
+            posicao += n;
+            return n;
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            var destino = Channels.newChannel(out);
+            long total = 0;
+            while (posicao < fim) {
+                long n = canal.transferTo(posicao, fim - posicao, destino);
+                if (n <= 0) break;
+                posicao += n;
+                total += n;
+            }
+            return total;
+        }
+
+        @Override
+        public long skip(long n) {
+            long pulados = Math.max(0, Math.min(n, fim - posicao));
+            posicao += pulados;
+            return pulados;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, fim - posicao);
+        }
+
+        @Override
+        public void close() throws IOException {
+            canal.close();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.seuorg.artistas_api.storage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool de buffers de tamanho fixo usados nas partes dos uploads multipart.
+ *
+ * Os buffers são alocados sob demanda até o limite configurado e depois
+ * reaproveitados. Quando todos estão em uso, quem pede um buffer aguarda a
+ * devolução de outro, o que limita a memória total usada pelos uploads a
+ * s3.multipart.buffers x s3.multipart.tamanho-parte. A espera é limitada a
+ * s3.multipart.espera-buffer: esgotado o prazo, o upload falha em vez de
+ * ficar bloqueado indefinidamente.
+ */
+@Component
+public class PartBufferPool {
+
+    /** Buffers livres para reaproveitamento */
+    private final BlockingQueue<byte[]> livres;
+
+    /** Tamanho de cada buffer (tamanho da parte) */
+    private final int tamanhoParte;
+
+    /** Quantidade máxima de buffers */
+    private final int maxBuffers;
+
+    /** Quantidade de buffers já alocados */
+    private final AtomicInteger alocados = new AtomicInteger();
+
+    /** Espera máxima por um buffer livre */
+    private final Duration espera;
+
+    public PartBufferPool(int tamanhoParte, int maxBuffers) {
+        this(tamanhoParte, maxBuffers, Duration.ofSeconds(30));
+    }
+
+    @Autowired
+    public PartBufferPool(
+            @Value("${s3.multipart.tamanho-parte:8388608}") int tamanhoParte,
+            @Value("${s3.multipart.buffers:16}") int maxBuffers,
+            @Value("${s3.multipart.espera-buffer:30s}") Duration espera
+    ) {
+        if (tamanhoParte <= 0 || maxBuffers <= 0) {
+            throw new IllegalArgumentException("Tamanho da parte e quantidade de buffers devem ser positivos");
+        }
+        this.tamanhoParte = tamanhoParte;
+        this.maxBuffers = maxBuffers;
+        this.espera = espera;
+        this.livres = new ArrayBlockingQueue<>(maxBuffers);
+    }
+
+    /**
+     * Obtém um buffer, aguardando se todos estiverem em uso.
+     *
+     * @return buffer com tamanho igual ao tamanho da parte
+     * @throws IOException se nenhum buffer for devolvido dentro da espera máxima
+     * @throws InterruptedException se a espera for interrompida
+     */
+    public byte[] obter() throws IOException, InterruptedException {
+        byte[] buffer = livres.poll();
+        if (buffer != null) return buffer;
+
+        if (alocados.incrementAndGet() <= maxBuffers) {
+            return new byte[tamanhoParte];
+        }
+        alocados.decrementAndGet();
+        buffer = livres.poll(espera.toNanos(), TimeUnit.NANOSECONDS);
+        if (buffer == null) {
+            throw new IOException("Nenhum buffer de upload livre após " + espera + " (" + maxBuffers + " em uso)");
+        }
+        return buffer;
+    }
+
+    /**
+     * Devolve um buffer ao pool.
+     *
+     * @param buffer buffer obtido por {@link #obter()}
+     */
+    public void devolver(byte[] buffer) {
+        livres.offer(buffer);
+    }
+
+    /**
+     * Retorna o tamanho de cada parte.
+     *
+     * @return tamanho em bytes
+     */
+    public int getTamanhoParte() {
+        return tamanhoParte;
+    }
+}
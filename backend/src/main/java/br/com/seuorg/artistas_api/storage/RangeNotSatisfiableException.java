@@ -0,0 +1,14 @@
+package br.com.seuorg.artistas_api.storage;
+
+import java.io.IOException;
+
+/**
+ * Lançada quando o intervalo de bytes solicitado está fora
+ * dos limites do arquivo no armazenamento.
+ */
+public class RangeNotSatisfiableException extends IOException {
+
+    public RangeNotSatisfiableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
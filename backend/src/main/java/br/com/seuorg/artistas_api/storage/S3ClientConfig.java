@@ -0,0 +1,135 @@
+package br.com.seuorg.artistas_api.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Configuração do cliente S3 único da aplicação.
+ *
+ * Todas as operações de armazenamento (upload, download, remoção,
+ * provisionamento de buckets e verificação de prontidão) usam o mesmo
+ * S3Client, com um único pool de conexões HTTP configurado em s3.http.*.
+ * A ocupação do pool é publicada em métricas por S3PoolMetrics.
+ *
+ * Não é carregada com armazenamento.tipo=local (ver LocalStorageService).
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "armazenamento.tipo", havingValue = "s3", matchIfMissing = true)
+public class S3ClientConfig {
+
+    /**
+     * Pool de conexões HTTP compartilhado pelo cliente S3.
+     *
+     * @param maxConexoes quantidade máxima de conexões abertas
+     * @param timeoutConexao tempo máximo para abrir uma conexão
+     * @param timeoutSocket tempo máximo de espera por dados em uma conexão aberta
+     * @param timeoutAquisicao tempo máximo de espera por uma conexão livre do pool
+     * @param tempoOcioso tempo após o qual uma conexão ociosa é fechada
+     * @param tempoVida tempo máximo de vida de uma conexão (0 = sem limite)
+     * @param tcpKeepAlive habilita TCP keep-alive nas conexões
+     * @return cliente HTTP do S3
+     */
+    @Bean
+    public SdkHttpClient s3HttpClient(
+            @Value("${s3.http.max-conexoes:50}") int maxConexoes,
+            @Value("${s3.http.timeout-conexao:2s}") Duration timeoutConexao,
+            @Value("${s3.http.timeout-socket:30s}") Duration timeoutSocket,
+            @Value("${s3.http.timeout-aquisicao:10s}") Duration timeoutAquisicao,
+            @Value("${s3.http.tempo-ocioso:60s}") Duration tempoOcioso,
+            @Value("${s3.http.tempo-vida:0s}") Duration tempoVida,
+            @Value("${s3.http.tcp-keep-alive:true}") boolean tcpKeepAlive
+    ) {
+        log.info("Pool de conexões do S3: max={}, timeoutConexao={}, timeoutSocket={}, timeoutAquisicao={}",
+                maxConexoes, timeoutConexao, timeoutSocket, timeoutAquisicao);
+
+        ApacheHttpClient.Builder builder = ApacheHttpClient.builder()
+                .maxConnections(maxConexoes)
+                .connectionTimeout(timeoutConexao)
+                .socketTimeout(timeoutSocket)
+                .connectionAcquisitionTimeout(timeoutAquisicao)
+                .connectionMaxIdleTime(tempoOcioso)
+                .useIdleConnectionReaper(true)
+                .tcpKeepAlive(tcpKeepAlive);
+        if (!tempoVida.isZero()) {
+            builder.connectionTimeToLive(tempoVida);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Cliente S3 único da aplicação.
+     *
+     * @param httpClient pool de conexões compartilhado
+     * @param poolMetrics publicador das métricas do pool
+     * @param endpoint endpoint do S3 (ex: MinIO)
+     * @param accessKey chave de acesso
+     * @param secretKey chave secreta
+     * @param region região
+     * @return cliente S3
+     */
+    @Bean
+    public S3Client s3Client(
+            SdkHttpClient httpClient,
+            S3PoolMetrics poolMetrics,
+            @Value("${s3.endpoint}") String endpoint,
+            @Value("${s3.access-key}") String accessKey,
+            @Value("${s3.secret-key}") String secretKey,
+            @Value("${s3.region:us-east-1}") String region
+    ) {
+        log.info("Inicializando S3Client com endpoint: {}", endpoint);
+        return S3Client.builder()
+                .httpClient(httpClient)
+                .endpointOverride(URI.create(endpoint))
+                .region(Region.of(region))
+                .credentialsProvider(credenciais(accessKey, secretKey))
+                // Necessário para serviços compatíveis com S3 (ex: MinIO)
+                .forcePathStyle(true)
+                .overrideConfiguration(c -> c.addMetricPublisher(poolMetrics))
+                .build();
+    }
+
+    /**
+     * Presigner usado para gerar URLs temporárias. Apenas assina as
+     * requisições localmente, sem abrir conexões.
+     *
+     * @param endpoint endpoint do S3 (ex: MinIO)
+     * @param accessKey chave de acesso
+     * @param secretKey chave secreta
+     * @param region região
+     * @return presigner do S3
+     */
+    @Bean
+    public S3Presigner s3Presigner(
+            @Value("${s3.endpoint}") String endpoint,
+            @Value("${s3.access-key}") String accessKey,
+            @Value("${s3.secret-key}") String secretKey,
+            @Value("${s3.region:us-east-1}") String region
+    ) {
+        return S3Presigner.builder()
+                .endpointOverride(URI.create(endpoint))
+                .region(Region.of(region))
+                .credentialsProvider(credenciais(accessKey, secretKey))
+                // Mesmo estilo de endereçamento do cliente (bucket no caminho)
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+    }
+
+    private static StaticCredentialsProvider credenciais(String accessKey, String secretKey) {
+        return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+    }
+}
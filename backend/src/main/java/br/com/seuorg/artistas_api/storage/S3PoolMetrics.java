@@ -0,0 +1,88 @@
+package br.com.seuorg.artistas_api.storage;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publica em métricas a ocupação do pool de conexões HTTP do S3.
+ *
+ * O SDK informa, a cada requisição, o estado do pool no momento em que a
+ * conexão foi obtida. Os valores mais recentes são expostos como gauges:
+ * - storage.s3.pool.max: conexões máximas do pool;
+ * - storage.s3.pool.leased: conexões em uso;
+ * - storage.s3.pool.available: conexões ociosas disponíveis;
+ * - storage.s3.pool.pending: requisições aguardando uma conexão livre.
+ *
+ * O tempo de espera por uma conexão é registrado em storage.s3.pool.acquire.
+ * Um pending acima de zero, ou leased igual a max, indica pool saturado.
+ */
+@Component
+public class S3PoolMetrics implements MetricPublisher {
+
+    private final AtomicInteger max = new AtomicInteger();
+    private final AtomicInteger leased = new AtomicInteger();
+    private final AtomicInteger available = new AtomicInteger();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /** Tempo de espera por uma conexão do pool */
+    private final Timer acquire;
+
+    public S3PoolMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("storage.s3.pool.max", max, AtomicInteger::get)
+                .description("Conexões máximas do pool HTTP do S3")
+                .register(meterRegistry);
+        Gauge.builder("storage.s3.pool.leased", leased, AtomicInteger::get)
+                .description("Conexões do pool HTTP do S3 em uso")
+                .register(meterRegistry);
+        Gauge.builder("storage.s3.pool.available", available, AtomicInteger::get)
+                .description("Conexões ociosas disponíveis no pool HTTP do S3")
+                .register(meterRegistry);
+        Gauge.builder("storage.s3.pool.pending", pending, AtomicInteger::get)
+                .description("Requisições aguardando uma conexão do pool HTTP do S3")
+                .register(meterRegistry);
+        this.acquire = Timer.builder("storage.s3.pool.acquire")
+                .description("Tempo de espera por uma conexão do pool HTTP do S3")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void publish(MetricCollection metricCollection) {
+        registrar(metricCollection);
+    }
+
+    /**
+     * Percorre a coleção (as métricas HTTP ficam nas coleções filhas de cada tentativa).
+     */
+    private void registrar(MetricCollection colecao) {
+        atualizar(colecao.metricValues(HttpMetric.MAX_CONCURRENCY), max);
+        atualizar(colecao.metricValues(HttpMetric.LEASED_CONCURRENCY), leased);
+        atualizar(colecao.metricValues(HttpMetric.AVAILABLE_CONCURRENCY), available);
+        atualizar(colecao.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES), pending);
+        for (Duration d : colecao.metricValues(HttpMetric.CONCURRENCY_ACQUIRE_DURATION)) {
+            acquire.record(d);
+        }
+        for (MetricCollection filha : colecao.children()) {
+            registrar(filha);
+        }
+    }
+
+    private static void atualizar(List<Integer> valores, AtomicInteger destino) {
+        if (!valores.isEmpty()) {
+            destino.set(valores.get(valores.size() - 1));
+        }
+    }
+
+    @Override
+    public void close() {
+        // Nada a liberar: as métricas pertencem ao MeterRegistry
+    }
+}
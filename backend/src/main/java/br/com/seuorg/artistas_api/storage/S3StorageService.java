@@ -3,6 +3,8 @@ package br.com.seuorg.artistas_api.storage;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Interface que define o contrato para serviços de armazenamento S3.
@@ -33,6 +35,32 @@ public interface S3StorageService {
      */
     void delete(String bucket, String key);
 
+    /**
+     * Remove vários arquivos do armazenamento.
+     *
+     * A implementação padrão remove um arquivo por vez; implementações
+     * podem sobrescrever para usar operações em lote.
+     *
+     * @param bucket nome do bucket
+     * @param keys   chaves/caminhos dos arquivos no bucket
+     */
+    default void deleteAll(String bucket, List<String> keys) {
+        for (String key : keys) {
+            delete(bucket, key);
+        }
+    }
+
+    /**
+     * Copia um arquivo para outra chave do mesmo bucket, sem transferir
+     * o conteúdo pela aplicação quando o armazenamento permite.
+     *
+     * @param bucket  nome do bucket
+     * @param origem  chave do arquivo copiado
+     * @param destino chave da cópia
+     * @throws IOException em caso de falha na cópia ou se a origem não existir
+     */
+    void copy(String bucket, String origem, String destino) throws IOException;
+
     /**
      * Gera uma URL pré-assinada para acesso temporário ao arquivo.
      *
@@ -43,6 +71,33 @@ public interface S3StorageService {
      */
     String generatePresignedUrl(String bucket, String key, Duration expiration);
 
+    /**
+     * Gera uma URL pré-assinada para envio (PUT) de um arquivo diretamente
+     * ao armazenamento, sem passar pela aplicação.
+     *
+     * O tipo de conteúdo e o tamanho fazem parte da assinatura: o cliente
+     * deve enviar exatamente esses valores nos cabeçalhos Content-Type e
+     * Content-Length.
+     *
+     * @param bucket      nome do bucket
+     * @param key         chave/caminho do arquivo no bucket
+     * @param contentType tipo MIME do arquivo
+     * @param size        tamanho do arquivo em bytes
+     * @param expiration  tempo de validade da URL
+     * @return URL pré-assinada para envio do arquivo
+     */
+    String generatePresignedUploadUrl(String bucket, String key, String contentType, long size, Duration expiration);
+
+    /**
+     * Consulta os metadados de um arquivo sem ler o conteúdo.
+     *
+     * @param bucket nome do bucket
+     * @param key    chave/caminho do arquivo no bucket
+     * @return metadados do arquivo, ou vazio se ele não existir
+     * @throws IOException em caso de falha na consulta
+     */
+    Optional<StorageMetadata> head(String bucket, String key) throws IOException;
+
     /**
      * Realiza o download do conteúdo de um arquivo.
      *
@@ -54,4 +109,18 @@ public interface S3StorageService {
      * @throws IOException em caso de falha durante o download
      */
     byte[] download(String bucket, String key) throws IOException;
+
+    /**
+     * Abre o conteúdo de um arquivo para leitura em streaming,
+     * opcionalmente limitado a um intervalo de bytes.
+     *
+     * @param bucket nome do bucket
+     * @param key    chave/caminho do arquivo no bucket
+     * @param range  intervalo no formato do cabeçalho HTTP Range (ex: "bytes=0-1023"),
+     *               ou null para o arquivo inteiro
+     * @return objeto aberto; deve ser fechado após a leitura
+     * @throws RangeNotSatisfiableException se o intervalo estiver fora do arquivo
+     * @throws IOException em caso de falha ao abrir o arquivo
+     */
+    StorageObject openStream(String bucket, String key, String range) throws IOException;
 }
@@ -0,0 +1,519 @@
+package br.com.seuorg.artistas_api.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Cache local do conteúdo dos arquivos do armazenamento, em dois níveis:
+ *
+ * - memória: objetos pequenos (até s3.cache.memoria.max-objeto-bytes),
+ *   limitado a s3.cache.memoria.max-bytes no total;
+ * - disco: objetos maiores (até s3.cache.max-objeto-bytes), gravados em
+ *   s3.cache.disco.diretorio e lidos por mapeamento de memória,
+ *   limitado a s3.cache.disco.max-bytes no total.
+ *
+ * Ambos os níveis usam despejo LRU. Os arquivos do nível em disco são
+ * descartados na inicialização, pois o índice é mantido apenas em memória.
+ *
+ * O conteúdo entra no cache por uma Carga, alimentada à medida que o objeto
+ * é lido da origem: em memória apenas para o nível em memória, em arquivo
+ * temporário para o nível em disco. A entrada só é publicada quando a carga
+ * termina com o objeto completo. Há no máximo uma carga por arquivo; outras
+ * leituras do mesmo arquivo durante a carga não esperam por ela (que
+ * acompanha o ritmo do primeiro cliente) e vão direto à origem, sem cache.
+ * Uma invalidação durante a carga faz com que ela seja descartada.
+ *
+ * Métricas: storage.cache.requests (tags result e tier),
+ * storage.cache.evictions (tag tier) e storage.cache.size.bytes (tag tier).
+ */
+@Slf4j
+@Component
+public class StorageContentCache {
+
+    /** Entrada do índice do cache */
+    private record Entrada(long tamanho, String contentType) {}
+
+    /** Indica se o cache está habilitado */
+    private final boolean enabled;
+
+    /** Tamanho máximo de um objeto para entrar no cache */
+    private final long maxObjetoBytes;
+
+    /** Tamanho máximo de um objeto para ficar no nível em memória */
+    private final long maxObjetoMemoriaBytes;
+
+    /** Capacidade total do nível em memória */
+    private final long maxMemoriaBytes;
+
+    /** Capacidade total do nível em disco (0 desabilita o nível) */
+    private final long maxDiscoBytes;
+
+    /** Diretório do nível em disco */
+    private final Path diretorio;
+
+    /** Nível em memória, em ordem de acesso (LRU) */
+    private final LinkedHashMap<String, byte[]> memoria = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, String> tiposMemoria = new HashMap<>();
+    private long memoriaBytes;
+
+    /** Índice do nível em disco, em ordem de acesso (LRU) */
+    private final LinkedHashMap<String, Entrada> disco = new LinkedHashMap<>(16, 0.75f, true);
+    private long discoBytes;
+
+    /** Cargas em andamento, por identificador da entrada */
+    private final Map<String, Carga> cargas = new ConcurrentHashMap<>();
+
+    private final Counter hitsMemoria;
+    private final Counter hitsDisco;
+    private final Counter misses;
+    private final Counter evictionsMemoria;
+    private final Counter evictionsDisco;
+
+    /**
+     * Construtor com injeção das configurações do cache.
+     */
+    public StorageContentCache(
+            MeterRegistry meterRegistry,
+            @Value("${s3.cache.enabled:true}") boolean enabled,
+            @Value("${s3.cache.max-objeto-bytes:10485760}") long maxObjetoBytes,
+            @Value("${s3.cache.memoria.max-objeto-bytes:262144}") long maxObjetoMemoriaBytes,
+            @Value("${s3.cache.memoria.max-bytes:67108864}") long maxMemoriaBytes,
+            @Value("${s3.cache.disco.max-bytes:1073741824}") long maxDiscoBytes,
+            @Value("${s3.cache.disco.diretorio:${java.io.tmpdir}/artistas-api-cache}") String diretorio
+    ) {
+        this.enabled = enabled;
+        this.maxObjetoBytes = maxObjetoBytes;
+        this.maxObjetoMemoriaBytes = maxObjetoMemoriaBytes;
+        this.maxMemoriaBytes = maxMemoriaBytes;
+        this.diretorio = Path.of(diretorio);
+        this.maxDiscoBytes = enabled && maxDiscoBytes > 0 && prepararDiretorio() ? maxDiscoBytes : 0;
+
+        hitsMemoria = Counter.builder("storage.cache.requests").tag("result", "hit").tag("tier", "memoria").register(meterRegistry);
+        hitsDisco = Counter.builder("storage.cache.requests").tag("result", "hit").tag("tier", "disco").register(meterRegistry);
+        misses = Counter.builder("storage.cache.requests").tag("result", "miss").tag("tier", "none").register(meterRegistry);
+        evictionsMemoria = Counter.builder("storage.cache.evictions").tag("tier", "memoria").register(meterRegistry);
+        evictionsDisco = Counter.builder("storage.cache.evictions").tag("tier", "disco").register(meterRegistry);
+        Gauge.builder("storage.cache.size.bytes", this, c -> c.memoriaBytes).tag("tier", "memoria").register(meterRegistry);
+        Gauge.builder("storage.cache.size.bytes", this, c -> c.discoBytes).tag("tier", "disco").register(meterRegistry);
+    }
+
+    /**
+     * Indica se um objeto com o tamanho informado pode entrar no cache.
+     *
+     * @param tamanho tamanho do objeto em bytes
+     * @return true se o objeto é elegível
+     */
+    public boolean aceita(long tamanho) {
+        return enabled && tamanho >= 0 && tamanho <= maxObjetoBytes
+                && (tamanho <= maxObjetoMemoriaBytes || maxDiscoBytes > 0);
+    }
+
+    /**
+     * Abre o conteúdo em cache, opcionalmente limitado a um intervalo.
+     *
+     * @param bucket nome do bucket
+     * @param key    chave do arquivo
+     * @param range  intervalo no formato do cabeçalho HTTP Range, ou null
+     * @return objeto aberto, ou vazio se não estiver em cache
+     * @throws RangeNotSatisfiableException se o intervalo estiver fora do arquivo
+     */
+    public Optional<StorageObject> abrir(String bucket, String key, String range) throws IOException {
+        if (!enabled) return Optional.empty();
+
+        Optional<StorageObject> objeto = ler(id(bucket, key), range);
+        if (objeto.isEmpty()) misses.increment();
+        return objeto;
+    }
+
+    /**
+     * Inicia a carga de um arquivo no cache, se nenhuma outra estiver em andamento.
+     *
+     * @param bucket nome do bucket
+     * @param key    chave do arquivo
+     * @return carga iniciada, ou vazio se o cache estiver desabilitado ou
+     *         outra leitura já estiver carregando o arquivo
+     */
+    public Optional<Carga> iniciarCarga(String bucket, String key) {
+        if (!enabled) return Optional.empty();
+        String id = id(bucket, key);
+
+        Carga carga = new Carga(id, key);
+        return cargas.putIfAbsent(id, carga) == null ? Optional.of(carga) : Optional.empty();
+    }
+
+    /**
+     * Lê o conteúdo em cache, contando o acerto no nível correspondente.
+     */
+    private Optional<StorageObject> ler(String id, String range) throws IOException {
+        synchronized (memoria) {
+            byte[] conteudo = memoria.get(id);
+            if (conteudo != null) {
+                hitsMemoria.increment();
+                return Optional.of(fatiar(ByteBuffer.wrap(conteudo), tiposMemoria.get(id), range));
+            }
+        }
+
+        Entrada entrada;
+        synchronized (disco) {
+            entrada = disco.get(id);
+        }
+        if (entrada != null) {
+            try (FileChannel ch = FileChannel.open(arquivo(id), StandardOpenOption.READ)) {
+                ByteBuffer mapeado = ch.map(FileChannel.MapMode.READ_ONLY, 0, entrada.tamanho());
+                hitsDisco.increment();
+                return Optional.of(fatiar(mapeado, entrada.contentType(), range));
+            } catch (NoSuchFileException e) {
+                // Despejado entre a consulta ao índice e a abertura do arquivo
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Remove um arquivo do cache, em ambos os níveis.
+     *
+     * @param bucket nome do bucket
+     * @param key    chave do arquivo
+     */
+    public void invalidar(String bucket, String key) {
+        if (!enabled) return;
+        String id = id(bucket, key);
+
+        // Antes de remover as entradas: a carga verifica a marca sob o mesmo lock em que publica
+        Carga carga = cargas.get(id);
+        if (carga != null) carga.invalidada = true;
+
+        synchronized (memoria) {
+            byte[] anterior = memoria.remove(id);
+            tiposMemoria.remove(id);
+            if (anterior != null) memoriaBytes -= anterior.length;
+        }
+        synchronized (disco) {
+            Entrada anterior = disco.remove(id);
+            if (anterior != null) {
+                discoBytes -= anterior.tamanho();
+                apagar(id);
+            }
+        }
+    }
+
+    /**
+     * Remove vários arquivos do cache.
+     *
+     * @param bucket nome do bucket
+     * @param keys   chaves dos arquivos
+     */
+    public void invalidar(String bucket, List<String> keys) {
+        for (String key : keys) {
+            invalidar(bucket, key);
+        }
+    }
+
+    /**
+     * Carga de um arquivo no cache, alimentada com o conteúdo à medida que ele
+     * é lido da origem. Objetos do nível em memória são acumulados em memória;
+     * os demais, em um arquivo temporário no diretório do cache. A entrada é
+     * publicada quando todos os bytes declarados forem recebidos; em qualquer
+     * outro desfecho, a carga deve ser descartada.
+     */
+    public final class Carga {
+
+        private final String id;
+        private final String key;
+
+        /** Marcada por invalidar durante a carga */
+        private volatile boolean invalidada;
+
+        private boolean encerrada;
+        private long tamanho;
+        private String contentType;
+        private long recebidos;
+
+        /** Conteúdo do nível em memória */
+        private byte[] conteudo;
+
+        /** Arquivo temporário do nível em disco */
+        private Path temporario;
+        private OutputStream saida;
+
+        private Carga(String id, String key) {
+            this.id = id;
+            this.key = key;
+        }
+
+        /**
+         * Prepara a carga para um objeto com o tamanho informado.
+         *
+         * @param tamanho     tamanho do objeto em bytes
+         * @param contentType tipo de conteúdo, ou null
+         * @return true se o objeto será carregado; false se não for elegível
+         *         (a carga é descartada)
+         */
+        public synchronized boolean preparar(long tamanho, String contentType) {
+            if (encerrada) return false;
+            if (!aceita(tamanho)) {
+                encerrar();
+                return false;
+            }
+            this.tamanho = tamanho;
+            this.contentType = contentType;
+
+            if (tamanho <= maxObjetoMemoriaBytes) {
+                conteudo = new byte[(int) tamanho];
+                return true;
+            }
+            try {
+                temporario = Files.createTempFile(diretorio, id, ".tmp");
+                saida = Files.newOutputStream(temporario);
+                return true;
+            } catch (IOException e) {
+                log.warn("Falha ao gravar objeto {} no cache em disco: {}", key, e.getMessage());
+                descartar();
+                return false;
+            }
+        }
+
+        /**
+         * Acrescenta bytes lidos da origem. Ao receber o último byte
+         * declarado, publica a entrada.
+         */
+        public synchronized void escrever(byte[] b, int off, int len) {
+            if (encerrada || len <= 0) return;
+            if (recebidos + len > tamanho) {
+                // Maior que o tamanho declarado: não é o objeto esperado
+                descartar();
+                return;
+            }
+            try {
+                if (conteudo != null) {
+                    System.arraycopy(b, off, conteudo, (int) recebidos, len);
+                } else {
+                    saida.write(b, off, len);
+                }
+            } catch (IOException e) {
+                log.warn("Falha ao gravar objeto {} no cache em disco: {}", key, e.getMessage());
+                descartar();
+                return;
+            }
+            recebidos += len;
+            if (recebidos == tamanho) concluir();
+        }
+
+        /**
+         * Fim do conteúdo da origem: publica a entrada se o objeto estiver completo.
+         */
+        public synchronized void concluir() {
+            if (encerrada) return;
+            if (recebidos != tamanho) {
+                descartar();
+                return;
+            }
+
+            if (conteudo != null) {
+                synchronized (memoria) {
+                    if (!invalidada) {
+                        byte[] anterior = memoria.put(id, conteudo);
+                        if (anterior != null) memoriaBytes -= anterior.length;
+                        memoriaBytes += conteudo.length;
+                        if (contentType != null) tiposMemoria.put(id, contentType);
+                        despejarMemoria();
+                    }
+                }
+                encerrar();
+                return;
+            }
+
+            try {
+                saida.close();
+                // Move sob o lock do disco: uma invalidação concorrente ou remove a
+                // entrada publicada, ou impede a publicação
+                synchronized (disco) {
+                    if (!invalidada) {
+                        Files.move(temporario, arquivo(id), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                        Entrada anterior = disco.put(id, new Entrada(tamanho, contentType));
+                        if (anterior != null) discoBytes -= anterior.tamanho();
+                        discoBytes += tamanho;
+                        despejarDisco();
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Falha ao gravar objeto {} no cache em disco: {}", key, e.getMessage());
+            }
+            descartar();
+        }
+
+        /**
+         * Encerra a carga sem publicar a entrada (sem efeito se já encerrada).
+         */
+        public synchronized void descartar() {
+            if (encerrada) return;
+            if (saida != null) {
+                try {
+                    saida.close();
+                } catch (IOException ignored) {
+                    // o arquivo temporário é removido a seguir
+                }
+            }
+            if (temporario != null) {
+                try {
+                    Files.deleteIfExists(temporario);
+                } catch (IOException e) {
+                    log.warn("Falha ao remover arquivo temporário do cache: {}", e.getMessage());
+                }
+            }
+            encerrar();
+        }
+
+        private void encerrar() {
+            encerrada = true;
+            conteudo = null;
+            cargas.remove(id, this);
+        }
+    }
+
+    /** Despeja as entradas menos usadas até caber na capacidade (chamado com o lock da memória) */
+    private void despejarMemoria() {
+        Iterator<Map.Entry<String, byte[]>> it = memoria.entrySet().iterator();
+        while (memoriaBytes > maxMemoriaBytes && it.hasNext()) {
+            Map.Entry<String, byte[]> e = it.next();
+            memoriaBytes -= e.getValue().length;
+            tiposMemoria.remove(e.getKey());
+            it.remove();
+            evictionsMemoria.increment();
+        }
+    }
+
+    /** Despeja as entradas menos usadas até caber na capacidade (chamado com o lock do disco) */
+    private void despejarDisco() {
+        Iterator<Map.Entry<String, Entrada>> it = disco.entrySet().iterator();
+        while (discoBytes > maxDiscoBytes && it.hasNext()) {
+            Map.Entry<String, Entrada> e = it.next();
+            discoBytes -= e.getValue().tamanho();
+            it.remove();
+            apagar(e.getKey());
+            evictionsDisco.increment();
+        }
+    }
+
+    /**
+     * Cria um StorageObject com o conteúdo inteiro ou com o intervalo solicitado.
+     */
+    private static StorageObject fatiar(ByteBuffer conteudo, String contentType, String range)
+            throws RangeNotSatisfiableException {
+        long total = conteudo.remaining();
+        if (range == null) {
+            return new StorageObject(new ByteBufferInputStream(conteudo), total, null, contentType);
+        }
+
+        try {
+            HttpRange r = HttpRange.parseRanges(range).get(0);
+            long inicio = r.getRangeStart(total);
+            long fim = r.getRangeEnd(total);
+            if (inicio >= total || inicio > fim) {
+                throw new RangeNotSatisfiableException("Intervalo inválido: " + range, null);
+            }
+            ByteBuffer fatia = conteudo.slice((int) inicio, (int) (fim - inicio + 1));
+            return new StorageObject(new ByteBufferInputStream(fatia), fatia.remaining(),
+                    "bytes " + inicio + "-" + fim + "/" + total, contentType);
+        } catch (IllegalArgumentException e) {
+            throw new RangeNotSatisfiableException("Intervalo inválido: " + range, e);
+        }
+    }
+
+    private boolean prepararDiretorio() {
+        try {
+            Files.createDirectories(diretorio);
+            // O índice não é persistido: arquivos de execuções anteriores são descartados
+            try (Stream<Path> arquivos = Files.list(diretorio)) {
+                arquivos.forEach(p -> {
+                    try {
+                        Files.deleteIfExists(p);
+                    } catch (IOException ignored) {
+                        // arquivo em uso ou já removido
+                    }
+                });
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("Cache em disco desabilitado, diretório {} indisponível: {}", diretorio, e.getMessage());
+            return false;
+        }
+    }
+
+    private void apagar(String id) {
+        try {
+            Files.deleteIfExists(arquivo(id));
+        } catch (IOException e) {
+            log.warn("Falha ao remover arquivo do cache em disco: {}", e.getMessage());
+        }
+    }
+
+    private Path arquivo(String id) {
+        return diretorio.resolve(id);
+    }
+
+    /** Identificador da entrada: SHA-256 de bucket/chave, também usado como nome do arquivo */
+    private static String id(String bucket, String key) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest((bucket + "/" + key).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * InputStream de leitura sobre um ByteBuffer (heap ou mapeado), sem cópia.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer.duplicate();
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
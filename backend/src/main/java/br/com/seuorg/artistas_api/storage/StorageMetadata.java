@@ -0,0 +1,10 @@
+package br.com.seuorg.artistas_api.storage;
+
+/**
+ * Metadados de um arquivo no armazenamento, obtidos sem ler o conteúdo.
+ *
+ * @param contentLength tamanho do arquivo em bytes
+ * @param contentType   tipo de conteúdo informado pelo armazenamento, ou null
+ */
+public record StorageMetadata(long contentLength, String contentType) {
+}
@@ -0,0 +1,58 @@
+package br.com.seuorg.artistas_api.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Conteúdo de um arquivo aberto para leitura no armazenamento.
+ *
+ * O conteúdo é lido diretamente do stream da resposta, sem ser
+ * carregado inteiramente em memória. Quem abre o objeto é
+ * responsável por fechá-lo.
+ *
+ * @param content       stream com os bytes do arquivo (ou do intervalo solicitado)
+ * @param contentLength quantidade de bytes disponíveis no stream
+ * @param contentRange  valor do cabeçalho Content-Range quando um intervalo foi lido, ou null
+ * @param contentType   tipo de conteúdo informado pelo armazenamento, ou null
+ * @param regiao        arquivo local e posição de onde os bytes são lidos, quando o
+ *                      armazenamento é local (permite o envio sem cópia), ou null
+ */
+public record StorageObject(
+        InputStream content,
+        long contentLength,
+        String contentRange,
+        String contentType,
+        RegiaoArquivo regiao
+) implements Closeable {
+
+    /**
+     * Região de um arquivo local com o conteúdo do objeto.
+     *
+     * @param arquivo caminho absoluto do arquivo
+     * @param inicio  posição do primeiro byte do conteúdo no arquivo
+     */
+    public record RegiaoArquivo(Path arquivo, long inicio) {}
+
+    /**
+     * Cria um objeto lido de um stream, sem arquivo local associado.
+     */
+    public StorageObject(InputStream content, long contentLength, String contentRange, String contentType) {
+        this(content, contentLength, contentRange, contentType, null);
+    }
+
+    /**
+     * Indica se o objeto corresponde a um intervalo parcial do arquivo.
+     *
+     * @return true quando um intervalo foi lido
+     */
+    public boolean isPartial() {
+        return contentRange != null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        content.close();
+    }
+}
@@ -0,0 +1,8 @@
+-- Habilita a extensão de trigramas do PostgreSQL
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Índices GIN de trigramas sobre LOWER(nome).
+-- Atendem às buscas "LOWER(nome) LIKE LOWER('%termo%')" dos repositórios
+-- de artistas e álbuns sem varredura sequencial da tabela.
+CREATE INDEX IF NOT EXISTS idx_artistas_nome_trgm ON artistas USING gin (LOWER(nome) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_albuns_nome_trgm ON albuns USING gin (LOWER(nome) gin_trgm_ops);
@@ -0,0 +1,3 @@
+-- Índices compostos para a paginação por cursor (keyset) ordenada por (nome, id)
+CREATE INDEX IF NOT EXISTS idx_artistas_nome_id ON artistas (nome, id);
+CREATE INDEX IF NOT EXISTS idx_albuns_nome_id ON albuns (nome, id);
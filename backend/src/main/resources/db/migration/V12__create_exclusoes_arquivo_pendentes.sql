@@ -0,0 +1,16 @@
+-- Fila (outbox) de arquivos a remover do armazenamento.
+-- Os registros são gravados na mesma transação que remove as capas
+-- e consumidos em lotes por um processo em segundo plano.
+CREATE TABLE IF NOT EXISTS exclusoes_arquivo_pendentes (
+    id BIGSERIAL PRIMARY KEY,
+    bucket VARCHAR(255) NOT NULL,
+    chave VARCHAR(1024) NOT NULL,
+    tentativas INT NOT NULL DEFAULT 0,
+    proxima_tentativa TIMESTAMP NOT NULL DEFAULT now(),
+    ultimo_erro VARCHAR(1024),
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- Índice para buscar os registros cuja próxima tentativa já venceu
+CREATE INDEX IF NOT EXISTS idx_exclusoes_arquivo_pendentes_proxima
+    ON exclusoes_arquivo_pendentes(proxima_tentativa, id);
@@ -0,0 +1,3 @@
+-- Permite que o Hibernate reserve blocos de 50 IDs por chamada à sequência,
+-- viabilizando inserts em lote (JDBC batch) das capas de álbum.
+ALTER SEQUENCE capas_album_id_seq INCREMENT BY 50;
@@ -0,0 +1,14 @@
+-- Variantes redimensionadas das capas (miniaturas), geradas após o upload
+CREATE TABLE IF NOT EXISTS capas_album_variantes (
+    id BIGSERIAL PRIMARY KEY,
+    capa_id BIGINT NOT NULL,
+    largura INT NOT NULL,
+    altura INT NOT NULL,
+    chave VARCHAR(1024) NOT NULL,
+    content_type VARCHAR(255),
+    tamanho BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    CONSTRAINT fk_capas_album_variantes_capas
+        FOREIGN KEY (capa_id) REFERENCES capas_album(id) ON DELETE CASCADE,
+    CONSTRAINT uk_capas_album_variantes_capa_largura UNIQUE (capa_id, largura)
+);
@@ -0,0 +1,11 @@
+-- Envios diretos ao armazenamento reservam a chave na fila de remoção
+-- (removida se não for confirmada a tempo). A coluna reserva distingue
+-- essas reservas das demais remoções pendentes: a confirmação consome a
+-- reserva da chave (reserva = false) sem cancelar a remoção, já que a
+-- capa passa a usar uma cópia em uma chave da aplicação. O índice atende
+-- a busca pela chave (confirmação e cancelamento de remoções).
+ALTER TABLE exclusoes_arquivo_pendentes
+    ADD COLUMN IF NOT EXISTS reserva BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_exclusoes_arquivo_pendentes_chave
+    ON exclusoes_arquivo_pendentes(chave);
@@ -0,0 +1,9 @@
+-- Deduplicação das capas por conteúdo: arquivos iguais são armazenados
+-- uma única vez, sob uma chave derivada do hash SHA-256, e compartilhados
+-- pelas capas. As referências a uma chave são contadas pelas linhas que a
+-- usam; o arquivo só é removido quando a última referência deixa de existir.
+ALTER TABLE capas_album ADD COLUMN IF NOT EXISTS hash_sha256 VARCHAR(64);
+
+-- Contagem de referências por chave (capas e variantes)
+CREATE INDEX IF NOT EXISTS idx_capas_album_chave ON capas_album(chave);
+CREATE INDEX IF NOT EXISTS idx_capas_album_variantes_chave ON capas_album_variantes(chave);
@@ -0,0 +1,23 @@
+-- Contadores compartilhados do rate limit distribuído (ratelimit.backend=postgres).
+-- Cada nó grava apenas as suas próprias linhas (coluna "no"), somando em lote
+-- as requisições admitidas localmente; o total de uma chave na janela é a soma
+-- das linhas de todos os nós. Assim não há disputa de lock entre réplicas.
+CREATE TABLE IF NOT EXISTS rate_limit_contadores (
+    politica VARCHAR(100) NOT NULL,
+    chave VARCHAR(512) NOT NULL,
+    janela BIGINT NOT NULL,
+    no VARCHAR(100) NOT NULL,
+    contagem BIGINT NOT NULL,
+    expira_em_ms BIGINT NOT NULL,
+    PRIMARY KEY (politica, janela, chave, no)
+);
+
+-- Índice para a remoção das janelas vencidas
+CREATE INDEX IF NOT EXISTS idx_rate_limit_contadores_expira
+    ON rate_limit_contadores(expira_em_ms);
+
+-- Nós ativos (heartbeat a cada sincronização), usados para dividir o saldo
+CREATE TABLE IF NOT EXISTS rate_limit_nos (
+    no VARCHAR(100) PRIMARY KEY,
+    visto_em_ms BIGINT NOT NULL
+);
@@ -0,0 +1,6 @@
+-- Contador desnormalizado de álbuns por artista
+ALTER TABLE artistas ADD COLUMN album_count BIGINT NOT NULL DEFAULT 0;
+
+-- Preenche o contador com os álbuns já existentes
+UPDATE artistas ar
+SET album_count = (SELECT COUNT(*) FROM albuns al WHERE al.artista_id = ar.id);
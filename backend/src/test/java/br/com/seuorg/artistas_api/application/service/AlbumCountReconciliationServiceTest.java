@@ -0,0 +1,97 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import br.com.seuorg.artistas_api.domain.entity.Album;
+import br.com.seuorg.artistas_api.domain.entity.Artista;
+import br.com.seuorg.artistas_api.domain.repository.AlbumRepository;
+import br.com.seuorg.artistas_api.domain.repository.ArtistaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração da reconciliação do contador de álbuns.
+ * Utiliza banco em memória com DataJpaTest.
+ */
+@DataJpaTest
+class AlbumCountReconciliationServiceTest {
+
+    @Autowired
+    ArtistaRepository artistaRepository;
+
+    @Autowired
+    AlbumRepository albumRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    /**
+     * Deve corrigir, em lotes, apenas os artistas cujo contador divergiu.
+     */
+    @Test
+    void reconciliar_corrigeContadoresDivergentes() {
+        Artista correto = novoArtista("Correto", 2L);
+        Artista divergente = novoArtista("Divergente", 7L);
+        Artista semAlbuns = novoArtista("Sem Albuns", 1L);
+
+        novoAlbum(correto);
+        novoAlbum(correto);
+        novoAlbum(divergente);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Lote de 1 para forçar a iteração entre lotes
+        var service = new AlbumCountReconciliationService(artistaRepository, true, 1);
+        int corrigidos = service.reconciliar();
+
+        entityManager.clear();
+        assertThat(corrigidos).isEqualTo(2);
+        assertThat(artistaRepository.findById(correto.getId()).orElseThrow().getAlbumCount()).isEqualTo(2L);
+        assertThat(artistaRepository.findById(divergente.getId()).orElseThrow().getAlbumCount()).isEqualTo(1L);
+        assertThat(artistaRepository.findById(semAlbuns.getId()).orElseThrow().getAlbumCount()).isEqualTo(0L);
+    }
+
+    /**
+     * Uma edição do artista baseada em uma leitura anterior não deve
+     * sobrescrever um incremento do contador feito nesse intervalo.
+     */
+    @Test
+    void atualizarArtista_naoDeveSobrescreverIncrementoConcorrente() {
+        Artista artista = novoArtista("Original", 0L);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Leitura do ArtistaService.atualizar (contador = 0)
+        Artista lido = artistaRepository.findById(artista.getId()).orElseThrow();
+        entityManager.clear();
+
+        // Inclusão de álbum concorrente (AlbumService.criar)
+        artistaRepository.incrementAlbumCount(artista.getId(), 1);
+
+        // Renomeação salva a entidade lida antes do incremento
+        lido.setNome("Renomeado");
+        artistaRepository.save(lido);
+        entityManager.flush();
+        entityManager.clear();
+
+        Artista atual = artistaRepository.findById(artista.getId()).orElseThrow();
+        assertThat(atual.getNome()).isEqualTo("Renomeado");
+        assertThat(atual.getAlbumCount()).isEqualTo(1L);
+    }
+
+    private Artista novoArtista(String nome, Long albumCount) {
+        Artista artista = new Artista();
+        artista.setNome(nome);
+        artista.setAlbumCount(albumCount);
+        return artistaRepository.save(artista);
+    }
+
+    private void novoAlbum(Artista artista) {
+        Album album = new Album();
+        album.setNome("Album de " + artista.getNome());
+        album.setArtista(artista);
+        albumRepository.save(album);
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import br.com.seuorg.artistas_api.domain.entity.Album;
+import br.com.seuorg.artistas_api.domain.entity.Artista;
+import br.com.seuorg.artistas_api.domain.repository.AlbumRepository;
+import br.com.seuorg.artistas_api.domain.repository.ArtistaRepository;
+import br.com.seuorg.artistas_api.notification.NotificationRateLimiter;
+import br.com.seuorg.artistas_api.websocket.AlbumNotifier;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Testes de integração que verificam a quantidade de consultas
+ * executadas pelas listagens de álbuns.
+ *
+ * Os dados do artista de cada álbum devem vir da consulta da página,
+ * sem carregamentos adicionais por linha.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AlbumServiceQueryCountTest {
+
+    @Autowired
+    ArtistaRepository artistaRepository;
+
+    @Autowired
+    AlbumRepository albumRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private AlbumService service;
+
+    private Statistics statistics;
+
+    private Long primeiroArtistaId;
+
+    @BeforeEach
+    void setup() {
+        service = new AlbumService(albumRepository, artistaRepository,
+                mock(AlbumNotifier.class), new NotificationRateLimiter(10, 60));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // 4 artistas distintos com 2 álbuns cada
+        for (int i = 0; i < 4; i++) {
+            Artista artista = new Artista();
+            artista.setNome("Artista " + i);
+            artistaRepository.save(artista);
+            if (primeiroArtistaId == null) primeiroArtistaId = artista.getId();
+
+            for (int j = 0; j < 2; j++) {
+                Album album = new Album();
+                album.setNome("Album " + i + "-" + j);
+                album.setArtista(artista);
+                albumRepository.save(album);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    /**
+     * A listagem paginada deve executar apenas a consulta da página e a de contagem,
+     * já trazendo o nome do artista de cada álbum.
+     */
+    @Test
+    void listarTodos_umaConsultaPorPagina() {
+        var page = service.listarTodos(PageRequest.of(0, 5));
+
+        assertThat(page.getContent()).hasSize(5);
+        assertThat(page.getContent()).allSatisfy(a -> assertThat(a.getArtistaNome()).startsWith("Artista "));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * A listagem por artista deve executar a verificação de existência e a consulta da página.
+     */
+    @Test
+    void listarPorArtista_umaConsultaPorPagina() {
+        var page = service.listarPorArtista(primeiroArtistaId, PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getContent()).allSatisfy(a -> assertThat(a.getArtistaNome()).isEqualTo("Artista 0"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * A busca por nome deve executar apenas a consulta da página e a de contagem.
+     */
+    @Test
+    void buscarPorNome_umaConsultaPorPagina() {
+        var page = service.buscarPorNome("album", PageRequest.of(0, 3));
+
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.getTotalElements()).isEqualTo(8);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * A consulta por ID deve trazer o artista junto com o álbum.
+     */
+    @Test
+    void obterPorId_carregaArtistaNaMesmaConsulta() {
+        Long albumId = albumRepository.findByArtistaId(primeiroArtistaId).get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        var dto = service.obterPorId(albumId);
+
+        assertThat(dto.getArtistaNome()).isEqualTo("Artista 0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
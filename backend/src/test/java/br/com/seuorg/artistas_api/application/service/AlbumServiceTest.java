@@ -73,6 +73,58 @@ class AlbumServiceTest {
 
         // Verifica se o álbum foi criado corretamente
         assertEquals(2L, resp.getId());
+
+        // Verifica que o contador de álbuns do artista foi incrementado
+        verify(artistaRepository, times(1)).incrementAlbumCount(1L, 1);
+    }
+
+    /**
+     * Testa a atualização de um álbum que muda de artista.
+     *
+     * Deve transferir a contagem do artista anterior para o novo.
+     */
+    @Test
+    void atualizar_mudancaDeArtista_deveTransferirContador() {
+        Artista antigo = new Artista();
+        antigo.setId(1L);
+        Artista novo = new Artista();
+        novo.setId(3L);
+
+        Album album = new Album();
+        album.setId(2L);
+        album.setArtista(antigo);
+
+        AlbumCreateDTO dto = new AlbumCreateDTO("Renomeado", 3L);
+
+        when(albumRepository.findById(2L)).thenReturn(Optional.of(album));
+        when(artistaRepository.findById(3L)).thenReturn(Optional.of(novo));
+        when(albumRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        service.atualizar(2L, dto);
+
+        verify(artistaRepository, times(1)).incrementAlbumCount(1L, -1);
+        verify(artistaRepository, times(1)).incrementAlbumCount(3L, 1);
+    }
+
+    /**
+     * Testa a exclusão de um álbum.
+     *
+     * Deve decrementar o contador de álbuns do artista.
+     */
+    @Test
+    void deletar_deveDecrementarContador() {
+        Artista a = new Artista();
+        a.setId(1L);
+        Album album = new Album();
+        album.setId(2L);
+        album.setArtista(a);
+
+        when(albumRepository.findById(2L)).thenReturn(Optional.of(album));
+
+        service.deletar(2L);
+
+        verify(albumRepository, times(1)).delete(album);
+        verify(artistaRepository, times(1)).incrementAlbumCount(1L, -1);
     }
 
     /**
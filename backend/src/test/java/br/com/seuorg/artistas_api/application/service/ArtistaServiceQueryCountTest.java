@@ -0,0 +1,155 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import br.com.seuorg.artistas_api.domain.entity.Album;
+import br.com.seuorg.artistas_api.domain.entity.Artista;
+import br.com.seuorg.artistas_api.domain.entity.CapaAlbum;
+import br.com.seuorg.artistas_api.domain.repository.AlbumRepository;
+import br.com.seuorg.artistas_api.domain.repository.ArtistaRepository;
+import br.com.seuorg.artistas_api.domain.repository.CapaAlbumRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Testes de integração que verificam a quantidade de consultas
+ * executadas pelas listagens de artistas.
+ *
+ * Cada página deve custar um número fixo de consultas (conteúdo + contagem),
+ * independentemente de quantos artistas ou álbuns existam.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ArtistaServiceQueryCountTest {
+
+    @Autowired
+    ArtistaRepository artistaRepository;
+
+    @Autowired
+    AlbumRepository albumRepository;
+
+    @Autowired
+    CapaAlbumRepository capaAlbumRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private ArtistaService service;
+
+    private CapaAlbumService capaAlbumService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        capaAlbumService = mock(CapaAlbumService.class);
+        service = new ArtistaService(artistaRepository, albumRepository, capaAlbumRepository, capaAlbumService, mock(ArtistaSugestaoService.class));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // 5 artistas com 3 álbuns cada
+        for (int i = 0; i < 5; i++) {
+            Artista artista = new Artista();
+            artista.setNome("Artista " + i);
+            artista.setAlbumCount(3L);
+            artistaRepository.save(artista);
+
+            for (int j = 0; j < 3; j++) {
+                Album album = new Album();
+                album.setNome("Album " + i + "-" + j);
+                album.setArtista(artista);
+                albumRepository.save(album);
+
+                CapaAlbum capa = new CapaAlbum();
+                capa.setAlbum(album);
+                capa.setChave("capas-album/albums/" + i + "-" + j + ".jpg");
+                capaAlbumRepository.save(capa);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    /**
+     * A listagem paginada deve executar apenas a consulta da página e a de contagem.
+     */
+    @Test
+    void listarTodos_deveExecutarQuantidadeFixaDeConsultas() {
+        var page = service.listarTodos(PageRequest.of(0, 2));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getContent()).allSatisfy(a -> assertThat(a.getAlbumCount()).isEqualTo(3L));
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    /**
+     * A busca paginada por nome deve executar apenas a consulta da página e a de contagem.
+     */
+    @Test
+    void buscarPorNome_deveExecutarQuantidadeFixaDeConsultas() {
+        var asc = service.buscarPorNomeAscendente("artista", PageRequest.of(0, 2));
+        assertThat(asc.getContent()).extracting("nome").containsExactly("Artista 0", "Artista 1");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        statistics.clear();
+        var desc = service.buscarPorNomeDescendente("artista", PageRequest.of(0, 2));
+        assertThat(desc.getContent()).extracting("nome").containsExactly("Artista 4", "Artista 3");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    /**
+     * As buscas sem paginação devem executar uma única consulta.
+     */
+    @Test
+    void buscarPorNomeSemPaginacao_deveExecutarUmaConsulta() {
+        var result = service.buscarPorNomeAscendente("artista");
+
+        assertThat(result).hasSize(5);
+        assertThat(result).allSatisfy(a -> assertThat(a.getAlbumCount()).isEqualTo(3L));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    /**
+     * A exclusão em cascata deve usar um número fixo de instruções
+     * e entregar todas as chaves de uma vez para remoção do armazenamento.
+     */
+    @Test
+    void deletar_deveExcluirEmLoteComQuantidadeFixaDeInstrucoes() {
+        Long id = artistaRepository.findAll().stream()
+                .filter(a -> a.getNome().equals("Artista 2"))
+                .findFirst().orElseThrow().getId();
+        statistics.clear();
+
+        service.deletar(id);
+        entityManager.flush();
+
+        // exists + chaves + 3 DELETEs (capas, álbuns, artista)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        verify(capaAlbumService).excluirArquivos(argThat((List<String> chaves) ->
+                chaves.size() == 3 && chaves.stream().allMatch(c -> c.startsWith("capas-album/albums/2-"))));
+        verify(capaAlbumService, never()).excluir(anyLong());
+
+        entityManager.clear();
+        assertThat(artistaRepository.existsById(id)).isFalse();
+        assertThat(artistaRepository.count()).isEqualTo(4);
+        assertThat(albumRepository.count()).isEqualTo(12);
+        assertThat(capaAlbumRepository.count()).isEqualTo(12);
+    }
+}
@@ -4,6 +4,7 @@ import br.com.seuorg.artistas_api.application.dto.ArtistaCreateDTO;
 import br.com.seuorg.artistas_api.domain.entity.Artista;
 import br.com.seuorg.artistas_api.domain.repository.AlbumRepository;
 import br.com.seuorg.artistas_api.domain.repository.ArtistaRepository;
+import br.com.seuorg.artistas_api.domain.repository.CapaAlbumRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -11,7 +12,10 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,6 +37,18 @@ class ArtistaServiceTest {
     @Mock
     private AlbumRepository albumRepository;
 
+    /** Mock do repositório de capas */
+    @Mock
+    private CapaAlbumRepository capaAlbumRepository;
+
+    /** Mock do serviço de capas */
+    @Mock
+    private CapaAlbumService capaAlbumService;
+
+    /** Mock do índice de sugestões de artistas */
+    @Mock
+    private ArtistaSugestaoService sugestaoService;
+
     /** Serviço a ser testado, com dependências mockadas */
     @InjectMocks
     private ArtistaService service;
@@ -69,6 +85,7 @@ class ArtistaServiceTest {
         assertNotNull(result);
         assertEquals(1L, result.getId());
         verify(artistaRepository, times(1)).save(any());
+        verify(sugestaoService, times(1)).adicionar(1L, "Novo");
     }
 
     /**
@@ -78,14 +95,15 @@ class ArtistaServiceTest {
      */
     @Test
     void listarTodos_deveRetornarPagina() {
-        when(artistaRepository.findAll(PageRequest.of(0, 10)))
+        when(artistaRepository.findAllWithAlbumCount(PageRequest.of(0, 10)))
                 .thenReturn(new PageImpl<>(java.util.List.of()));
 
         var page = service.listarTodos(PageRequest.of(0, 10));
 
         assertNotNull(page);
         verify(artistaRepository, times(1))
-                .findAll(PageRequest.of(0, 10));
+                .findAllWithAlbumCount(PageRequest.of(0, 10));
+        verify(albumRepository, never()).countByArtistaId(any());
     }
 
     /**
@@ -101,4 +119,25 @@ class ArtistaServiceTest {
 
         assertThrows(RuntimeException.class, () -> service.obterPorId(99L));
     }
+
+    /**
+     * A remoção do índice de sugestões deve ocorrer somente após o commit
+     * da exclusão; se a transação não for confirmada, o índice não muda.
+     */
+    @Test
+    void deletar_deveRemoverSugestaoSomenteAposCommit() {
+        when(artistaRepository.existsById(1L)).thenReturn(true);
+        when(capaAlbumRepository.findChavesByArtistaId(1L)).thenReturn(List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.deletar(1L);
+            verify(sugestaoService, never()).remover(anyLong());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(sugestaoService).remover(1L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
 }
@@ -0,0 +1,106 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import br.com.seuorg.artistas_api.application.dto.ArtistaSugestaoDTO;
+import br.com.seuorg.artistas_api.domain.repository.ArtistaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Classe de testes unitários para o índice de sugestões de artistas (ArtistaSugestaoService).
+ */
+class ArtistaSugestaoServiceTest {
+
+    private ArtistaRepository repository;
+    private ArtistaSugestaoService service;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(ArtistaRepository.class);
+        when(repository.findAllSugestoes()).thenReturn(List.of(
+                new ArtistaSugestaoDTO(1L, "Serj Tankian"),
+                new ArtistaSugestaoDTO(2L, "Mike Shinoda"),
+                new ArtistaSugestaoDTO(3L, "Michel Teló"),
+                new ArtistaSugestaoDTO(4L, "Guns N' Roses")
+        ));
+        service = new ArtistaSugestaoService(repository);
+        service.reconstruir();
+    }
+
+    /**
+     * Deve encontrar artistas pelo prefixo do nome, ignorando acentos e maiúsculas.
+     */
+    @Test
+    void sugerir_porPrefixo() {
+        assertThat(service.sugerir("MI", 10))
+                .extracting(ArtistaSugestaoDTO::getNome)
+                .containsExactly("Michel Teló", "Mike Shinoda");
+        assertThat(service.sugerir("telo", 10))
+                .extracting(ArtistaSugestaoDTO::getId)
+                .containsExactly(3L);
+        assertThat(service.sugerir("x", 10)).isEmpty();
+        assertThat(service.sugerir("  ", 10)).isEmpty();
+    }
+
+    /**
+     * Deve respeitar o limite informado.
+     */
+    @Test
+    void sugerir_respeitaLimite() {
+        assertThat(service.sugerir("mi", 1)).hasSize(1);
+    }
+
+    /**
+     * Criação, atualização e exclusão devem refletir no índice sem recarregar do banco.
+     */
+    @Test
+    void atualizacoesIncrementais() {
+        service.adicionar(5L, "Milton Nascimento");
+        assertThat(service.sugerir("mil", 10)).extracting(ArtistaSugestaoDTO::getId).containsExactly(5L);
+        assertThat(service.sugerir("nasc", 10)).extracting(ArtistaSugestaoDTO::getId).containsExactly(5L);
+
+        service.atualizar(5L, "Caetano Veloso");
+        assertThat(service.sugerir("mil", 10)).isEmpty();
+        assertThat(service.sugerir("cae", 10)).extracting(ArtistaSugestaoDTO::getNome).containsExactly("Caetano Veloso");
+
+        service.remover(5L);
+        assertThat(service.sugerir("cae", 10)).isEmpty();
+
+        verify(repository, times(1)).findAllSugestoes();
+    }
+
+    /**
+     * Escritas feitas enquanto a reconstrução lê o banco não podem ser
+     * perdidas na troca do índice, mesmo que a leitura não as enxergue.
+     */
+    @Test
+    void reconstruir_deveManterEscritasConcorrentes() {
+        when(repository.findAllSugestoes()).thenAnswer(inv -> {
+            // Escritas concluídas durante a leitura, ausentes do resultado
+            service.adicionar(6L, "Nando Reis");
+            service.atualizar(2L, "Chester Bennington");
+            service.remover(1L);
+            return List.of(
+                    new ArtistaSugestaoDTO(1L, "Serj Tankian"),
+                    new ArtistaSugestaoDTO(2L, "Mike Shinoda"),
+                    new ArtistaSugestaoDTO(3L, "Michel Teló")
+            );
+        });
+
+        service.reconstruir();
+
+        assertThat(service.sugerir("nan", 10)).extracting(ArtistaSugestaoDTO::getId).containsExactly(6L);
+        assertThat(service.sugerir("ches", 10)).extracting(ArtistaSugestaoDTO::getId).containsExactly(2L);
+        assertThat(service.sugerir("shin", 10)).isEmpty();
+        assertThat(service.sugerir("serj", 10)).isEmpty();
+        assertThat(service.sugerir("mic", 10)).extracting(ArtistaSugestaoDTO::getId).containsExactly(3L);
+
+        // Fora da reconstrução, as escritas não são mais registradas
+        service.adicionar(7L, "Pitty");
+        assertThat(service.sugerir("pit", 10)).extracting(ArtistaSugestaoDTO::getId).containsExactly(7L);
+    }
+}
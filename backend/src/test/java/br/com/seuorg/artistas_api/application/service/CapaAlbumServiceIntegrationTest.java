@@ -0,0 +1,125 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import br.com.seuorg.artistas_api.domain.entity.Album;
+import br.com.seuorg.artistas_api.domain.entity.Artista;
+import br.com.seuorg.artistas_api.domain.entity.CapaAlbum;
+import br.com.seuorg.artistas_api.domain.entity.ExclusaoArquivoPendente;
+import br.com.seuorg.artistas_api.domain.repository.AlbumRepository;
+import br.com.seuorg.artistas_api.domain.repository.ArtistaRepository;
+import br.com.seuorg.artistas_api.domain.repository.CapaAlbumRepository;
+import br.com.seuorg.artistas_api.domain.repository.ExclusaoArquivoPendenteRepository;
+import br.com.seuorg.artistas_api.storage.S3StorageService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Testes de integração da edição de capas, pelo bean do contexto Spring
+ * (com as transações do proxy) e banco em memória. Apenas o armazenamento
+ * e a geração de variantes são simulados.
+ */
+@SpringBootTest
+class CapaAlbumServiceIntegrationTest {
+
+    @Autowired
+    CapaAlbumService capaService;
+
+    @Autowired
+    CapaAlbumRepository capaRepo;
+
+    @Autowired
+    AlbumRepository albumRepo;
+
+    @Autowired
+    ArtistaRepository artistaRepo;
+
+    @Autowired
+    ExclusaoArquivoPendenteRepository exclusaoRepo;
+
+    @MockBean
+    S3StorageService s3;
+
+    @MockBean
+    CapaVarianteService varianteService;
+
+    private Album album;
+
+    private CapaAlbum existente;
+
+    @BeforeEach
+    void setup() {
+        Artista artista = new Artista();
+        artista.setNome("Artista");
+        artista.setAlbumCount(0L);
+        artistaRepo.save(artista);
+
+        album = new Album();
+        album.setNome("Album");
+        album.setArtista(artista);
+        albumRepo.save(album);
+
+        existente = new CapaAlbum();
+        existente.setAlbum(album);
+        existente.setChave("capas-album/conteudo/aa/antiga");
+        existente.setNomeArquivo("antiga.png");
+        capaRepo.save(existente);
+    }
+
+    @AfterEach
+    void limpar() {
+        exclusaoRepo.deleteAll();
+        capaRepo.deleteAll();
+        albumRepo.deleteAll();
+        artistaRepo.deleteAll();
+    }
+
+    /**
+     * Editar as capas com novos arquivos remove a capa informada, agenda a
+     * remoção do seu arquivo e grava as novas capas.
+     */
+    @Test
+    void atualizar_deveRemoverEAdicionarCapas() throws IOException {
+        MockMultipartFile arquivo = new MockMultipartFile("arquivos", "nova.png", "image/png", "nova".getBytes());
+
+        var criadas = capaService.atualizar(album.getId(), List.of(arquivo), List.of(existente.getId()));
+
+        assertThat(criadas).hasSize(1);
+        assertThat(capaRepo.findByAlbumId(album.getId()))
+                .extracting(CapaAlbum::getNomeArquivo).containsExactly("nova.png");
+        assertThat(exclusaoRepo.findAll())
+                .extracting(ExclusaoArquivoPendente::getChave).containsExactly(existente.getChave());
+    }
+
+    /**
+     * Se o upload falhar, a exclusão da capa e a remoção agendada do seu
+     * arquivo são desfeitas juntas.
+     */
+    @Test
+    void atualizar_falhaNoUploadDeveDesfazerExclusaoERemocaoAgendada() throws IOException {
+        MockMultipartFile arquivo = new MockMultipartFile("arquivos", "nova.png", "image/png", "nova".getBytes());
+        doThrow(new IOException("falha no upload"))
+                .when(s3).upload(eq("capas"), anyString(), any(), anyLong(), any());
+
+        assertThatThrownBy(() -> capaService.atualizar(album.getId(), List.of(arquivo), List.of(existente.getId())))
+                .isInstanceOf(IOException.class);
+
+        assertThat(capaRepo.findByAlbumId(album.getId()))
+                .extracting(CapaAlbum::getId).containsExactly(existente.getId());
+        assertThat(exclusaoRepo.findAll()).isEmpty();
+    }
+}
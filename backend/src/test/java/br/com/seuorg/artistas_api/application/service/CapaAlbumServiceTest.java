@@ -1,9 +1,15 @@
 package br.com.seuorg.artistas_api.application.service;
 
+import br.com.seuorg.artistas_api.application.dto.UploadDiretoConfirmacaoDTO;
+import br.com.seuorg.artistas_api.application.dto.UploadDiretoRequestDTO;
 import br.com.seuorg.artistas_api.domain.entity.Album;
 import br.com.seuorg.artistas_api.domain.entity.CapaAlbum;
+import br.com.seuorg.artistas_api.domain.entity.CapaAlbumVariante;
+import br.com.seuorg.artistas_api.domain.entity.ExclusaoArquivoPendente;
 import br.com.seuorg.artistas_api.domain.repository.AlbumRepository;
 import br.com.seuorg.artistas_api.domain.repository.CapaAlbumRepository;
+import br.com.seuorg.artistas_api.domain.repository.ExclusaoArquivoPendenteRepository;
+import br.com.seuorg.artistas_api.exception.FuncionalidadeIndisponivelException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -13,7 +19,13 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,6 +51,18 @@ class CapaAlbumServiceTest {
     @Mock
     private br.com.seuorg.artistas_api.storage.S3StorageService s3;
 
+    /** Mock da fila de arquivos pendentes de remoção */
+    @Mock
+    private ExclusaoArquivoPendenteRepository exclusaoRepo;
+
+    /** Mock do cache local do conteúdo das capas */
+    @Mock
+    private br.com.seuorg.artistas_api.storage.StorageContentCache conteudoCache;
+
+    /** Mock do serviço de variantes redimensionadas */
+    @Mock
+    private CapaVarianteService varianteService;
+
     /** Serviço a ser testado, com dependências mockadas */
     @InjectMocks
     private CapaAlbumService service;
@@ -88,7 +112,7 @@ class CapaAlbumServiceTest {
         saved.setNomeArquivo("cap.jpg");
 
         // Simula a persistência da capa
-        when(capaRepo.save(any())).thenReturn(saved);
+        when(capaRepo.saveAll(anyList())).thenReturn(List.of(saved));
 
         // Simula presigned URL
         when(s3.generatePresignedUrl(anyString(), anyString(), any())).thenReturn("http://signed-url/some/path?x=1");
@@ -99,7 +123,7 @@ class CapaAlbumServiceTest {
         assertFalse(resp.isEmpty());
         verify(s3, times(1))
                 .upload(anyString(), anyString(), any(), anyLong(), anyString());
-        verify(capaRepo, times(1)).save(any());
+        verify(capaRepo, times(1)).saveAll(anyList());
 
         // Verifica que o DTO retornado contém a URL pré-assinada, possivelmente substituída pela publicBaseUrl
         Object dto0 = resp.get(0);
@@ -109,6 +133,204 @@ class CapaAlbumServiceTest {
         assertEquals("http://localhost:9000/some/path?x=1", dto.getUrl());
     }
 
+    /**
+     * Vários arquivos devem ser enviados concorrentemente
+     * e persistidos em um único lote.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void criar_deveEnviarEmParaleloEPersistirEmLote() throws Exception {
+        Album a = new Album();
+        a.setId(1L);
+        when(albumRepo.findById(1L)).thenReturn(Optional.of(a));
+        when(capaRepo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        // Cada upload espera até que três estejam em andamento ao mesmo tempo
+        java.util.concurrent.CountDownLatch simultaneos = new java.util.concurrent.CountDownLatch(3);
+        doAnswer(inv -> {
+            simultaneos.countDown();
+            assertTrue(simultaneos.await(5, java.util.concurrent.TimeUnit.SECONDS));
+            return null;
+        }).when(s3).upload(anyString(), anyString(), any(), anyLong(), anyString());
+
+        List<MultipartFile> arquivos = List.of(
+                new MockMultipartFile("arquivos", "a.jpg", "image/jpeg", "a".getBytes()),
+                new MockMultipartFile("arquivos", "b.jpg", "image/jpeg", "b".getBytes()),
+                new MockMultipartFile("arquivos", "c.jpg", "image/jpeg", "c".getBytes())
+        );
+
+        var resp = service.criar(1L, arquivos);
+
+        assertEquals(3, resp.size());
+        verify(s3, times(3)).upload(eq("capas"), anyString(), any(), anyLong(), eq("image/jpeg"));
+        verify(capaRepo, times(1)).saveAll(argThat((List<CapaAlbum> l) -> l.size() == 3));
+        verify(capaRepo, never()).save(any());
+    }
+
+    /**
+     * Se um upload falhar, os arquivos já enviados devem ter a remoção
+     * agendada e nenhuma capa deve ser persistida.
+     */
+    @Test
+    void criar_deveDesfazerUploadsQuandoAlgumFalhar() throws Exception {
+        Album a = new Album();
+        a.setId(1L);
+        when(albumRepo.findById(1L)).thenReturn(Optional.of(a));
+
+        MockMultipartFile ok = new MockMultipartFile("arquivos", "ok.jpg", "image/jpeg", "a".getBytes());
+        MockMultipartFile falha = new MockMultipartFile("arquivos", "falha.jpg", "image/jpeg", "b".getBytes());
+        String chaveOk = CapaAlbumService.chaveConteudo(CapaAlbumService.sha256(ok));
+        String chaveFalha = CapaAlbumService.chaveConteudo(CapaAlbumService.sha256(falha));
+
+        doThrow(new IOException("S3 indisponível"))
+                .when(s3).upload(anyString(), eq(chaveFalha), any(), anyLong(), anyString());
+
+        IOException ex = assertThrows(IOException.class, () -> service.criar(1L, List.of(ok, falha)));
+
+        assertEquals("S3 indisponível", ex.getMessage());
+        verify(exclusaoRepo).saveAll(argThat((Iterable<ExclusaoArquivoPendente> it) -> {
+            List<String> chaves = new java.util.ArrayList<>();
+            it.forEach(e -> chaves.add(e.getChave()));
+            return chaves.equals(List.of(chaveOk));
+        }));
+        verify(capaRepo, never()).saveAll(anyList());
+    }
+
+    /**
+     * Arquivos são armazenados pelo hash do conteúdo: conteúdo já existente
+     * não é reenviado e arquivos repetidos na requisição são enviados uma vez.
+     */
+    @Test
+    void criar_deveDeduplicarPorConteudo() throws Exception {
+        Album a = new Album();
+        a.setId(1L);
+        when(albumRepo.findById(1L)).thenReturn(Optional.of(a));
+        when(capaRepo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        MockMultipartFile existente = new MockMultipartFile("arquivos", "x.jpg", "image/jpeg", "x".getBytes());
+        MockMultipartFile novo = new MockMultipartFile("arquivos", "y.jpg", "image/jpeg", "y".getBytes());
+        MockMultipartFile repetido = new MockMultipartFile("arquivos", "y-copia.jpg", "image/jpeg", "y".getBytes());
+        String hashExistente = CapaAlbumService.sha256(existente);
+        String chaveExistente = CapaAlbumService.chaveConteudo(hashExistente);
+        String chaveNovo = CapaAlbumService.chaveConteudo(CapaAlbumService.sha256(novo));
+        when(capaRepo.findChavesEmUso(any())).thenReturn(List.of(chaveExistente));
+
+        var resp = service.criar(1L, List.of(existente, novo, repetido));
+
+        assertEquals(64, hashExistente.length());
+        assertEquals("capas-album/conteudo/" + hashExistente.substring(0, 2) + "/" + hashExistente, chaveExistente);
+        assertEquals(List.of(chaveExistente, chaveNovo, chaveNovo),
+                resp.stream().map(d -> d.getChave()).toList());
+        verify(s3, times(1)).upload(anyString(), anyString(), any(), anyLong(), anyString());
+        verify(s3).upload(eq("capas"), eq(chaveNovo), any(), eq(1L), eq("image/jpeg"));
+    }
+
+    /**
+     * Listagens repetidas devem reaproveitar a URL pré-assinada
+     * até a margem de renovação antes da expiração.
+     */
+    @Test
+    void listarPorAlbum_deveReaproveitarUrlPreAssinadaAteRenovacao() {
+        Album a = new Album();
+        a.setId(1L);
+        CapaAlbum c = new CapaAlbum();
+        c.setId(5L);
+        c.setAlbum(a);
+        c.setChave("capas-album/albums/1/cap.jpg");
+
+        Instant inicio = Instant.parse("2024-01-10T12:00:00Z");
+        org.springframework.test.util.ReflectionTestUtils.setField(service, "clock", Clock.fixed(inicio, ZoneOffset.UTC));
+        when(capaRepo.findByAlbumId(1L)).thenReturn(List.of(c));
+        when(s3.generatePresignedUrl(anyString(), anyString(), any())).thenReturn("http://minio:9000/capas/cap.jpg?X-Amz-Signature=1");
+
+        assertEquals("http://localhost:9000/capas/cap.jpg?X-Amz-Signature=1", service.listarPorAlbum(1L).get(0).getUrl());
+        service.listarPorAlbum(1L);
+        verify(s3, times(1)).generatePresignedUrl(eq("capas"), eq("capas-album/albums/1/cap.jpg"), eq(Duration.ofMinutes(30)));
+
+        // 26 minutos depois (dentro da margem de 5 minutos): assina novamente
+        org.springframework.test.util.ReflectionTestUtils.setField(service, "clock",
+                Clock.fixed(inicio.plus(Duration.ofMinutes(26)), ZoneOffset.UTC));
+        service.listarPorAlbum(1L);
+        verify(s3, times(2)).generatePresignedUrl(anyString(), anyString(), any());
+    }
+
+    /**
+     * Sem URL base pública, a URL é a do proxy da API e nenhuma assinatura é feita.
+     */
+    @Test
+    void listarPorAlbum_semUrlPublicaNaoDeveAssinar() {
+        org.springframework.test.util.ReflectionTestUtils.setField(service, "publicBaseUrl", "");
+        Album a = new Album();
+        a.setId(1L);
+        CapaAlbum c = new CapaAlbum();
+        c.setId(5L);
+        c.setAlbum(a);
+        c.setChave("capas-album/albums/1/cap.jpg");
+        when(capaRepo.findByAlbumId(1L)).thenReturn(List.of(c));
+
+        assertEquals("/api/capas/5/conteudo", service.listarPorAlbum(1L).get(0).getUrl());
+        verify(s3, never()).generatePresignedUrl(anyString(), anyString(), any());
+    }
+
+    /**
+     * Com armazenamento local, a URL é sempre a do proxy da API, mesmo com
+     * URL base pública configurada, e nenhuma assinatura é tentada.
+     */
+    @Test
+    void listarPorAlbum_armazenamentoLocalDeveUsarProxy() {
+        org.springframework.test.util.ReflectionTestUtils.setField(service, "tipoArmazenamento", "local");
+        Album a = new Album();
+        a.setId(1L);
+        CapaAlbum c = new CapaAlbum();
+        c.setId(5L);
+        c.setAlbum(a);
+        c.setChave("capas-album/albums/1/cap.png");
+        CapaAlbumVariante v = new CapaAlbumVariante();
+        v.setCapa(c);
+        v.setLargura(128);
+        v.setChave("capas-album/albums/1/cap_128w.jpg");
+        when(capaRepo.findByAlbumId(1L)).thenReturn(List.of(c));
+        when(varianteService.escolher(List.of(5L), 100)).thenReturn(Map.of(5L, v));
+
+        assertEquals("/api/capas/5/conteudo", service.listarPorAlbum(1L).get(0).getUrl());
+        assertEquals("/api/capas/5/conteudo?tamanho=128", service.listarPorAlbum(1L, 100).get(0).getUrl());
+        verify(s3, never()).generatePresignedUrl(anyString(), anyString(), any());
+    }
+
+    /**
+     * Com tamanho informado, a capa deve apontar para a variante escolhida.
+     */
+    @Test
+    void listarPorAlbum_comTamanhoDeveUsarVariante() {
+        org.springframework.test.util.ReflectionTestUtils.setField(service, "publicBaseUrl", "");
+        Album a = new Album();
+        a.setId(1L);
+        CapaAlbum c = new CapaAlbum();
+        c.setId(5L);
+        c.setAlbum(a);
+        c.setChave("capas-album/albums/1/cap.png");
+        c.setContentType("image/png");
+        c.setTamanho(90_000L);
+
+        CapaAlbumVariante v = new CapaAlbumVariante();
+        v.setCapa(c);
+        v.setLargura(128);
+        v.setChave("capas-album/albums/1/cap_128w.jpg");
+        v.setContentType("image/jpeg");
+        v.setTamanho(4_000L);
+
+        when(capaRepo.findByAlbumId(1L)).thenReturn(List.of(c));
+        when(varianteService.escolher(List.of(5L), 100)).thenReturn(Map.of(5L, v));
+
+        var dto = service.listarPorAlbum(1L, 100).get(0);
+
+        assertEquals("/api/capas/5/conteudo?tamanho=128", dto.getUrl());
+        assertEquals("capas-album/albums/1/cap_128w.jpg", dto.getChave());
+        assertEquals("image/jpeg", dto.getContentType());
+        assertEquals(4_000L, dto.getTamanho());
+        assertEquals(128, dto.getLargura());
+    }
+
     /**
      * Testa a exclusão de uma capa inexistente.
      *
@@ -124,8 +346,12 @@ class CapaAlbumServiceTest {
         verify(capaRepo, never()).delete(any());
     }
 
+    /**
+     * A exclusão deve remover o registro e agendar a remoção do arquivo,
+     * sem chamar o S3 durante a requisição.
+     */
     @Test
-    void excluir_deveRemoverDoS3EBanco() {
+    void excluir_deveRemoverDoBancoEAgendarRemocaoDoArquivo() {
         CapaAlbum c = new CapaAlbum();
         c.setId(7L);
         c.setChave("capas-album/albums/1/test.jpg");
@@ -134,8 +360,42 @@ class CapaAlbumServiceTest {
 
         service.excluir(7L);
 
-        verify(s3, times(1)).delete(eq("capas"), eq("capas-album/albums/1/test.jpg"));
         verify(capaRepo, times(1)).delete(eq(c));
+        verify(exclusaoRepo, times(1)).saveAll(argThat((Iterable<ExclusaoArquivoPendente> it) -> {
+            ExclusaoArquivoPendente e = it.iterator().next();
+            return "capas".equals(e.getBucket()) && "capas-album/albums/1/test.jpg".equals(e.getChave());
+        }));
+        verify(conteudoCache).invalidar("capas", List.of("capas-album/albums/1/test.jpg"));
+        verifyNoInteractions(s3);
+    }
+
+    /**
+     * A exclusão também deve agendar a remoção das variantes do arquivo.
+     */
+    @Test
+    void excluirArquivos_deveAgendarVariantes() {
+        when(varianteService.chavesDerivadas("a/capa.png")).thenReturn(List.of("a/capa_128w.jpg", "a/capa_512w.jpg"));
+
+        service.excluirArquivos(List.of("a/capa.png"));
+
+        verify(exclusaoRepo).saveAll(argThat((Iterable<ExclusaoArquivoPendente> it) -> {
+            List<String> chaves = new java.util.ArrayList<>();
+            it.forEach(e -> chaves.add(e.getChave()));
+            return chaves.equals(List.of("a/capa.png", "a/capa_128w.jpg", "a/capa_512w.jpg"));
+        }));
+        verify(conteudoCache).invalidar("capas", List.of("a/capa.png", "a/capa_128w.jpg", "a/capa_512w.jpg"));
+    }
+
+    /**
+     * Arquivos ainda referenciados por outra capa não devem ser removidos.
+     */
+    @Test
+    void excluirArquivos_naoDeveAgendarChaveAindaReferenciada() {
+        when(capaRepo.findChavesEmUso(any())).thenReturn(List.of("a/compartilhada"));
+
+        service.excluirArquivos(List.of("a/compartilhada"));
+
+        verifyNoInteractions(exclusaoRepo, conteudoCache);
     }
 
     /**
@@ -167,7 +427,7 @@ class CapaAlbumServiceTest {
         saved.setNomeArquivo("album-cover.jpg");
 
         // Simula a persistência da capa
-        when(capaRepo.save(any())).thenReturn(saved);
+        when(capaRepo.saveAll(anyList())).thenReturn(List.of(saved));
 
         // Simula presigned URL
         when(s3.generatePresignedUrl(anyString(), anyString(), any())).thenReturn("http://minio:9000/capas/presigned");
@@ -182,7 +442,7 @@ class CapaAlbumServiceTest {
                 .upload(eq("capas"), anyString(), any(), anyLong(), eq("image/jpeg"));
         
         // Verifica que a capa foi persistida
-        verify(capaRepo, times(1)).save(any());
+        verify(capaRepo, times(1)).saveAll(anyList());
 
         // Verifica que o DTO retornado contém a URL
         Object dto0 = resp.get(0);
@@ -190,4 +450,141 @@ class CapaAlbumServiceTest {
         var dto = (br.com.seuorg.artistas_api.application.dto.CapaAlbumResponseDTO) dto0;
         assertNotNull(dto.getUrl());
     }
+
+    /**
+     * A reserva de envio direto deve gerar URLs PUT sob o prefixo do álbum
+     * e agendar a remoção das chaves para o fim do prazo de confirmação.
+     */
+    @Test
+    void reservarUploads_deveGerarUrlsEAgendarRemocaoNoPrazo() {
+        when(albumRepo.existsById(1L)).thenReturn(true);
+        when(s3.generatePresignedUploadUrl(eq("capas"), anyString(), eq("image/png"), eq(1000L), eq(Duration.ofMinutes(15))))
+                .thenReturn("http://minio:9000/capas/x.png?X-Amz-Signature=1");
+
+        var resp = service.reservarUploads(1L, List.of(new UploadDiretoRequestDTO.Arquivo("Minha Capa.png", "image/png", 1000L)));
+
+        assertEquals(1, resp.size());
+        assertTrue(resp.get(0).getChave().matches("capas-album/albums/1/minha-capa-[0-9a-f-]+\\.png"));
+        assertEquals("http://localhost:9000/capas/x.png?X-Amz-Signature=1", resp.get(0).getUrl());
+        assertEquals("image/png", resp.get(0).getContentType());
+        verify(exclusaoRepo).saveAll(argThat((Iterable<ExclusaoArquivoPendente> it) -> {
+            ExclusaoArquivoPendente e = it.iterator().next();
+            return e.getChave().equals(resp.get(0).getChave())
+                    && e.getProximaTentativa().isAfter(LocalDateTime.now().plusMinutes(59));
+        }));
+    }
+
+    /**
+     * Apenas imagens dentro do tamanho máximo podem ser reservadas.
+     */
+    @Test
+    void reservarUploads_deveRejeitarArquivoQueNaoEImagem() {
+        when(albumRepo.existsById(1L)).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                service.reservarUploads(1L, List.of(new UploadDiretoRequestDTO.Arquivo("a.pdf", "application/pdf", 10L))));
+        assertThrows(IllegalArgumentException.class, () ->
+                service.reservarUploads(1L, List.of(new UploadDiretoRequestDTO.Arquivo("a.png", "image/png", 100L * 1024 * 1024))));
+        verifyNoInteractions(exclusaoRepo);
+    }
+
+    /**
+     * Com armazenamento local, o envio direto deve ser rejeitado
+     * explicitamente, sem reservar chaves nem consultar o armazenamento.
+     */
+    @Test
+    void uploadDireto_deveSerRejeitadoComArmazenamentoLocal() {
+        org.springframework.test.util.ReflectionTestUtils.setField(service, "tipoArmazenamento", "local");
+
+        assertThrows(FuncionalidadeIndisponivelException.class, () ->
+                service.reservarUploads(1L, List.of(new UploadDiretoRequestDTO.Arquivo("a.png", "image/png", 10L))));
+        assertThrows(FuncionalidadeIndisponivelException.class, () ->
+                service.confirmarUploads(1L, List.of()));
+        verifyNoInteractions(s3, exclusaoRepo, albumRepo);
+    }
+
+    /**
+     * A confirmação deve consumir a reserva, copiar o arquivo para uma chave
+     * nova (a URL de envio da chave reservada continua válida), verificar a
+     * cópia, criar a capa com ela e remover a chave reservada.
+     */
+    @Test
+    void confirmarUploads_deveCopiarArquivoParaChaveNovaECriarCapa() throws IOException {
+        Album a = new Album();
+        a.setId(1L);
+        String chave = "capas-album/albums/1/capa-uuid.png";
+        when(albumRepo.findById(1L)).thenReturn(Optional.of(a));
+        when(s3.head(eq("capas"), anyString())).thenReturn(Optional.of(new br.com.seuorg.artistas_api.storage.StorageMetadata(1000L, "image/png")));
+        when(exclusaoRepo.consumirReservas(eq("capas"), eq(java.util.Set.of(chave)), any())).thenReturn(1);
+        when(capaRepo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        var resp = service.confirmarUploads(1L, List.of(new UploadDiretoConfirmacaoDTO.Arquivo(chave, "Capa.png")));
+
+        assertEquals(1, resp.size());
+        String copia = resp.get(0).getChave();
+        assertTrue(copia.matches("capas-album/albums/1/capa-[0-9a-f-]+\\.png"), copia);
+        assertNotEquals(chave, copia);
+        verify(s3).copy("capas", chave, copia);
+        verify(s3).head("capas", copia);
+        verify(s3).deleteAll("capas", List.of(chave));
+        assertEquals("Capa.png", resp.get(0).getNomeArquivo());
+        assertEquals(1000L, resp.get(0).getTamanho());
+        assertEquals("image/png", resp.get(0).getContentType());
+        verify(varianteService).gerarEmSegundoPlano(anyList());
+    }
+
+    /**
+     * Se a cópia não for uma imagem válida, nenhuma capa deve ser criada
+     * e a cópia deve ser agendada para remoção.
+     */
+    @Test
+    void confirmarUploads_deveDescartarCopiaInvalida() throws IOException {
+        Album a = new Album();
+        a.setId(1L);
+        String chave = "capas-album/albums/1/capa-uuid.png";
+        when(albumRepo.findById(1L)).thenReturn(Optional.of(a));
+        when(s3.head(eq("capas"), anyString())).thenReturn(Optional.of(new br.com.seuorg.artistas_api.storage.StorageMetadata(1000L, "text/html")));
+        when(exclusaoRepo.consumirReservas(anyString(), any(), any())).thenReturn(1);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                service.confirmarUploads(1L, List.of(new UploadDiretoConfirmacaoDTO.Arquivo(chave, null))));
+        verify(capaRepo, never()).saveAll(anyList());
+        verify(exclusaoRepo).saveAll(argThat((Iterable<ExclusaoArquivoPendente> it) ->
+                it.iterator().next().getChave().startsWith("capas-album/albums/1/capa-uuid-")));
+    }
+
+    /**
+     * Chaves não reservadas, expiradas ou já confirmadas devem ser rejeitadas.
+     */
+    @Test
+    void confirmarUploads_deveRejeitarChaveNaoReservada() throws IOException {
+        Album a = new Album();
+        a.setId(1L);
+        String chave = "capas-album/albums/1/capa-uuid.png";
+        when(albumRepo.findById(1L)).thenReturn(Optional.of(a));
+        when(s3.head("capas", chave)).thenReturn(Optional.of(new br.com.seuorg.artistas_api.storage.StorageMetadata(1000L, "image/png")));
+        when(exclusaoRepo.consumirReservas(anyString(), any(), any())).thenReturn(0);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                service.confirmarUploads(1L, List.of(new UploadDiretoConfirmacaoDTO.Arquivo(chave, null))));
+        verify(capaRepo, never()).saveAll(anyList());
+    }
+
+    /**
+     * Chaves de outro álbum e arquivos não enviados devem ser rejeitados.
+     */
+    @Test
+    void confirmarUploads_deveRejeitarChaveDeOutroAlbumOuArquivoAusente() throws IOException {
+        Album a = new Album();
+        a.setId(1L);
+        when(albumRepo.findById(1L)).thenReturn(Optional.of(a));
+        when(s3.head(anyString(), anyString())).thenReturn(Optional.empty());
+        when(exclusaoRepo.consumirReservas(anyString(), any(), any())).thenReturn(1);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                service.confirmarUploads(1L, List.of(new UploadDiretoConfirmacaoDTO.Arquivo("capas-album/albums/2/x.png", null))));
+        assertThrows(IllegalArgumentException.class, () ->
+                service.confirmarUploads(1L, List.of(new UploadDiretoConfirmacaoDTO.Arquivo("capas-album/albums/1/x.png", null))));
+        verify(s3, never()).copy(anyString(), anyString(), anyString());
+    }
 }
@@ -0,0 +1,174 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import br.com.seuorg.artistas_api.domain.entity.CapaAlbum;
+import br.com.seuorg.artistas_api.domain.entity.CapaAlbumVariante;
+import br.com.seuorg.artistas_api.domain.repository.CapaAlbumVarianteRepository;
+import br.com.seuorg.artistas_api.storage.S3StorageService;
+import br.com.seuorg.artistas_api.storage.StorageObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do serviço de variantes redimensionadas das capas.
+ */
+class CapaVarianteServiceTest {
+
+    private CapaAlbumVarianteRepository varianteRepo;
+
+    private S3StorageService s3;
+
+    private CapaVarianteService service;
+
+    @BeforeEach
+    void setup() {
+        varianteRepo = mock(CapaAlbumVarianteRepository.class);
+        s3 = mock(S3StorageService.class);
+        service = new CapaVarianteService(varianteRepo, s3, "capas", List.of(512, 128), true, 1);
+        when(varianteRepo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @AfterEach
+    void encerrar() {
+        service.encerrar();
+    }
+
+    /**
+     * Deve gerar as variantes menores que o original, sem ampliar,
+     * mantendo a proporção e gravando JPEG na chave derivada.
+     */
+    @Test
+    void gerar_deveReduzirSemAmpliar() throws Exception {
+        CapaAlbum capa = capa("capas-album/albums/1/capa-x.png");
+        when(s3.openStream("capas", capa.getChave(), null)).thenReturn(png(400, 200));
+
+        List<CapaAlbumVariante> variantes = service.gerar(capa);
+
+        assertEquals(1, variantes.size());
+        CapaAlbumVariante v = variantes.get(0);
+        assertEquals(128, v.getLargura());
+        assertEquals(64, v.getAltura());
+        assertEquals("capas-album/albums/1/capa-x_128w.jpg", v.getChave());
+        assertEquals("image/jpeg", v.getContentType());
+
+        ArgumentCaptor<InputStream> conteudo = ArgumentCaptor.forClass(InputStream.class);
+        verify(s3).upload(eq("capas"), eq("capas-album/albums/1/capa-x_128w.jpg"), conteudo.capture(), eq(v.getTamanho()), eq("image/jpeg"));
+        BufferedImage gerada = ImageIO.read(conteudo.getValue());
+        assertEquals(128, gerada.getWidth());
+        assertEquals(64, gerada.getHeight());
+    }
+
+    /**
+     * Arquivos que não são imagens não devem gerar variantes.
+     */
+    @Test
+    void gerar_deveIgnorarArquivoQueNaoEImagem() throws Exception {
+        CapaAlbum capa = capa("capas-album/albums/1/doc.pdf");
+        byte[] dados = "nao e imagem".getBytes();
+        when(s3.openStream("capas", capa.getChave(), null))
+                .thenReturn(new StorageObject(new ByteArrayInputStream(dados), dados.length, null, "application/pdf"));
+
+        assertTrue(service.gerar(capa).isEmpty());
+        verify(s3, never()).upload(anyString(), anyString(), any(), anyLong(), anyString());
+        verify(varianteRepo, never()).saveAll(anyList());
+    }
+
+    /**
+     * Se a capa for removida durante a geração, os arquivos enviados são descartados.
+     */
+    @Test
+    void gerar_deveDescartarArquivosSeCapaForRemovida() throws Exception {
+        CapaAlbum capa = capa("a/capa.png");
+        when(s3.openStream("capas", "a/capa.png", null)).thenReturn(png(1000, 1000));
+        when(varianteRepo.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("fk"));
+
+        assertTrue(service.gerar(capa).isEmpty());
+        verify(s3).deleteAll("capas", List.of("a/capa_128w.jpg", "a/capa_512w.jpg"));
+    }
+
+    /**
+     * Variantes já geradas para outra capa de mesmo conteúdo devem ser
+     * reaproveitadas, sem ler nem enviar arquivos.
+     */
+    @Test
+    void gerar_deveReaproveitarVariantesDeMesmoConteudo() throws Exception {
+        CapaAlbum outra = capa("c/abc");
+        CapaAlbumVariante v128 = variante(outra, 128);
+        v128.setChave("c/abc_128w.jpg");
+        v128.setAltura(128);
+        v128.setTamanho(3_000L);
+        CapaAlbum capa = capa("c/abc");
+        capa.setId(2L);
+        when(varianteRepo.findByChaveIn(List.of("c/abc_128w.jpg", "c/abc_512w.jpg"))).thenReturn(List.of(v128, v128));
+
+        List<CapaAlbumVariante> variantes = service.gerar(capa);
+
+        assertEquals(1, variantes.size());
+        assertSame(capa, variantes.get(0).getCapa());
+        assertEquals("c/abc_128w.jpg", variantes.get(0).getChave());
+        assertEquals(3_000L, variantes.get(0).getTamanho());
+        verifyNoInteractions(s3);
+    }
+
+    /**
+     * Deve escolher a menor variante com largura maior ou igual à solicitada.
+     */
+    @Test
+    void escolher_deveUsarMenorVarianteSuficiente() {
+        CapaAlbum capa = capa("a/capa.png");
+        CapaAlbumVariante v128 = variante(capa, 128);
+        CapaAlbumVariante v512 = variante(capa, 512);
+        when(varianteRepo.findByCapaIdInOrderByLarguraAsc(List.of(1L))).thenReturn(List.of(v128, v512));
+
+        assertEquals(Map.of(1L, v128), service.escolher(List.of(1L), 100));
+        assertEquals(Map.of(1L, v512), service.escolher(List.of(1L), 300));
+        assertTrue(service.escolher(List.of(1L), 1000).isEmpty());
+        assertTrue(service.escolher(List.of(1L), null).isEmpty());
+    }
+
+    /**
+     * As chaves derivadas ficam ao lado do original, com extensão .jpg.
+     */
+    @Test
+    void chaveVariante_deveDerivarDaChaveOriginal() {
+        assertEquals("a/b/capa_128w.jpg", CapaVarianteService.chaveVariante("a/b/capa.png", 128));
+        assertEquals("a.b/capa_128w.jpg", CapaVarianteService.chaveVariante("a.b/capa", 128));
+        assertEquals(List.of("a/capa_128w.jpg", "a/capa_512w.jpg"), service.chavesDerivadas("a/capa.webp"));
+    }
+
+    private static CapaAlbum capa(String chave) {
+        CapaAlbum c = new CapaAlbum();
+        c.setId(1L);
+        c.setChave(chave);
+        return c;
+    }
+
+    private static CapaAlbumVariante variante(CapaAlbum capa, int largura) {
+        CapaAlbumVariante v = new CapaAlbumVariante();
+        v.setCapa(capa);
+        v.setLargura(largura);
+        return v;
+    }
+
+    private static StorageObject png(int largura, int altura) throws Exception {
+        BufferedImage img = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_ARGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, "png", out);
+        byte[] bytes = out.toByteArray();
+        return new StorageObject(new ByteArrayInputStream(bytes), bytes.length, null, "image/png");
+    }
+}
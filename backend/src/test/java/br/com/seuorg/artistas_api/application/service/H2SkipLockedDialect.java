@@ -0,0 +1,32 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import org.hibernate.LockOptions;
+import org.hibernate.dialect.H2Dialect;
+
+/**
+ * Dialeto H2 que emite FOR UPDATE SKIP LOCKED (suportado pelo H2 2.x,
+ * mas não declarado pelo H2Dialect), para que os testes de concorrência
+ * reproduzam o comportamento do PostgreSQL.
+ */
+public class H2SkipLockedDialect extends H2Dialect {
+
+    @Override
+    public boolean supportsSkipLocked() {
+        return true;
+    }
+
+    @Override
+    public String getForUpdateSkipLockedString() {
+        return " for update skip locked";
+    }
+
+    @Override
+    public String getForUpdateSkipLockedString(String aliases) {
+        return getForUpdateSkipLockedString();
+    }
+
+    @Override
+    public String getWriteLockString(int timeout) {
+        return timeout == LockOptions.SKIP_LOCKED ? getForUpdateSkipLockedString() : super.getWriteLockString(timeout);
+    }
+}
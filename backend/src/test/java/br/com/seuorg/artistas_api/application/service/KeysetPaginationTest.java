@@ -0,0 +1,129 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import br.com.seuorg.artistas_api.application.dto.AlbumResponseDTO;
+import br.com.seuorg.artistas_api.application.dto.ArtistaResponseDTO;
+import br.com.seuorg.artistas_api.application.dto.CursorPageDTO;
+import br.com.seuorg.artistas_api.domain.entity.Album;
+import br.com.seuorg.artistas_api.domain.entity.Artista;
+import br.com.seuorg.artistas_api.domain.repository.AlbumRepository;
+import br.com.seuorg.artistas_api.domain.repository.ArtistaRepository;
+import br.com.seuorg.artistas_api.domain.repository.CapaAlbumRepository;
+import br.com.seuorg.artistas_api.notification.NotificationRateLimiter;
+import br.com.seuorg.artistas_api.websocket.AlbumNotifier;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Testes de integração da paginação por cursor (keyset) de artistas e álbuns.
+ *
+ * Verifica que o catálogo é percorrido por completo, na ordem (nome, id),
+ * sem repetições e com uma única consulta por página (sem COUNT).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class KeysetPaginationTest {
+
+    @Autowired
+    ArtistaRepository artistaRepository;
+
+    @Autowired
+    AlbumRepository albumRepository;
+
+    @Autowired
+    CapaAlbumRepository capaAlbumRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private ArtistaService artistaService;
+    private AlbumService albumService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        artistaService = new ArtistaService(artistaRepository, albumRepository, capaAlbumRepository,
+                mock(CapaAlbumService.class), mock(ArtistaSugestaoService.class));
+        albumService = new AlbumService(albumRepository, artistaRepository,
+                mock(AlbumNotifier.class), new NotificationRateLimiter(10, 60));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Nomes repetidos garantem que o desempate por ID é respeitado
+        for (String nome : List.of("Beta", "Alfa", "Beta", "Gama", "Alfa")) {
+            Artista artista = new Artista();
+            artista.setNome(nome);
+            artistaRepository.save(artista);
+
+            Album album = new Album();
+            album.setNome("Disco " + nome);
+            album.setArtista(artista);
+            albumRepository.save(album);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    /**
+     * Deve percorrer todos os artistas em ordem (nome, id), uma consulta por página.
+     */
+    @Test
+    void artistas_percorreCatalogoCompleto() {
+        List<ArtistaResponseDTO> visitados = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            CursorPageDTO<ArtistaResponseDTO> page = artistaService.listarPorCursor(cursor, 2);
+            visitados.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            paginas++;
+        } while (cursor != null);
+
+        assertThat(paginas).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(visitados).extracting(ArtistaResponseDTO::getNome)
+                .containsExactly("Alfa", "Alfa", "Beta", "Beta", "Gama");
+        assertThat(visitados).extracting(ArtistaResponseDTO::getId).doesNotHaveDuplicates();
+        assertThat(visitados.get(0).getId()).isLessThan(visitados.get(1).getId());
+    }
+
+    /**
+     * Deve percorrer todos os álbuns, já com os dados do artista, uma consulta por página.
+     */
+    @Test
+    void albuns_percorreCatalogoCompleto() {
+        List<AlbumResponseDTO> visitados = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageDTO<AlbumResponseDTO> page = albumService.listarPorCursor(cursor, 4);
+            visitados.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(visitados).hasSize(5);
+        assertThat(visitados).allSatisfy(a -> assertThat(a.getArtistaNome()).isEqualTo(a.getNome().substring(6)));
+    }
+
+    /**
+     * Deve rejeitar tokens de cursor malformados.
+     */
+    @Test
+    void cursorInvalido_deveLancar() {
+        assertThrows(IllegalArgumentException.class, () -> artistaService.listarPorCursor("nao-e-um-cursor", 2));
+    }
+}
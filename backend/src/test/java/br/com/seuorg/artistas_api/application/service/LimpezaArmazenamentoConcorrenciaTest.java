@@ -0,0 +1,194 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import br.com.seuorg.artistas_api.domain.entity.Album;
+import br.com.seuorg.artistas_api.domain.entity.Artista;
+import br.com.seuorg.artistas_api.domain.entity.ExclusaoArquivoPendente;
+import br.com.seuorg.artistas_api.domain.repository.AlbumRepository;
+import br.com.seuorg.artistas_api.domain.repository.ArtistaRepository;
+import br.com.seuorg.artistas_api.domain.repository.CapaAlbumRepository;
+import br.com.seuorg.artistas_api.domain.repository.CapaAlbumVarianteRepository;
+import br.com.seuorg.artistas_api.domain.repository.ExclusaoArquivoPendenteRepository;
+import br.com.seuorg.artistas_api.storage.S3StorageService;
+import br.com.seuorg.artistas_api.storage.StorageContentCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Testes de integração da fila de remoção de arquivos com transações
+ * concorrentes. Utiliza banco em memória com DataJpaTest, sem a
+ * transação por teste, para que cada transação seja confirmada.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=br.com.seuorg.artistas_api.application.service.H2SkipLockedDialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LimpezaArmazenamentoConcorrenciaTest {
+
+    @Autowired
+    ExclusaoArquivoPendenteRepository repository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    CapaAlbumRepository capaRepo;
+
+    @Autowired
+    CapaAlbumVarianteRepository varianteRepo;
+
+    @Autowired
+    AlbumRepository albumRepo;
+
+    @Autowired
+    ArtistaRepository artistaRepo;
+
+    @AfterEach
+    void limpar() {
+        repository.deleteAll();
+        capaRepo.deleteAll();
+        albumRepo.deleteAll();
+        artistaRepo.deleteAll();
+    }
+
+    /**
+     * Um lote reivindicado por uma transação em andamento deve ser
+     * ignorado (sem espera) pelas demais, que reivindicam os restantes.
+     */
+    @Test
+    void findProntas_deveIgnorarRegistrosReivindicadosPorOutraTransacao() throws Exception {
+        LocalDateTime agora = LocalDateTime.now();
+        for (int i = 0; i < 4; i++) {
+            ExclusaoArquivoPendente e = new ExclusaoArquivoPendente("capas", "k" + i);
+            e.setProximaTentativa(agora.minusMinutes(10 - i));
+            repository.save(e);
+        }
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        CountDownLatch reivindicado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        CompletableFuture<List<String>> primeira = CompletableFuture.supplyAsync(() -> transacao.execute(status -> {
+            // O H2 bloqueia todas as linhas que atendem ao filtro (o PostgreSQL,
+            // só as retornadas): o corte limita a reivindicação a k0 e k1
+            List<String> chaves = chaves(repository.findProntas(agora.minusMinutes(8).minusSeconds(30), PageRequest.of(0, 2)));
+            reivindicado.countDown();
+            aguardar(liberar);
+            return chaves;
+        }));
+
+        try {
+            assertThat(reivindicado.await(10, TimeUnit.SECONDS)).isTrue();
+            List<String> segunda = transacao.execute(status ->
+                    chaves(repository.findProntas(agora, PageRequest.of(0, 10))));
+            assertThat(segunda).containsExactly("k2", "k3");
+        } finally {
+            liberar.countDown();
+        }
+        assertThat(primeira.get(10, TimeUnit.SECONDS)).containsExactly("k0", "k1");
+    }
+
+    /**
+     * Um envio do mesmo conteúdo durante a remoção do arquivo pela limpeza
+     * deve esperar o fim do lote e reenviar o arquivo: a capa criada nunca
+     * pode apontar para um arquivo removido.
+     */
+    @Test
+    void criar_naoDeveReferenciarArquivoRemovidoPelaLimpeza() throws Exception {
+        Artista artista = new Artista();
+        artista.setNome("Artista");
+        artista.setAlbumCount(0L);
+        artistaRepo.save(artista);
+        Album album = new Album();
+        album.setNome("Album");
+        album.setArtista(artista);
+        albumRepo.save(album);
+
+        MockMultipartFile arquivo = new MockMultipartFile("arquivos", "capa.png", "image/png", "capa".getBytes());
+        String chave = CapaAlbumService.chaveConteudo(CapaAlbumService.sha256(arquivo));
+
+        // Remoção vencida do mesmo conteúdo (capa anterior já excluída)
+        ExclusaoArquivoPendente pendente = new ExclusaoArquivoPendente("capas", chave);
+        pendente.setProximaTentativa(LocalDateTime.now().minusMinutes(1));
+        repository.save(pendente);
+
+        Set<String> armazenamento = ConcurrentHashMap.newKeySet();
+        armazenamento.add(chave);
+        CountDownLatch removendo = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        S3StorageService s3 = mock(S3StorageService.class);
+        doAnswer(inv -> {
+            removendo.countDown();
+            aguardar(liberar);
+            armazenamento.removeAll(inv.<List<String>>getArgument(1));
+            return null;
+        }).when(s3).deleteAll(eq("capas"), anyList());
+        doAnswer(inv -> armazenamento.add(inv.getArgument(1)))
+                .when(s3).upload(eq("capas"), anyString(), any(), anyLong(), any());
+
+        LimpezaArmazenamentoService limpeza = new LimpezaArmazenamentoService(repository, s3, capaRepo, varianteRepo,
+                transactionManager, new SimpleMeterRegistry(), true, 100, 1000, 8000);
+        CapaAlbumService capas = new CapaAlbumService(capaRepo, albumRepo, s3, repository,
+                mock(StorageContentCache.class), mock(CapaVarianteService.class), transactionManager);
+        ReflectionTestUtils.setField(capas, "bucket", "capas");
+        ReflectionTestUtils.setField(capas, "maxFilesPerUpload", 10);
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        // A limpeza reivindica a remoção, não encontra referências e começa a remover
+        CompletableFuture<Integer> removidos = CompletableFuture.supplyAsync(limpeza::processar);
+        assertThat(removendo.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Envio do mesmo conteúdo (transação de criar) antes do fim da remoção
+        CompletableFuture<Void> criacao = CompletableFuture.runAsync(() -> transacao.executeWithoutResult(status -> {
+            try {
+                capas.criar(album.getId(), List.of(arquivo));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+        Thread.sleep(300);
+        liberar.countDown();
+
+        assertThat(removidos.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        criacao.get(10, TimeUnit.SECONDS);
+        assertThat(capaRepo.findChavesEmUso(List.of(chave))).containsExactly(chave);
+        assertThat(armazenamento).contains(chave);
+    }
+
+    private static List<String> chaves(List<ExclusaoArquivoPendente> itens) {
+        return itens.stream().map(ExclusaoArquivoPendente::getChave).toList();
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.seuorg.artistas_api.application.service;
+
+import br.com.seuorg.artistas_api.domain.entity.ExclusaoArquivoPendente;
+import br.com.seuorg.artistas_api.domain.repository.CapaAlbumRepository;
+import br.com.seuorg.artistas_api.domain.repository.CapaAlbumVarianteRepository;
+import br.com.seuorg.artistas_api.domain.repository.ExclusaoArquivoPendenteRepository;
+import br.com.seuorg.artistas_api.storage.S3StorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do processamento da fila de remoção de arquivos.
+ */
+class LimpezaArmazenamentoServiceTest {
+
+    private ExclusaoArquivoPendenteRepository repository;
+
+    private S3StorageService s3;
+
+    private CapaAlbumRepository capaRepo;
+
+    private CapaAlbumVarianteRepository varianteRepo;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LimpezaArmazenamentoService service;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(ExclusaoArquivoPendenteRepository.class);
+        s3 = mock(S3StorageService.class);
+        capaRepo = mock(CapaAlbumRepository.class);
+        varianteRepo = mock(CapaAlbumVarianteRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new LimpezaArmazenamentoService(repository, s3, capaRepo, varianteRepo,
+                mock(PlatformTransactionManager.class), meterRegistry, true, 100, 1000, 8000);
+    }
+
+    private static ExclusaoArquivoPendente pendente(Long id, String bucket, String chave) {
+        ExclusaoArquivoPendente e = new ExclusaoArquivoPendente(bucket, chave);
+        e.setId(id);
+        e.setProximaTentativa(LocalDateTime.now());
+        return e;
+    }
+
+    /**
+     * Os registros devem ser removidos em lote, agrupados por bucket,
+     * e a métrica deve refletir o tamanho restante da fila.
+     */
+    @Test
+    void processar_deveRemoverEmLotePorBucket() {
+        when(repository.findProntas(any(), any())).thenReturn(List.of(
+                pendente(1L, "capas", "a.jpg"),
+                pendente(2L, "capas", "b.jpg"),
+                pendente(3L, "outro", "c.jpg")
+        ));
+        when(repository.count()).thenReturn(0L);
+
+        int removidos = service.processar();
+
+        assertThat(removidos).isEqualTo(3);
+        verify(s3).deleteAll("capas", List.of("a.jpg", "b.jpg"));
+        verify(s3).deleteAll("outro", List.of("c.jpg"));
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(repository).deleteAllByIdInBatch(List.of(3L));
+        assertThat(meterRegistry.get("armazenamento.limpeza.pendentes").gauge().value()).isZero();
+    }
+
+    /**
+     * Chaves que voltaram a ser referenciadas por uma capa ou variante
+     * devem sair da fila sem serem removidas do armazenamento.
+     */
+    @Test
+    void processar_devePreservarChavesAindaReferenciadas() {
+        when(repository.findProntas(any(), any())).thenReturn(List.of(
+                pendente(1L, "capas", "a.jpg"),
+                pendente(2L, "capas", "b.jpg"),
+                pendente(3L, "capas", "b_128w.jpg")
+        ));
+        when(capaRepo.findChavesEmUso(any())).thenReturn(List.of("b.jpg"));
+        when(varianteRepo.findChavesEmUso(any())).thenReturn(List.of("b_128w.jpg"));
+
+        service.processar();
+
+        verify(s3).deleteAll("capas", List.of("a.jpg"));
+        verify(repository).deleteAllByIdInBatch(List.of(1L, 2L, 3L));
+    }
+
+    /**
+     * Em caso de falha, o registro deve permanecer na fila com a
+     * próxima tentativa adiada.
+     */
+    @Test
+    void processar_deveReagendarComBackoffQuandoFalhar() {
+        ExclusaoArquivoPendente e = pendente(1L, "capas", "a.jpg");
+        e.setTentativas(1);
+        when(repository.findProntas(any(), any())).thenReturn(List.of(e));
+        doThrow(new RuntimeException("S3 indisponível")).when(s3).deleteAll(eq("capas"), any());
+        when(repository.count()).thenReturn(1L);
+
+        LocalDateTime antes = LocalDateTime.now();
+        int removidos = service.processar();
+
+        assertThat(removidos).isZero();
+        assertThat(e.getTentativas()).isEqualTo(2);
+        assertThat(e.getUltimoErro()).isEqualTo("S3 indisponível");
+        assertThat(e.getProximaTentativa()).isAfterOrEqualTo(antes.plusSeconds(2));
+        verify(repository).saveAll(List.of(e));
+        verify(repository, never()).deleteAllByIdInBatch(any());
+        assertThat(service.getPendentes()).isEqualTo(1L);
+    }
+
+    /**
+     * O intervalo entre tentativas dobra a cada falha, até o máximo configurado.
+     */
+    @Test
+    void backoff_deveDobrarAteOMaximo() {
+        assertThat(service.backoff(1)).isEqualTo(1000);
+        assertThat(service.backoff(2)).isEqualTo(2000);
+        assertThat(service.backoff(3)).isEqualTo(4000);
+        assertThat(service.backoff(4)).isEqualTo(8000);
+        assertThat(service.backoff(50)).isEqualTo(8000);
+    }
+}
@@ -2,6 +2,8 @@ package br.com.seuorg.artistas_api.controller;
 
 import br.com.seuorg.artistas_api.application.dto.CapaAlbumResponseDTO;
 import br.com.seuorg.artistas_api.application.service.CapaAlbumService;
+import br.com.seuorg.artistas_api.storage.RangeNotSatisfiableException;
+import br.com.seuorg.artistas_api.storage.StorageObject;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -9,11 +11,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -40,12 +52,114 @@ class CapaAlbumContentPublicTest {
         dto.setCreatedAt(LocalDateTime.now());
 
         // Configura o comportamento do mock
-        when(capaService.findById(13L)).thenReturn(dto);
-        when(capaService.downloadContent(dto.getChave())).thenReturn(new byte[] {1,2,3});
+        when(capaService.findById(13L, null)).thenReturn(dto);
+        when(capaService.abrirConteudo(dto.getChave(), null))
+                .thenReturn(new StorageObject(new ByteArrayInputStream(new byte[] {1,2,3}), 3, null, null));
 
         // Executa a requisição GET simulada e verifica se retorna 200 OK
-        mockMvc.perform(get("/api/capas/13/conteudo")
+        MvcResult result = mockMvc.perform(get("/api/capas/13/conteudo")
                 .accept(MediaType.APPLICATION_OCTET_STREAM))
-                .andExpect(status().isOk());
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Length", "3"))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(content().bytes(new byte[] {1,2,3}));
+    }
+
+    @Test
+    void conteudo_shouldServeSingleRangeAsPartialContent() throws Exception {
+        CapaAlbumResponseDTO dto = new CapaAlbumResponseDTO();
+        dto.setId(14L);
+        dto.setChave("capas-album/albums/37/grande.jpg");
+        dto.setContentType("image/jpeg");
+
+        when(capaService.findById(14L, null)).thenReturn(dto);
+        when(capaService.abrirConteudo(dto.getChave(), "bytes=2-4"))
+                .thenReturn(new StorageObject(new ByteArrayInputStream(new byte[] {3,4,5}), 3, "bytes 2-4/10", "image/jpeg"));
+
+        MvcResult result = mockMvc.perform(get("/api/capas/14/conteudo").header("Range", "bytes=2-4"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-4/10"))
+                .andExpect(header().string("Content-Length", "3"))
+                .andExpect(content().bytes(new byte[] {3,4,5}));
+    }
+
+    @Test
+    void conteudo_shouldReturn416WhenRangeIsOutOfBounds() throws Exception {
+        CapaAlbumResponseDTO dto = new CapaAlbumResponseDTO();
+        dto.setId(15L);
+        dto.setChave("capas-album/albums/37/pequena.jpg");
+        dto.setTamanho(10L);
+
+        when(capaService.findById(15L, null)).thenReturn(dto);
+        when(capaService.abrirConteudo(dto.getChave(), "bytes=100-"))
+                .thenThrow(new RangeNotSatisfiableException("fora do arquivo", null));
+
+        mockMvc.perform(get("/api/capas/15/conteudo").header("Range", "bytes=100-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    @Test
+    void conteudo_shouldBeCacheableAndAnswer304ForMatchingETag() throws Exception {
+        CapaAlbumResponseDTO dto = new CapaAlbumResponseDTO();
+        dto.setId(16L);
+        dto.setChave("capas-album/albums/37/uuid-capa.jpg");
+        dto.setContentType("image/jpeg");
+        dto.setCreatedAt(LocalDateTime.of(2024, 1, 10, 12, 0));
+
+        when(capaService.findById(16L, null)).thenReturn(dto);
+        when(capaService.abrirConteudo(dto.getChave(), null))
+                .thenReturn(new StorageObject(new ByteArrayInputStream(new byte[] {1}), 1, null, null));
+
+        MvcResult primeira = mockMvc.perform(get("/api/capas/16/conteudo"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult resposta = mockMvc.perform(asyncDispatch(primeira))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("immutable")))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+        String etag = resposta.getResponse().getHeader("ETag");
+
+        // Repetição com o ETag: 304 sem acessar o armazenamento
+        mockMvc.perform(get("/api/capas/16/conteudo").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Cache-Control", containsString("max-age=31536000")));
+
+        verify(capaService, times(1)).abrirConteudo(dto.getChave(), null);
+    }
+
+    @Test
+    void conteudo_shouldDelegateLocalFileToSendfileWhenSupported() throws Exception {
+        CapaAlbumResponseDTO dto = new CapaAlbumResponseDTO();
+        dto.setId(17L);
+        dto.setChave("capas-album/conteudo/ab/abc");
+        dto.setContentType("image/png");
+
+        Path arquivo = Path.of("/dados/capas/ab/cd/abc");
+        when(capaService.findById(17L, null)).thenReturn(dto);
+        when(capaService.abrirConteudo(dto.getChave(), "bytes=2-4"))
+                .thenReturn(new StorageObject(new ByteArrayInputStream(new byte[] {3,4,5}), 3, "bytes 2-4/10", null,
+                        new StorageObject.RegiaoArquivo(arquivo, 2)));
+
+        // Sem resposta assíncrona: o corpo é enviado pelo conector a partir dos atributos
+        mockMvc.perform(get("/api/capas/17/conteudo")
+                        .header("Range", "bytes=2-4")
+                        .requestAttr("org.apache.tomcat.sendfile.support", true))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Length", "3"))
+                .andExpect(header().string("Content-Range", "bytes 2-4/10"))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", arquivo.toString()))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 2L))
+                .andExpect(request().attribute("org.apache.tomcat.sendfile.end", 5L));
     }
 }
@@ -0,0 +1,123 @@
+package br.com.seuorg.artistas_api.notification;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Benchmark JMH do NotificationRateLimiter sem bloqueios, comparado com a
+ * implementação anterior (tryAcquire synchronized na instância).
+ *
+ * Mede a vazão de tryAcquire com 1, 8 e 64 threads, em um único usuário
+ * e em 1024 usuários (caso do AlbumService.criar com vários usuários).
+ * Não é executado pelo surefire; para rodar:
+ *
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *       br.com.seuorg.artistas_api.notification.NotificationRateLimiterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationRateLimiterBenchmark {
+
+    @Param({"sincronizado", "sem-bloqueio"})
+    public String implementacao;
+
+    @Param({"1", "1024"})
+    public int usuarios;
+
+    private Predicate<String> limiter;
+
+    private String[] chaves;
+
+    @Setup
+    public void preparar() {
+        // Janela de 0 s: toda chamada reinicia a janela e é permitida (caminho com escrita)
+        limiter = switch (implementacao) {
+            case "sincronizado" -> new Sincronizado(1, 0)::tryAcquire;
+            case "sem-bloqueio" -> new NotificationRateLimiter(1, 0)::tryAcquire;
+            default -> throw new IllegalArgumentException(implementacao);
+        };
+        chaves = new String[usuarios];
+        for (int i = 0; i < usuarios; i++) {
+            chaves[i] = "user:usuario" + i + "@example.com";
+        }
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        String chave = usuarios == 1 ? chaves[0] : chaves[ThreadLocalRandom.current().nextInt(usuarios)];
+        return limiter.test(chave);
+    }
+
+    /**
+     * Executa o benchmark com 1, 8 e 64 threads.
+     */
+    public static void main(String[] args) throws Exception {
+        for (int threads : new int[] {1, 8, 64}) {
+            new Runner(new OptionsBuilder()
+                    .include(NotificationRateLimiterBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+
+    /**
+     * Implementação anterior (tryAcquire synchronized na instância e
+     * bloqueio por usuário), mantida apenas como referência de comparação.
+     */
+    static final class Sincronizado {
+
+        private static final class Window {
+            volatile long windowStart;
+            final AtomicInteger counter = new AtomicInteger(0);
+        }
+
+        private final int maxNotifications;
+        private final int windowSeconds;
+        private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+        Sincronizado(int maxNotifications, int windowSeconds) {
+            this.maxNotifications = maxNotifications;
+            this.windowSeconds = windowSeconds;
+        }
+
+        synchronized boolean tryAcquire(String userKey) {
+            long now = Instant.now().getEpochSecond();
+            Window w = windows.computeIfAbsent(userKey, k -> {
+                Window nw = new Window();
+                nw.windowStart = now;
+                return nw;
+            });
+            synchronized (w) {
+                if (now - w.windowStart >= windowSeconds) {
+                    w.windowStart = now;
+                    w.counter.set(0);
+                }
+                return w.counter.incrementAndGet() <= maxNotifications;
+            }
+        }
+    }
+}
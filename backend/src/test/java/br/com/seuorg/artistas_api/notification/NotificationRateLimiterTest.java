@@ -0,0 +1,80 @@
+package br.com.seuorg.artistas_api.notification;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do rate limit de notificações por usuário.
+ */
+class NotificationRateLimiterTest {
+
+    private final AtomicLong relogio = new AtomicLong(-1_000_000_000L);
+
+    /**
+     * Deve permitir o limite na janela e reiniciar a contagem quando
+     * a janela expirar, com contagem independente por usuário.
+     */
+    @Test
+    void tryAcquire_deveLimitarPorJanelaEPorUsuario() {
+        NotificationRateLimiter limiter = new NotificationRateLimiter(2, 60, relogio::get);
+
+        assertTrue(limiter.tryAcquire("user:a"));
+        assertTrue(limiter.tryAcquire("user:a"));
+        assertFalse(limiter.tryAcquire("user:a"));
+        assertTrue(limiter.tryAcquire("user:b"));
+
+        relogio.addAndGet(Duration.ofSeconds(59).toNanos());
+        assertFalse(limiter.tryAcquire("user:a"));
+
+        relogio.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertTrue(limiter.tryAcquire("user:a"));
+        assertTrue(limiter.tryAcquire("user:a"));
+        assertFalse(limiter.tryAcquire("user:a"));
+    }
+
+    /**
+     * Sob concorrência, cada usuário deve receber exatamente o limite de
+     * permissões na janela, sem perdas nem excesso.
+     */
+    @Test
+    void tryAcquire_deveSerExatoSobConcorrencia() throws Exception {
+        int threads = 8;
+        int usuarios = 4;
+        int tentativasPorThread = 5_000;
+        NotificationRateLimiter limiter = new NotificationRateLimiter(1_000, 3600);
+        AtomicIntegerArray permitidas = new AtomicIntegerArray(usuarios);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < threads; t++) {
+                pool.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < tentativasPorThread; i++) {
+                        int u = i % usuarios;
+                        if (limiter.tryAcquire("user:" + u)) permitidas.incrementAndGet(u);
+                    }
+                    return null;
+                });
+            }
+            largada.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (int u = 0; u < usuarios; u++) {
+            assertEquals(1_000, permitidas.get(u), "usuário " + u);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do rate limit distribuído, com dois nós
+ * compartilhando contadores em memória.
+ */
+class DistributedRateLimiterTest {
+
+    private final AtomicLong relogio = new AtomicLong(1_700_000_000_000L);
+    private final ContadoresEmMemoria contadores = new ContadoresEmMemoria();
+
+    /**
+     * O total admitido pelos dois nós na janela deve ficar no limite do
+     * cluster, com excesso de no máximo uma parte por nó (e não o dobro,
+     * como em limites independentes), e a janela seguinte deve recomeçar.
+     */
+    @Test
+    void tentarAdquirir_deveRespeitarLimiteDoCluster() {
+        DistributedRateLimitSynchronizer noA = sincronizador("a");
+        DistributedRateLimitSynchronizer noB = sincronizador("b");
+        RateLimiter a = noA.criar("api", 100, Duration.ofMinutes(1), new RateLimitKeyStore<>());
+        RateLimiter b = noB.criar("api", 100, Duration.ofMinutes(1), new RateLimitKeyStore<>());
+
+        // Heartbeat: cada nó passa a considerar dois nós ativos
+        noA.sincronizar();
+        noB.sincronizar();
+        noA.sincronizar();
+        assertEquals(2, noA.getNosAtivos());
+
+        int admitidas = 0;
+        for (int rodada = 0; rodada < 10; rodada++) {
+            admitidas += requisicoes(a, "user:1", 40);
+            admitidas += requisicoes(b, "user:1", 40);
+            noA.sincronizar();
+            noB.sincronizar();
+        }
+        assertTrue(admitidas >= 100 && admitidas <= 125, "admitidas: " + admitidas);
+        assertEquals(admitidas, contadores.total("api", "user:1"));
+        assertFalse(a.tentarAdquirir("user:1").permitida());
+        assertFalse(b.tentarAdquirir("user:1").permitida());
+
+        // Próxima janela: saldo renovado
+        relogio.addAndGet(Duration.ofMinutes(1).toMillis());
+        assertTrue(a.tentarAdquirir("user:1").permitida());
+    }
+
+    /**
+     * Com um único nó ativo, a chave pode usar todo o limite.
+     */
+    @Test
+    void tentarAdquirir_noUnicoDeveUsarTodoOLimite() {
+        DistributedRateLimitSynchronizer no = sincronizador("a");
+        RateLimiter limiter = no.criar("api", 10, Duration.ofMinutes(1), new RateLimitKeyStore<>());
+        no.sincronizar();
+
+        assertEquals(10, requisicoes(limiter, "ip:1", 20));
+        RateLimiter.Decisao negada = limiter.tentarAdquirir("ip:1");
+        assertFalse(negada.permitida());
+        assertTrue(negada.esperaNanos() > 0);
+    }
+
+    /**
+     * Se o banco falhar, as requisições admitidas devem ser enviadas
+     * na próxima sincronização.
+     */
+    @Test
+    void sincronizar_deveReenviarPendenciasAposFalha() {
+        DistributedRateLimitSynchronizer no = sincronizador("a");
+        RateLimiter limiter = no.criar("api", 100, Duration.ofMinutes(1), new RateLimitKeyStore<>());
+
+        requisicoes(limiter, "ip:1", 5);
+        contadores.falhar.set(true);
+        assertThrows(IllegalStateException.class, no::sincronizar);
+        no.sincronizarAgendado();
+
+        contadores.falhar.set(false);
+        no.sincronizar();
+        assertEquals(5, contadores.total("api", "ip:1"));
+    }
+
+    /**
+     * A sincronização agendada não depende do agendador do Spring: com a
+     * sua única thread bloqueada por outra tarefa, a cota continua sendo
+     * renovada.
+     */
+    @Test
+    void sincronizarAgendado_deveRenovarCotaComAgendadorDoSpringOcupado() throws Exception {
+        ThreadPoolTaskScheduler agendador = new ThreadPoolTaskScheduler();
+        agendador.setPoolSize(1);
+        agendador.initialize();
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch ocupado = new CountDownLatch(1);
+        agendador.execute(() -> {
+            ocupado.countDown();
+            try {
+                liberar.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        DistributedRateLimitSynchronizer noA =
+                new DistributedRateLimitSynchronizer(contadores, new SimpleMeterRegistry(), "a", 20, relogio::get);
+        DistributedRateLimitSynchronizer noB = sincronizador("b");
+        RateLimiter a = noA.criar("api", 10, Duration.ofMinutes(1), new RateLimitKeyStore<>());
+        noB.sincronizar();
+        noA.sincronizar();
+        try {
+            assertTrue(ocupado.await(10, TimeUnit.SECONDS));
+
+            // Parte inicial com dois nós ativos: 5 de 10
+            assertEquals(5, requisicoes(a, "user:1", 10));
+
+            noA.iniciar();
+            boolean renovada = false;
+            long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (!renovada && System.nanoTime() < limite) {
+                renovada = a.tentarAdquirir("user:1").permitida();
+                if (!renovada) Thread.sleep(10);
+            }
+            assertTrue(renovada);
+            assertEquals(1, liberar.getCount());
+        } finally {
+            noA.encerrar();
+            liberar.countDown();
+            agendador.shutdown();
+        }
+    }
+
+    private DistributedRateLimitSynchronizer sincronizador(String no) {
+        return new DistributedRateLimitSynchronizer(contadores, new SimpleMeterRegistry(), no, 250, relogio::get);
+    }
+
+    private static int requisicoes(RateLimiter limiter, String chave, int quantidade) {
+        int admitidas = 0;
+        for (int i = 0; i < quantidade; i++) {
+            if (limiter.tentarAdquirir(chave).permitida()) admitidas++;
+        }
+        return admitidas;
+    }
+
+    /**
+     * Contadores compartilhados em memória (equivalente às tabelas do banco).
+     */
+    private static final class ContadoresEmMemoria implements RateLimitCounterRepository {
+
+        final Map<String, Long> contagens = new HashMap<>();
+        final Map<String, Long> nos = new HashMap<>();
+        final AtomicBoolean falhar = new AtomicBoolean();
+
+        @Override
+        public synchronized void incrementar(List<Incremento> incrementos) {
+            if (falhar.get()) throw new IllegalStateException("banco indisponível");
+            for (Incremento i : incrementos) {
+                contagens.merge(i.politica() + "|" + i.chave() + "|" + i.janela() + "|" + i.no(), i.quantidade(), Long::sum);
+            }
+        }
+
+        @Override
+        public synchronized Map<String, Total> totais(String politica, long janela, Collection<String> chaves) {
+            Map<String, Total> totais = new HashMap<>();
+            for (String chave : chaves) {
+                String prefixo = politica + "|" + chave + "|" + janela + "|";
+                long soma = 0;
+                int n = 0;
+                for (Map.Entry<String, Long> e : contagens.entrySet()) {
+                    if (e.getKey().startsWith(prefixo)) {
+                        soma += e.getValue();
+                        n++;
+                    }
+                }
+                if (n > 0) totais.put(chave, new Total(soma, n));
+            }
+            return totais;
+        }
+
+        @Override
+        public synchronized int registrarNo(String no, long agoraMs, long desdeMs) {
+            nos.put(no, agoraMs);
+            return (int) nos.values().stream().filter(v -> v >= desdeMs).count();
+        }
+
+        @Override
+        public synchronized int removerExpirados(long agoraMs, long desdeMs) {
+            return 0;
+        }
+
+        synchronized long total(String politica, String chave) {
+            return contagens.entrySet().stream()
+                    .filter(e -> e.getKey().startsWith(politica + "|" + chave + "|"))
+                    .mapToLong(Map.Entry::getValue).sum();
+        }
+    }
+}
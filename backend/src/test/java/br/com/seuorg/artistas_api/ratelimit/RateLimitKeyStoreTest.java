@@ -0,0 +1,104 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do armazenamento limitado de estado de rate limit.
+ */
+class RateLimitKeyStoreTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+
+    /**
+     * Chaves sem uso por mais que a ociosidade devem ser descartadas,
+     * e chaves usadas na geração anterior devem manter o estado.
+     */
+    @Test
+    void obter_deveDescartarChavesOciosasEManterAsAtivas() {
+        RateLimitKeyStore<AtomicLong> store = new RateLimitKeyStore<>(100, Duration.ofSeconds(10), relogio::get);
+
+        AtomicLong ativa = store.obter("ip:ativa", k -> new AtomicLong(7));
+        store.obter("ip:ociosa", k -> new AtomicLong(1));
+
+        // Primeira rotação: ambas vão para a geração anterior; a ativa é promovida
+        relogio.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertSame(ativa, store.obter("ip:ativa", k -> new AtomicLong()));
+
+        // Segunda rotação: a ociosa é descartada
+        relogio.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertSame(ativa, store.obter("ip:ativa", k -> new AtomicLong()));
+        assertEquals(1, store.getDescartadasExpiracao());
+        assertEquals(0, store.obter("ip:ociosa", k -> new AtomicLong()).get());
+
+        // Após duas gerações sem nenhum acesso, tudo é descartado de uma vez
+        relogio.addAndGet(Duration.ofSeconds(25).toNanos());
+        assertEquals(0, store.obter("ip:ativa", k -> new AtomicLong()).get());
+    }
+
+    /**
+     * Sob muitas chaves distintas a ocupação não deve passar do máximo,
+     * e uma chave usada continuamente deve manter o estado.
+     */
+    @Test
+    void obter_deveLimitarQuantidadeDeChaves() {
+        RateLimitKeyStore<AtomicLong> store = new RateLimitKeyStore<>(1_000, Duration.ofHours(1), relogio::get);
+        AtomicLong quente = store.obter("user:quente", k -> new AtomicLong(42));
+
+        for (int i = 0; i < 50_000; i++) {
+            store.obter("ip:" + i, k -> new AtomicLong());
+            if (i % 100 == 0) {
+                assertSame(quente, store.obter("user:quente", k -> new AtomicLong()));
+            }
+            assertTrue(store.tamanho() <= 1_000, "ocupação acima do máximo: " + store.tamanho());
+        }
+
+        assertTrue(store.getDescartadasCapacidade() >= 48_000);
+        assertEquals(0, store.getDescartadasExpiracao());
+    }
+
+    /**
+     * Deve publicar a ocupação e os descartes por motivo.
+     */
+    @Test
+    void registrarMetricas_devePublicarOcupacaoEDescartes() {
+        RateLimitKeyStore<AtomicLong> store = new RateLimitKeyStore<>(4, Duration.ofHours(1), relogio::get);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        store.registrarMetricas(registry, "api");
+
+        for (int i = 0; i < 10; i++) {
+            store.obter("ip:" + i, k -> new AtomicLong());
+        }
+
+        assertEquals(store.tamanho(), registry.get("ratelimit.chaves").tag("nome", "api").gauge().value());
+        assertEquals(store.getDescartadasCapacidade(), registry.get("ratelimit.chaves.descartadas")
+                .tags("nome", "api", "motivo", "capacidade").functionCounter().count());
+        assertTrue(store.getDescartadasCapacidade() > 0);
+    }
+
+    /**
+     * Se a geração for rotacionada e a chave criada na geração nova entre
+     * a leitura das gerações e a inserção, as duas chamadas devem ficar
+     * com o mesmo estado.
+     */
+    @Test
+    void obter_deveManterEstadoUnicoComRotacaoConcorrente() {
+        RateLimitKeyStore<AtomicLong> store = new RateLimitKeyStore<>(100, Duration.ofSeconds(10), relogio::get);
+        AtomicLong[] criadoNaRotacao = new AtomicLong[1];
+
+        AtomicLong estado = store.obter("ip:1", k -> {
+            // Outra chamada rotaciona e cria a chave antes da inserção desta
+            relogio.addAndGet(Duration.ofSeconds(11).toNanos());
+            criadoNaRotacao[0] = store.obter("ip:1", k2 -> new AtomicLong(2));
+            return new AtomicLong(1);
+        });
+
+        assertSame(criadoNaRotacao[0], estado);
+        assertSame(estado, store.obter("ip:1", k -> new AtomicLong()));
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários da correspondência das políticas de rate limit padrão.
+ */
+class RateLimitPolicyTest {
+
+    private final List<RateLimitPolicy> politicas = RateLimitPolicy.de(
+            new RateLimitProperties(true, null, null, null, null, null), new SimpleMeterRegistry());
+
+    /**
+     * Cada requisição deve cair na primeira política que a atende.
+     */
+    @Test
+    void atende_deveEscolherPrimeiraPoliticaCorrespondente() {
+        assertEquals("login", politica("POST", "/login", null));
+        assertEquals("upload-capas", politica("POST", "/api/capas", "multipart/form-data; boundary=x"));
+        assertEquals("upload-capas", politica("PUT", "/api/capas/album/7", "multipart/form-data; boundary=x"));
+        assertEquals("padrao", politica("POST", "/api/capas/upload-direto", "application/json"));
+        assertEquals("leitura", politica("GET", "/api/albuns", null));
+        assertEquals("padrao", politica("DELETE", "/api/albuns/1", null));
+    }
+
+    private String politica(String metodo, String caminho, String contentType) {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, caminho);
+        request.setContentType(contentType);
+        return politicas.stream()
+                .filter(p -> p.atende(request, PathContainer.parsePath(caminho)))
+                .findFirst().map(RateLimitPolicy::getNome).orElse(null);
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark JMH dos algoritmos de rate limit, comparados com a janela fixa
+ * sincronizada usada anteriormente pelo RateLimitingFilter.
+ *
+ * Mede a vazão de decisões com 1, 8 e 64 threads, em uma única chave
+ * (cliente "quente") e em 1024 chaves. Não é executado pelo surefire;
+ * para rodar:
+ *
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *       br.com.seuorg.artistas_api.ratelimit.RateLimiterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"janela-fixa-sincronizada", "token-bucket", "janela-deslizante"})
+    public String algoritmo;
+
+    @Param({"1", "1024"})
+    public int chaves;
+
+    private RateLimiter limiter;
+
+    private String[] nomes;
+
+    @Setup
+    public void preparar() {
+        limiter = switch (algoritmo) {
+            case "janela-fixa-sincronizada" -> new JanelaFixadaSincronizada(SlidingWindowRateLimiter.LIMITE_MAXIMO, 1);
+            case "token-bucket" -> new TokenBucketRateLimiter(SlidingWindowRateLimiter.LIMITE_MAXIMO, Duration.ofSeconds(1));
+            case "janela-deslizante" -> new SlidingWindowRateLimiter(SlidingWindowRateLimiter.LIMITE_MAXIMO, Duration.ofSeconds(1));
+            default -> throw new IllegalArgumentException(algoritmo);
+        };
+        nomes = new String[chaves];
+        for (int i = 0; i < chaves; i++) {
+            nomes[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public boolean tentarAdquirir() {
+        String chave = chaves == 1 ? nomes[0] : nomes[ThreadLocalRandom.current().nextInt(chaves)];
+        return limiter.tentarAdquirir(chave).permitida();
+    }
+
+    /**
+     * Executa o benchmark com 1, 8 e 64 threads.
+     */
+    public static void main(String[] args) throws Exception {
+        for (int threads : new int[] {1, 8, 64}) {
+            new Runner(new OptionsBuilder()
+                    .include(RateLimiterBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+
+    /**
+     * Implementação anterior do RateLimitingFilter (janela fixa com
+     * bloqueio por chave e Instant.now() a cada requisição), mantida
+     * apenas como referência de comparação.
+     */
+    static final class JanelaFixadaSincronizada implements RateLimiter {
+
+        private static final class Window {
+            volatile long windowStart;
+            final AtomicInteger counter = new AtomicInteger(0);
+        }
+
+        private final int requestsPerWindow;
+        private final int windowSeconds;
+        private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+        JanelaFixadaSincronizada(int requestsPerWindow, int windowSeconds) {
+            this.requestsPerWindow = requestsPerWindow;
+            this.windowSeconds = windowSeconds;
+        }
+
+        @Override
+        public Decisao tentarAdquirir(String key) {
+            long now = Instant.now().getEpochSecond();
+            Window w = windows.computeIfAbsent(key, k -> {
+                Window nw = new Window();
+                nw.windowStart = now;
+                return nw;
+            });
+            synchronized (w) {
+                if (now - w.windowStart >= windowSeconds) {
+                    w.windowStart = now;
+                    w.counter.set(0);
+                }
+                int current = w.counter.incrementAndGet();
+                boolean permitida = current <= requestsPerWindow;
+                return new Decisao(permitida, requestsPerWindow, Math.max(0, requestsPerWindow - current), 0, 0);
+            }
+        }
+    }
+}
@@ -4,17 +4,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * Teste de integração responsável por validar o funcionamento
- * do filtro de rate limit da aplicação.
+ * do filtro de rate limit da aplicação, com as políticas padrão.
  */
-@SpringBootTest
+@SpringBootTest(properties = "ratelimit.enabled=true")
 @AutoConfigureMockMvc
 class RateLimitingFilterTest {
 
@@ -23,18 +26,54 @@ class RateLimitingFilterTest {
     private MockMvc mvc;
 
     /**
-     * Verifica que não existe mais um rate limit aplicado globalmente
-     * às requisições da API (o limite agora é aplicado apenas ao envio
-     * de notificações internamente).
+     * Listagens têm limite generoso e informam o saldo nos cabeçalhos.
      */
     @Test
     @WithMockUser(username = "testuser")
-    void should_allow_more_than_10_requests_since_global_limit_removed() throws Exception {
+    void should_allow_more_than_10_listing_requests_and_report_limit_headers() throws Exception {
 
         // Executa 11 requisições — todas devem ser 200 OK
         for (int i = 0; i < 11; i++) {
             mvc.perform(get("/api/albuns"))
-               .andExpect(status().isOk());
+               .andExpect(status().isOk())
+               .andExpect(header().string("X-RateLimit-Limit", "600"))
+               .andExpect(header().exists("X-RateLimit-Remaining"))
+               .andExpect(header().exists("X-RateLimit-Reset"));
         }
     }
+
+    /**
+     * Login tem limite restrito: a 11ª tentativa no minuto recebe 429
+     * com Retry-After, sem chegar ao controller.
+     */
+    @Test
+    void should_limit_login_attempts_with_retry_after() throws Exception {
+        String corpo = "{\"email\":\"ninguem@example.com\",\"senha\":\"errada\"}";
+
+        for (int i = 0; i < 10; i++) {
+            mvc.perform(post("/login").with(r -> { r.setRemoteAddr("10.9.9.9"); return r; })
+                            .contentType(MediaType.APPLICATION_JSON).content(corpo))
+               .andExpect(header().string("X-RateLimit-Limit", "10"));
+        }
+
+        mvc.perform(post("/login").with(r -> { r.setRemoteAddr("10.9.9.9"); return r; })
+                        .contentType(MediaType.APPLICATION_JSON).content(corpo))
+           .andExpect(status().isTooManyRequests())
+           .andExpect(header().string("X-RateLimit-Remaining", "0"))
+           .andExpect(header().exists("Retry-After"));
+
+        // Outro IP tem saldo próprio
+        mvc.perform(post("/login").with(r -> { r.setRemoteAddr("10.9.9.10"); return r; })
+                        .contentType(MediaType.APPLICATION_JSON).content(corpo))
+           .andExpect(header().string("X-RateLimit-Remaining", "9"));
+    }
+
+    /**
+     * Caminhos ignorados (health) não são limitados nem recebem cabeçalhos.
+     */
+    @Test
+    void should_not_limit_ignored_paths() throws Exception {
+        mvc.perform(get("/actuator/health/liveness"))
+           .andExpect(header().doesNotExist("X-RateLimit-Limit"));
+    }
 }
@@ -0,0 +1,55 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do rate limit por janela deslizante.
+ */
+class SlidingWindowRateLimiterTest {
+
+    private final AtomicLong relogio = new AtomicLong(123_456_789L);
+
+    /**
+     * Na virada da janela, a contagem da anterior continua pesando
+     * proporcionalmente, evitando a rajada dupla da janela fixa.
+     */
+    @Test
+    void tentarAdquirir_devePonderarJanelaAnterior() {
+        RateLimiter limiter = new SlidingWindowRateLimiter(10, Duration.ofSeconds(1), new RateLimitKeyStore<>(), relogio::get);
+
+        // 10 requisições no fim da primeira janela
+        relogio.addAndGet(900_000_000L);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tentarAdquirir("ip:1").permitida());
+        }
+        RateLimiter.Decisao negada = limiter.tentarAdquirir("ip:1");
+        assertFalse(negada.permitida());
+        assertTrue(negada.esperaNanos() > 100_000_000L);
+
+        // Início da janela seguinte: a anterior ainda pesa 80% (8 requisições)
+        relogio.addAndGet(300_000_000L);
+        assertTrue(limiter.tentarAdquirir("ip:1").permitida());
+        assertTrue(limiter.tentarAdquirir("ip:1").permitida());
+        assertFalse(limiter.tentarAdquirir("ip:1").permitida());
+
+        // Duas janelas depois, o saldo está completo
+        relogio.addAndGet(2_000_000_000L);
+        RateLimiter.Decisao d = limiter.tentarAdquirir("ip:1");
+        assertTrue(d.permitida());
+        assertEquals(9, d.restantes());
+    }
+
+    /**
+     * O limite deve caber nos contadores de 16 bits.
+     */
+    @Test
+    void construtor_deveRejeitarLimiteAcimaDoMaximo() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new SlidingWindowRateLimiter(SlidingWindowRateLimiter.LIMITE_MAXIMO + 1, Duration.ofSeconds(1)));
+    }
+}
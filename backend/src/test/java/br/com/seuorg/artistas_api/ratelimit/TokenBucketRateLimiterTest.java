@@ -0,0 +1,86 @@
+package br.com.seuorg.artistas_api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do rate limit por token bucket (GCRA).
+ */
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong relogio = new AtomicLong(-5_000_000_000L);
+
+    /**
+     * Deve permitir a rajada da capacidade e depois repor uma ficha
+     * por intervalo, sem rajada dupla na virada do período.
+     */
+    @Test
+    void tentarAdquirir_devePermitirRajadaERepostoContinua() {
+        // 10 fichas por segundo: uma ficha a cada 100 ms
+        RateLimiter limiter = new TokenBucketRateLimiter(10, 10, Duration.ofSeconds(1), new RateLimitKeyStore<>(), relogio::get);
+
+        for (int i = 0; i < 10; i++) {
+            RateLimiter.Decisao d = limiter.tentarAdquirir("ip:1");
+            assertTrue(d.permitida());
+            assertEquals(9 - i, d.restantes());
+        }
+
+        RateLimiter.Decisao negada = limiter.tentarAdquirir("ip:1");
+        assertFalse(negada.permitida());
+        assertEquals(100_000_000L, negada.esperaNanos());
+        assertEquals(1_000_000_000L, negada.reposicaoNanos());
+
+        // Outra chave tem o próprio balde
+        assertTrue(limiter.tentarAdquirir("ip:2").permitida());
+
+        // Após 1 s (uma "janela"), apenas o balde cheio: 10, e não 20
+        relogio.addAndGet(250_000_000L);
+        assertTrue(limiter.tentarAdquirir("ip:1").permitida());
+        assertTrue(limiter.tentarAdquirir("ip:1").permitida());
+        assertFalse(limiter.tentarAdquirir("ip:1").permitida());
+
+        relogio.addAndGet(10_000_000_000L);
+        int permitidas = 0;
+        while (limiter.tentarAdquirir("ip:1").permitida()) permitidas++;
+        assertEquals(10, permitidas);
+    }
+
+    /**
+     * Sob concorrência na mesma chave, exatamente a capacidade deve ser concedida.
+     */
+    @Test
+    void tentarAdquirir_deveConcederExatamenteCapacidadeSobConcorrencia() throws Exception {
+        RateLimiter limiter = new TokenBucketRateLimiter(1000, 1, Duration.ofHours(1), new RateLimitKeyStore<>(), relogio::get);
+        AtomicInteger permitidas = new AtomicInteger();
+        CountDownLatch inicio = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                executor.execute(() -> {
+                    try {
+                        inicio.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 500; i++) {
+                        if (limiter.tentarAdquirir("user:quente").permitida()) permitidas.incrementAndGet();
+                    }
+                });
+            }
+            inicio.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1000, permitidas.get());
+    }
+}
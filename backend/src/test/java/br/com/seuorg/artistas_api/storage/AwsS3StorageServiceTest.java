@@ -0,0 +1,290 @@
+package br.com.seuorg.artistas_api.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateBucketRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.HeadBucketRequest;
+import software.amazon.awssdk.services.s3.model.HeadBucketResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do upload no S3: provisionamento de buckets
+ * e upload multipart de arquivos com tamanho desconhecido.
+ */
+class AwsS3StorageServiceTest {
+
+    private S3Client s3;
+
+    private AwsS3StorageService criar(String modo) {
+        return criar(modo, new PartBufferPool(4, 3), 2);
+    }
+
+    private AwsS3StorageService criar(String modo, PartBufferPool pool, int concorrencia) {
+        S3Presigner presigner = S3Presigner.builder()
+                .endpointOverride(java.net.URI.create("http://localhost:9000"))
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("minioadmin", "minioadmin")))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+        return new AwsS3StorageService(s3, presigner, "capas", modo, pool, concorrencia);
+    }
+
+    @BeforeEach
+    void setup() {
+        s3 = mock(S3Client.class);
+        when(s3.headBucket(any(HeadBucketRequest.class))).thenReturn(HeadBucketResponse.builder().build());
+        when(s3.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenReturn(PutObjectResponse.builder().build());
+    }
+
+    private static ByteArrayInputStream dados() {
+        return new ByteArrayInputStream(new byte[] {1, 2, 3});
+    }
+
+    /**
+     * O bucket deve ser verificado apenas no primeiro upload.
+     */
+    @Test
+    void upload_deveVerificarBucketApenasUmaVez() throws Exception {
+        AwsS3StorageService service = criar("lazy");
+
+        service.upload("capas", "a.jpg", dados(), 3, "image/jpeg");
+        service.upload("capas", "b.jpg", dados(), 3, "image/jpeg");
+        service.upload("capas", "c.jpg", dados(), 3, "image/jpeg");
+
+        verify(s3, times(1)).headBucket(any(HeadBucketRequest.class));
+        verify(s3, times(3)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    /**
+     * Com o provisionamento desabilitado, nenhuma verificação é feita.
+     */
+    @Test
+    void upload_semProvisionamentoNaoDeveVerificarBucket() throws Exception {
+        AwsS3StorageService service = criar("none");
+
+        service.upload("capas", "a.jpg", dados(), 3, "image/jpeg");
+
+        verify(s3, never()).headBucket(any(HeadBucketRequest.class));
+    }
+
+    /**
+     * Se o bucket sumir depois da verificação, ele deve ser recriado
+     * e a falha propagada.
+     */
+    @Test
+    void upload_deveReprovisionarBucketQuandoNaoExistir() throws Exception {
+        when(s3.headBucket(any(HeadBucketRequest.class)))
+                .thenReturn(HeadBucketResponse.builder().build())
+                .thenThrow(NoSuchBucketException.builder().statusCode(404).build());
+        AwsS3StorageService service = criar("lazy");
+        service.upload("capas", "a.jpg", dados(), 3, "image/jpeg");
+
+        when(s3.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+                .thenThrow(NoSuchBucketException.builder().message("NoSuchBucket").build());
+
+        assertThatThrownBy(() -> service.upload("capas", "b.jpg", dados(), 3, "image/jpeg"))
+                .isInstanceOf(IOException.class);
+        verify(s3, times(2)).headBucket(any(HeadBucketRequest.class));
+        verify(s3, times(1)).createBucket(any(CreateBucketRequest.class));
+    }
+
+    /**
+     * Arquivo de tamanho desconhecido maior que uma parte deve ser enviado
+     * em partes de tamanho fixo, concluídas em ordem.
+     */
+    @Test
+    void upload_tamanhoDesconhecidoDeveUsarMultipart() throws Exception {
+        AwsS3StorageService service = criar("none");
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("u1").build());
+        Map<Integer, byte[]> recebidas = new ConcurrentHashMap<>();
+        when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(inv -> {
+            UploadPartRequest req = inv.getArgument(0);
+            RequestBody body = inv.getArgument(1);
+            try (InputStream in = body.contentStreamProvider().newStream()) {
+                recebidas.put(req.partNumber(), in.readAllBytes());
+            }
+            return UploadPartResponse.builder().eTag("e" + req.partNumber()).build();
+        });
+
+        // 10 bytes com partes de 4: 4 + 4 + 2
+        service.upload("capas", "grande.jpg",
+                new ByteArrayInputStream(new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}), -1, "image/jpeg");
+
+        assertThat(recebidas.get(1)).containsExactly(0, 1, 2, 3);
+        assertThat(recebidas.get(2)).containsExactly(4, 5, 6, 7);
+        assertThat(recebidas.get(3)).containsExactly(8, 9);
+        verify(s3).completeMultipartUpload(argThat((CompleteMultipartUploadRequest req) ->
+                req.uploadId().equals("u1")
+                        && req.multipartUpload().parts().stream().map(CompletedPart::partNumber).toList().equals(List.of(1, 2, 3))
+                        && req.multipartUpload().parts().get(2).eTag().equals("e3")));
+        verify(s3, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    }
+
+    /**
+     * Arquivo de tamanho desconhecido menor que uma parte usa um único PutObject.
+     */
+    @Test
+    void upload_tamanhoDesconhecidoPequenoDeveUsarPutObject() throws Exception {
+        AwsS3StorageService service = criar("none");
+
+        service.upload("capas", "pequena.jpg", dados(), 0, "image/jpeg");
+
+        verify(s3).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+        verify(s3, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    /**
+     * Falha no envio de uma parte deve abortar o upload multipart.
+     */
+    @Test
+    void upload_multipartDeveAbortarQuandoParteFalhar() {
+        AwsS3StorageService service = criar("none");
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("u2").build());
+        when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(S3Exception.builder().message("falha").statusCode(500).build());
+
+        assertThatThrownBy(() -> service.upload("capas", "grande.jpg",
+                new ByteArrayInputStream(new byte[10]), -1, "image/jpeg"))
+                .isInstanceOf(IOException.class);
+
+        verify(s3).abortMultipartUpload(argThat((AbortMultipartUploadRequest req) -> req.uploadId().equals("u2")));
+        verify(s3, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    /**
+     * Os buffers das partes canceladas por uma falha devem voltar ao pool:
+     * um upload seguinte, que precisa de todos eles, não pode ficar sem buffer.
+     */
+    @Test
+    void upload_multipartComFalhaDeveDevolverBuffers() throws Exception {
+        AwsS3StorageService service = criar("none", new PartBufferPool(4, 3, Duration.ofMillis(500)), 1);
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("u3").build());
+        when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenAnswer(inv -> {
+                    Thread.sleep(50);
+                    throw S3Exception.builder().message("falha").statusCode(500).build();
+                })
+                .thenReturn(UploadPartResponse.builder().eTag("e").build());
+
+        assertThatThrownBy(() -> service.upload("capas", "a.jpg",
+                new ByteArrayInputStream(new byte[40]), -1, "image/jpeg"))
+                .isInstanceOf(IOException.class);
+
+        // 10 bytes em partes de 4 bytes: usa os 3 buffers do pool
+        service.upload("capas", "b.jpg", new ByteArrayInputStream(new byte[10]), -1, "image/jpeg");
+
+        verify(s3).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    /**
+     * O abort só deve ser enviado depois que as partes em envio terminarem;
+     * uma parte gravada depois do abort deixaria o upload pendente no bucket.
+     */
+    @Test
+    void upload_multipartDeveAbortarAposPartesEmEnvio() {
+        AwsS3StorageService service = criar("none");
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("u4").build());
+        List<String> eventos = new CopyOnWriteArrayList<>();
+        CountDownLatch segundaIniciada = new CountDownLatch(1);
+        when(s3.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).thenAnswer(inv -> {
+            UploadPartRequest req = inv.getArgument(0);
+            if (req.partNumber() == 1) {
+                segundaIniciada.await();
+                throw S3Exception.builder().message("falha").statusCode(500).build();
+            }
+            segundaIniciada.countDown();
+            // Envio que não reage à interrupção
+            long fim = System.nanoTime() + Duration.ofMillis(200).toNanos();
+            while (System.nanoTime() < fim) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException ignorada) {
+                    // continua até o fim do envio
+                }
+            }
+            eventos.add("parte-" + req.partNumber());
+            return UploadPartResponse.builder().eTag("e").build();
+        });
+        when(s3.abortMultipartUpload(any(AbortMultipartUploadRequest.class))).thenAnswer(inv -> {
+            eventos.add("abort");
+            return null;
+        });
+
+        assertThatThrownBy(() -> service.upload("capas", "grande.jpg",
+                new ByteArrayInputStream(new byte[8]), -1, "image/jpeg"))
+                .isInstanceOf(IOException.class);
+
+        assertThat(eventos).containsExactly("parte-2", "abort");
+    }
+
+    /**
+     * A URL de envio direto deve ser um PUT assinado com o tipo de conteúdo,
+     * e o bucket deve ser provisionado antes da assinatura.
+     */
+    @Test
+    void generatePresignedUploadUrl_deveAssinarPutEProvisionarBucket() throws Exception {
+        AwsS3StorageService service = criar("lazy");
+
+        String url = service.generatePresignedUploadUrl("capas", "a/b.png", "image/png", 10, java.time.Duration.ofMinutes(5));
+
+        assertThat(url).startsWith("http://localhost:9000/capas/a/b.png?").contains("X-Amz-Signature=");
+        assertThat(url).contains("X-Amz-SignedHeaders=content-length%3Bcontent-type%3Bhost");
+        verify(s3).headBucket(any(HeadBucketRequest.class));
+    }
+
+    /**
+     * O HEAD deve retornar os metadados, ou vazio quando o objeto não existe.
+     */
+    @Test
+    void head_deveRetornarMetadadosOuVazio() throws Exception {
+        AwsS3StorageService service = criar("none");
+        when(s3.headObject(argThat((HeadObjectRequest r) -> r != null && r.key().equals("existe"))))
+                .thenReturn(HeadObjectResponse.builder().contentLength(42L).contentType("image/png").build());
+        when(s3.headObject(argThat((HeadObjectRequest r) -> r != null && r.key().equals("ausente"))))
+                .thenThrow(NoSuchKeyException.builder().statusCode(404).build());
+
+        assertThat(service.head("capas", "existe")).contains(new StorageMetadata(42L, "image/png"));
+        assertThat(service.head("capas", "ausente")).isEmpty();
+    }
+}
@@ -0,0 +1,224 @@
+package br.com.seuorg.artistas_api.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do cache de leitura do armazenamento.
+ */
+class CachingStorageServiceTest {
+
+    @TempDir
+    Path diretorio;
+
+    private AwsS3StorageService delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingStorageService service;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(AwsS3StorageService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        // Objetos até 8 bytes em memória (16 bytes no total), até 64 bytes em disco (100 bytes no total)
+        StorageContentCache cache = new StorageContentCache(meterRegistry, true, 64, 8, 16, 100, diretorio.toString());
+        service = new CachingStorageService(delegate, cache);
+    }
+
+    private void objeto(String key, byte[] conteudo) throws IOException {
+        when(delegate.openStream("capas", key, null)).thenAnswer(inv ->
+                new StorageObject(new ByteArrayInputStream(conteudo), conteudo.length, null, "image/jpeg"));
+    }
+
+    private static byte[] ler(StorageObject objeto) throws IOException {
+        try (objeto) {
+            return objeto.content().readAllBytes();
+        }
+    }
+
+    private double contador(String nome, String tag, String valor) {
+        return meterRegistry.get(nome).tag(tag, valor).counter().count();
+    }
+
+    /**
+     * Objetos pequenos ficam em memória: a segunda leitura não acessa o S3.
+     */
+    @Test
+    void openStream_deveServirObjetoPequenoDaMemoria() throws IOException {
+        objeto("a.jpg", new byte[] {1, 2, 3});
+
+        assertThat(ler(service.openStream("capas", "a.jpg", null))).containsExactly(1, 2, 3);
+        StorageObject segunda = service.openStream("capas", "a.jpg", null);
+
+        assertThat(segunda.contentType()).isEqualTo("image/jpeg");
+        assertThat(ler(segunda)).containsExactly(1, 2, 3);
+        verify(delegate, times(1)).openStream("capas", "a.jpg", null);
+        assertThat(meterRegistry.get("storage.cache.requests").tag("tier", "memoria").counter().count()).isEqualTo(1);
+        assertThat(contador("storage.cache.requests", "result", "miss")).isEqualTo(1);
+    }
+
+    /**
+     * Objetos maiores vão para o disco e são lidos por mapeamento de memória,
+     * inclusive em leituras de intervalo.
+     */
+    @Test
+    void openStream_deveServirObjetoMaiorDoDiscoComIntervalo() throws IOException {
+        byte[] conteudo = new byte[32];
+        for (int i = 0; i < conteudo.length; i++) conteudo[i] = (byte) i;
+        objeto("grande.jpg", conteudo);
+
+        ler(service.openStream("capas", "grande.jpg", null));
+        try (var arquivos = Files.list(diretorio)) {
+            assertThat(arquivos.count()).isEqualTo(1);
+        }
+
+        StorageObject parcial = service.openStream("capas", "grande.jpg", "bytes=4-7");
+        assertThat(parcial.contentRange()).isEqualTo("bytes 4-7/32");
+        assertThat(parcial.contentLength()).isEqualTo(4);
+        assertThat(ler(parcial)).containsExactly(4, 5, 6, 7);
+
+        assertThatThrownBy(() -> service.openStream("capas", "grande.jpg", "bytes=40-"))
+                .isInstanceOf(RangeNotSatisfiableException.class);
+
+        verify(delegate, times(1)).openStream("capas", "grande.jpg", null);
+        assertThat(meterRegistry.get("storage.cache.requests").tag("tier", "disco").counter().count()).isEqualTo(2);
+    }
+
+    /**
+     * Objetos acima do limite não entram no cache e são repassados em streaming.
+     */
+    @Test
+    void openStream_naoDeveGuardarObjetoAcimaDoLimite() throws IOException {
+        objeto("enorme.jpg", new byte[65]);
+
+        ler(service.openStream("capas", "enorme.jpg", null));
+        ler(service.openStream("capas", "enorme.jpg", null));
+
+        verify(delegate, times(2)).openStream("capas", "enorme.jpg", null);
+    }
+
+    /**
+     * O nível em memória respeita a capacidade total, despejando o menos usado.
+     */
+    @Test
+    void openStream_deveDespejarEntradaMenosUsada() throws IOException {
+        objeto("1.jpg", new byte[8]);
+        objeto("2.jpg", new byte[8]);
+        objeto("3.jpg", new byte[8]);
+
+        ler(service.openStream("capas", "1.jpg", null));
+        ler(service.openStream("capas", "2.jpg", null));
+        ler(service.openStream("capas", "1.jpg", null)); // 1 passa a ser o mais recente
+        ler(service.openStream("capas", "3.jpg", null)); // despeja 2
+
+        ler(service.openStream("capas", "1.jpg", null));
+        ler(service.openStream("capas", "2.jpg", null));
+
+        verify(delegate, times(1)).openStream("capas", "1.jpg", null);
+        verify(delegate, times(2)).openStream("capas", "2.jpg", null);
+        assertThat(contador("storage.cache.evictions", "tier", "memoria")).isGreaterThanOrEqualTo(1);
+    }
+
+    /**
+     * A remoção de arquivos invalida o cache em ambos os níveis.
+     */
+    @Test
+    void deleteAll_deveInvalidarCache() throws IOException {
+        objeto("a.jpg", new byte[] {1});
+        objeto("grande.jpg", new byte[32]);
+        ler(service.openStream("capas", "a.jpg", null));
+        ler(service.openStream("capas", "grande.jpg", null));
+
+        service.deleteAll("capas", List.of("a.jpg", "grande.jpg"));
+
+        ler(service.openStream("capas", "a.jpg", null));
+        ler(service.openStream("capas", "grande.jpg", null));
+        verify(delegate).deleteAll("capas", List.of("a.jpg", "grande.jpg"));
+        verify(delegate, times(2)).openStream("capas", "a.jpg", null);
+        verify(delegate, times(2)).openStream("capas", "grande.jpg", null);
+    }
+
+    /**
+     * Na falta, o conteúdo é repassado em streaming: a entrada só é publicada
+     * com o objeto completo, e uma leitura interrompida não deixa nada no cache.
+     */
+    @Test
+    void openStream_leituraIncompletaNaoDeveEntrarNoCache() throws IOException {
+        objeto("grande.jpg", new byte[32]);
+
+        try (StorageObject parcial = service.openStream("capas", "grande.jpg", null)) {
+            assertThat(parcial.content().readNBytes(10)).hasSize(10);
+        }
+        try (var arquivos = Files.list(diretorio)) {
+            assertThat(arquivos.count()).isZero();
+        }
+
+        ler(service.openStream("capas", "grande.jpg", null));
+        ler(service.openStream("capas", "grande.jpg", null));
+        verify(delegate, times(2)).openStream("capas", "grande.jpg", null);
+    }
+
+    /**
+     * Um primeiro cliente lento não atrasa as demais leituras do arquivo:
+     * durante a carga elas vão direto ao S3, e a entrada é publicada quando
+     * o primeiro cliente termina.
+     */
+    @Test
+    void openStream_primeiroLeitorLentoNaoDeveBloquearDemais() throws Exception {
+        objeto("a.jpg", new byte[] {1, 2, 3});
+        StorageObject lento = service.openStream("capas", "a.jpg", null);
+        assertThat(lento.content().read()).isEqualTo(1);
+
+        byte[] segunda = CompletableFuture.supplyAsync(() -> {
+            try {
+                return ler(service.openStream("capas", "a.jpg", null));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).get(1, TimeUnit.SECONDS);
+        assertThat(segunda).containsExactly(1, 2, 3);
+        verify(delegate, times(2)).openStream("capas", "a.jpg", null);
+
+        assertThat(ler(lento)).containsExactly(2, 3);
+        assertThat(ler(service.openStream("capas", "a.jpg", null))).containsExactly(1, 2, 3);
+        verify(delegate, times(2)).openStream("capas", "a.jpg", null);
+    }
+
+    /**
+     * Uma remoção durante a carga impede que o conteúdo removido seja publicado.
+     */
+    @Test
+    void delete_duranteCargaDeveDescartarConteudo() throws IOException {
+        objeto("grande.jpg", new byte[32]);
+        objeto("a.jpg", new byte[] {1});
+
+        StorageObject grande = service.openStream("capas", "grande.jpg", null);
+        StorageObject pequeno = service.openStream("capas", "a.jpg", null);
+        service.delete("capas", "grande.jpg");
+        service.delete("capas", "a.jpg");
+        ler(grande);
+        ler(pequeno);
+
+        try (var arquivos = Files.list(diretorio)) {
+            assertThat(arquivos.count()).isZero();
+        }
+        ler(service.openStream("capas", "a.jpg", null));
+        verify(delegate, times(2)).openStream("capas", "a.jpg", null);
+    }
+}
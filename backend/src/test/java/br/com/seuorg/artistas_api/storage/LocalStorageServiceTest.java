@@ -0,0 +1,119 @@
+package br.com.seuorg.artistas_api.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários do armazenamento em diretório local.
+ */
+class LocalStorageServiceTest {
+
+    @TempDir
+    Path raiz;
+
+    private LocalStorageService service;
+
+    @BeforeEach
+    void setup() throws IOException {
+        service = new LocalStorageService(raiz.toString());
+    }
+
+    /**
+     * O arquivo gravado deve ser lido de volta, em dois níveis de
+     * diretório sob o bucket, sem arquivos temporários restantes.
+     */
+    @Test
+    void upload_deveGravarEmDiretorioDistribuidoSemTemporarios() throws Exception {
+        service.upload("capas", "capas-album/albums/1/a.png", new ByteArrayInputStream("conteudo".getBytes()), 8, "image/png");
+
+        assertArrayEquals("conteudo".getBytes(), service.download("capas", "capas-album/albums/1/a.png"));
+
+        Path arquivo = service.caminho("capas", "capas-album/albums/1/a.png");
+        assertTrue(Files.isRegularFile(arquivo));
+        assertEquals(raiz.toAbsolutePath().resolve("capas"), arquivo.getParent().getParent().getParent());
+        try (Stream<Path> arquivos = Files.list(arquivo.getParent())) {
+            assertEquals(List.of(arquivo), arquivos.toList());
+        }
+    }
+
+    /**
+     * Com tamanho divergente, o upload falha e o destino não é criado
+     * (nem o conteúdo anterior é alterado).
+     */
+    @Test
+    void upload_comTamanhoDivergenteNaoDeveAlterarDestino() throws Exception {
+        service.upload("capas", "k", new ByteArrayInputStream("antigo".getBytes()), -1, null);
+
+        assertThrows(IOException.class, () ->
+                service.upload("capas", "k", new ByteArrayInputStream("novo".getBytes()), 10, null));
+
+        assertArrayEquals("antigo".getBytes(), service.download("capas", "k"));
+        try (Stream<Path> arquivos = Files.list(service.caminho("capas", "k").getParent())) {
+            assertEquals(1, arquivos.count());
+        }
+    }
+
+    /**
+     * A leitura de intervalo deve informar Content-Range e a região do arquivo.
+     */
+    @Test
+    void openStream_comIntervaloDeveLerRegiaoDoArquivo() throws Exception {
+        service.upload("capas", "k", new ByteArrayInputStream("0123456789".getBytes()), 10, "image/png");
+
+        try (StorageObject objeto = service.openStream("capas", "k", "bytes=2-4")) {
+            assertEquals(3, objeto.contentLength());
+            assertEquals("bytes 2-4/10", objeto.contentRange());
+            assertEquals(service.caminho("capas", "k"), objeto.regiao().arquivo());
+            assertEquals(2, objeto.regiao().inicio());
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertEquals(3, objeto.content().transferTo(out));
+            assertEquals("234", out.toString());
+        }
+
+        try (StorageObject objeto = service.openStream("capas", "k", null)) {
+            assertFalse(objeto.isPartial());
+            assertEquals("0123456789", new String(objeto.content().readAllBytes()));
+        }
+
+        assertThrows(RangeNotSatisfiableException.class, () -> service.openStream("capas", "k", "bytes=20-"));
+    }
+
+    /**
+     * Metadados e remoção devem refletir a existência do arquivo.
+     */
+    @Test
+    void headEDelete_devemRefletirExistencia() throws Exception {
+        service.upload("capas", "k", new ByteArrayInputStream(new byte[5]), 5, "image/jpeg");
+
+        StorageMetadata meta = service.head("capas", "k").orElseThrow();
+        assertEquals(5, meta.contentLength());
+
+        service.deleteAll("capas", List.of("k", "inexistente"));
+
+        assertTrue(service.head("capas", "k").isEmpty());
+        assertThrows(NoSuchFileException.class, () -> service.openStream("capas", "k", null));
+    }
+
+    /**
+     * Nomes de bucket fora do padrão não podem escapar do diretório raiz.
+     */
+    @Test
+    void caminho_deveRejeitarBucketInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> service.caminho("../fora", "k"));
+        assertThrows(IllegalArgumentException.class, () -> service.caminho("a/b", "k"));
+        assertTrue(service.caminho("capas", "../../etc/passwd").startsWith(raiz.toAbsolutePath()));
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.seuorg.artistas_api.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários da publicação das métricas do pool de conexões do S3.
+ */
+class S3PoolMetricsTest {
+
+    /**
+     * Os valores do pool informados pelo SDK (nas coleções filhas de cada
+     * tentativa) devem ser expostos nos gauges e no timer de aquisição.
+     */
+    @Test
+    void publish_deveAtualizarGaugesComOcupacaoDoPool() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        S3PoolMetrics metrics = new S3PoolMetrics(registry);
+
+        MetricCollector chamada = MetricCollector.create("ApiCall");
+        MetricCollector tentativa = chamada.createChild("ApiCallAttempt");
+        MetricCollector http = tentativa.createChild("HttpClient");
+        http.reportMetric(HttpMetric.MAX_CONCURRENCY, 50);
+        http.reportMetric(HttpMetric.LEASED_CONCURRENCY, 50);
+        http.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, 0);
+        http.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, 7);
+        http.reportMetric(HttpMetric.CONCURRENCY_ACQUIRE_DURATION, Duration.ofMillis(120));
+
+        metrics.publish(chamada.collect());
+
+        assertThat(registry.get("storage.s3.pool.max").gauge().value()).isEqualTo(50);
+        assertThat(registry.get("storage.s3.pool.leased").gauge().value()).isEqualTo(50);
+        assertThat(registry.get("storage.s3.pool.available").gauge().value()).isEqualTo(0);
+        assertThat(registry.get("storage.s3.pool.pending").gauge().value()).isEqualTo(7);
+        assertThat(registry.get("storage.s3.pool.acquire").timer().count()).isEqualTo(1);
+    }
+}
@@ -63,7 +63,8 @@ const AlbumImageSlider: React.FC<{ albumId: number }> = ({ albumId }) => {
     // Em vez de confiar no campo `url` (pode não estar presente),
     // utilizamos o endpoint interno que serve o conteúdo da capa.
     // Isso garante que o slider carregue a imagem corretamente.
-    url: `/api/capas/${cap.id}/conteudo`,
+    // O slider ocupa no máximo ~512px de largura: pede a variante reduzida.
+    url: `/api/capas/${cap.id}/conteudo?tamanho=512`,
     title: cap.nomeArquivo
   }))
 